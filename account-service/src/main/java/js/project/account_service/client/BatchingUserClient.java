@@ -0,0 +1,172 @@
+package js.project.account_service.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import js.project.account_service.model.dto.UserSummaryDto;
+import js.project.account_service.model.request.UserBatchRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces single-user lookups into calls to user-service's batch endpoint. The first lookup after
+ * an idle period opens a window; every lookup arriving before it closes joins the same request, and
+ * concurrent lookups of the same id share one future. A window is flushed early once it holds
+ * {@code max-size} ids, so one request never exceeds what the endpoint accepts.
+ * <p>
+ * Unknown users complete with {@code null}. If the call fails, every lookup in the batch fails with
+ * the same exception.
+ * <p>
+ * Meters: {@code user.client.batch.requests}, {@code user.client.batch.lookups} and
+ * {@code user.client.batch.size}.
+ */
+@Component
+@Slf4j
+public class BatchingUserClient {
+
+    private final UserServiceClient userServiceClient;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService dispatcher;
+    private final Counter requests;
+    private final Counter lookups;
+    private final DistributionSummary batchSize;
+
+    private final Object lock = new Object();
+    private Map<UUID, CompletableFuture<UserSummaryDto>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingUserClient(UserServiceClient userServiceClient, MeterRegistry meterRegistry,
+                              @Value("${account.user-client.batch.window-ms:5}") long windowMillis,
+                              @Value("${account.user-client.batch.max-size:100}") int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        this.userServiceClient = userServiceClient;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("user-batch-timer"));
+        this.dispatcher = Executors.newCachedThreadPool(daemonThreads("user-batch-call"));
+        this.requests = meterRegistry.counter("user.client.batch.requests");
+        this.lookups = meterRegistry.counter("user.client.batch.lookups");
+        this.batchSize = DistributionSummary.builder("user.client.batch.size").register(meterRegistry);
+    }
+
+    public CompletableFuture<UserSummaryDto> lookup(UUID userId) {
+        lookups.increment();
+        CompletableFuture<UserSummaryDto> future;
+        Map<UUID, CompletableFuture<UserSummaryDto>> full = null;
+        synchronized (lock) {
+            future = pending.get(userId);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(userId, future);
+            if (pending.size() >= maxBatchSize) {
+                full = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * Resolves several users at once, blocking until every batch they landed in has completed.
+     * Unknown users are absent from the result.
+     */
+    public Map<UUID, UserSummaryDto> lookupAll(Collection<UUID> userIds) {
+        Map<UUID, CompletableFuture<UserSummaryDto>> futures = new LinkedHashMap<>();
+        for (UUID userId : userIds) {
+            futures.computeIfAbsent(userId, this::lookup);
+        }
+        Map<UUID, UserSummaryDto> users = new HashMap<>();
+        futures.forEach((userId, future) -> {
+            UserSummaryDto user = future.join();
+            if (user != null) {
+                users.put(userId, user);
+            }
+        });
+        return users;
+    }
+
+    void flush() {
+        Map<UUID, CompletableFuture<UserSummaryDto>> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        flush();
+        dispatcher.shutdown();
+    }
+
+    // Caller holds the lock
+    private Map<UUID, CompletableFuture<UserSummaryDto>> drain() {
+        Map<UUID, CompletableFuture<UserSummaryDto>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<UUID, CompletableFuture<UserSummaryDto>> batch) {
+        dispatcher.execute(() -> call(batch));
+    }
+
+    private void call(Map<UUID, CompletableFuture<UserSummaryDto>> batch) {
+        requests.increment();
+        batchSize.record(batch.size());
+        try {
+            for (UserSummaryDto user : userServiceClient.getUsersByIds(new UserBatchRequest(new ArrayList<>(batch.keySet())))) {
+                CompletableFuture<UserSummaryDto> future = batch.get(user.id());
+                if (future != null) {
+                    future.complete(user);
+                }
+            }
+            batch.values().forEach(future -> future.complete(null));
+        } catch (RuntimeException ex) {
+            log.warn("Batch lookup of {} users failed: {}", batch.size(), ex.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(ex));
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,199 @@
+package js.project.account_service.client;
+
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.exception.UserServiceUnavailableException;
+import js.project.account_service.model.dto.UserSummaryDto;
+import js.project.account_service.model.request.UserBatchRequest;
+import js.project.account_service.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Guards calls to user-service so that a slow or failing user-service cannot tie up request
+ * threads here. Calls go through a bulkhead first, which rejects at once when too many calls are
+ * already in flight, and then through a circuit breaker. The breaker opens when too many recent
+ * calls failed or ran slower than {@code slow-call-threshold}, and while it is open calls fail
+ * without touching the network. Read and connect timeouts are set on the Feign client itself.
+ * <p>
+ * Batch lookups are cached per user for a short TTL, including users user-service did not know,
+ * and only the ids without a fresh entry are sent on. If that call cannot reach user-service, the
+ * cached entries up to {@code stale-ttl} old are served instead. If any requested id has no such
+ * entry the lookup fails with {@link UserServiceUnavailableException}, never with a short list
+ * that would look like "no such user".
+ * <p>
+ * Meters: the resilience4j circuit breaker and bulkhead meters ({@code resilience4j.circuitbreaker.state},
+ * {@code resilience4j.circuitbreaker.not.permitted.calls}, {@code resilience4j.bulkhead.available.concurrent.calls}, ...),
+ * plus {@code user.client.rejected} tagged by reason and {@code user.client.user.cache} tagged by result.
+ */
+@Component
+@Primary
+@Slf4j
+public class ResilientUserClient implements UserServiceClient {
+
+    static final String NAME = "user-service";
+
+    private final UserServiceClient delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final LruCache<UUID, CachedUser> userCache;
+    private final long cacheTtlNanos;
+    private final long staleTtlNanos;
+    private final LongSupplier clock;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+    private final Counter cacheHits;
+    private final Counter staleHits;
+
+    @Autowired
+    public ResilientUserClient(@Qualifier("userServiceFeignClient") UserServiceClient delegate, MeterRegistry meterRegistry,
+                               @Value("${account.user-client.bulkhead.max-concurrent-calls:10}") int maxConcurrentCalls,
+                               @Value("${account.user-client.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                               @Value("${account.user-client.circuit-breaker.slow-call-threshold:PT1S}") Duration slowCallThreshold,
+                               @Value("${account.user-client.circuit-breaker.open-state-wait:PT10S}") Duration openStateWait,
+                               @Value("${account.user-client.user-cache.size:1000}") int cacheSize,
+                               @Value("${account.user-client.user-cache.ttl:PT30S}") Duration cacheTtl,
+                               @Value("${account.user-client.user-cache.stale-ttl:PT10M}") Duration staleTtl) {
+        this(delegate, meterRegistry, maxConcurrentCalls, failureRateThreshold, slowCallThreshold, openStateWait,
+                cacheSize, cacheTtl, staleTtl, System::nanoTime);
+    }
+
+    ResilientUserClient(UserServiceClient delegate, MeterRegistry meterRegistry, int maxConcurrentCalls,
+                        float failureRateThreshold, Duration slowCallThreshold, Duration openStateWait,
+                        int cacheSize, Duration cacheTtl, Duration staleTtl, LongSupplier clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.userCache = new LruCache<>(cacheSize);
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.staleTtlNanos = staleTtl.toNanos();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .waitDurationInOpenState(openStateWait)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // a 4xx is the caller's mistake, not a sign that user-service is unhealthy
+                .ignoreExceptions(FeignException.FeignClientException.class)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(NAME);
+        this.bulkhead = bulkheadRegistry.bulkhead(NAME);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+
+        this.bulkheadRejections = meterRegistry.counter("user.client.rejected", "reason", "bulkhead");
+        this.circuitRejections = meterRegistry.counter("user.client.rejected", "reason", "circuit-open");
+        this.cacheHits = meterRegistry.counter("user.client.user.cache", "result", "hit");
+        this.staleHits = meterRegistry.counter("user.client.user.cache", "result", "stale");
+    }
+
+    @Override
+    public List<UserSummaryDto> getUsersByIds(UserBatchRequest request) {
+        long now = clock.getAsLong();
+        List<UserSummaryDto> users = new ArrayList<>();
+        List<UUID> missing = new ArrayList<>();
+        for (UUID userId : new LinkedHashSet<>(request.userIds())) {
+            CachedUser cached = userCache.get(userId);
+            if (cached != null && now - cached.fetchedAt() < cacheTtlNanos) {
+                cacheHits.increment();
+                cached.addTo(users);
+            } else {
+                missing.add(userId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return users;
+        }
+
+        List<CachedUser> fetched = new ArrayList<>(missing.size());
+        try {
+            Map<UUID, UserSummaryDto> found = new HashMap<>();
+            call(() -> delegate.getUsersByIds(new UserBatchRequest(missing))).forEach(user -> found.put(user.id(), user));
+            for (UUID userId : missing) {
+                CachedUser entry = new CachedUser(found.get(userId), now);
+                userCache.put(userId, entry);
+                fetched.add(entry);
+            }
+        } catch (UserServiceUnavailableException ex) {
+            for (UUID userId : missing) {
+                CachedUser cached = userCache.get(userId);
+                if (cached == null || now - cached.fetchedAt() >= staleTtlNanos) {
+                    throw ex;
+                }
+                fetched.add(cached);
+            }
+            staleHits.increment(missing.size());
+            log.warn("Serving {} stale users: {}", missing.size(), ex.getMessage());
+        }
+        fetched.forEach(entry -> entry.addTo(users));
+        return users;
+    }
+
+    @Override
+    public List<UserSummaryDto> getUserDirectoryPage(UUID after, int size) {
+        return call(() -> delegate.getUserDirectoryPage(after, size));
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T call(Supplier<T> remoteCall) {
+        try {
+            return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, remoteCall)).get();
+        } catch (BulkheadFullException ex) {
+            bulkheadRejections.increment();
+            throw new UserServiceUnavailableException("Too many concurrent calls to user-service", ex);
+        } catch (CallNotPermittedException ex) {
+            circuitRejections.increment();
+            throw new UserServiceUnavailableException("Circuit breaker for user-service is open", ex);
+        } catch (FeignException.FeignClientException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            log.warn("Call to user-service failed: {}", ex.getMessage());
+            throw new UserServiceUnavailableException("User service call failed: " + ex.getMessage(), ex);
+        }
+    }
+
+    // user is null when user-service did not know the id
+    private record CachedUser(UserSummaryDto user, long fetchedAt) {
+
+        void addTo(List<UserSummaryDto> users) {
+            if (user != null) {
+                users.add(user);
+            }
+        }
+    }
+}
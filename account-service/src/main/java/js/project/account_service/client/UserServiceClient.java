@@ -1,15 +1,28 @@
 package js.project.account_service.client;
 
+import js.project.account_service.model.dto.UserSummaryDto;
+import js.project.account_service.model.request.UserBatchRequest;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 import java.util.UUID;
 
-@FeignClient(name = "user-service")
+/**
+ * Raw HTTP binding to user-service. Not injected directly: {@link ResilientUserClient} is the
+ * primary bean of this type and wraps every call with a bulkhead and a circuit breaker.
+ */
+@FeignClient(name = "user-service", qualifiers = "userServiceFeignClient", primary = false)
 public interface UserServiceClient {
 
-    @GetMapping("/api/v1/users/search")
-    List<UUID> searchUsers(@RequestParam("name") String name);
-}
\ No newline at end of file
+    @PostMapping("/api/v1/users/batch")
+    List<UserSummaryDto> getUsersByIds(@RequestBody UserBatchRequest request);
+
+    // Every user in id order, a page at a time; after is the last id of the previous page, or null
+    @GetMapping("/api/v1/users/directory")
+    List<UserSummaryDto> getUserDirectoryPage(@RequestParam(value = "after", required = false) UUID after,
+                                              @RequestParam("size") int size);
+}
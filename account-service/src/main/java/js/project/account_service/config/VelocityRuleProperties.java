@@ -0,0 +1,29 @@
+package js.project.account_service.config;
+
+import js.project.account_service.model.enums.RiskDecision;
+import js.project.account_service.model.enums.VelocityMeasure;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.enums.VelocityScope;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Velocity rules under {@code account.velocity.rules}. A rule trips when the count or the amount of
+ * {@code operation}s by one user or on one account within {@code window}, including the one being
+ * checked, exceeds {@code threshold}.
+ */
+@ConfigurationProperties(prefix = "account.velocity")
+public record VelocityRuleProperties(@DefaultValue("60") int buckets, List<Rule> rules) {
+
+    public VelocityRuleProperties {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+
+    public record Rule(String name, VelocityOperation operation, VelocityScope scope,
+                       @DefaultValue("COUNT") VelocityMeasure measure, Duration window, long threshold,
+                       RiskDecision decision) {
+    }
+}
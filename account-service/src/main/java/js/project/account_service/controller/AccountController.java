@@ -1,30 +1,52 @@
 package js.project.account_service.controller;
 
-import js.project.account_service.model.Account;
 import js.project.account_service.model.AccountApproval;
 import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.model.dto.AccountReferenceDto;
 import js.project.account_service.model.dto.AccountSummaryDto;
+import js.project.account_service.model.dto.AccrualRunStatusDto;
+import js.project.account_service.model.dto.BulkAccountResultDto;
+import js.project.account_service.model.dto.BulkReviewResultDto;
 import js.project.account_service.model.enums.AccountStatus;
 import js.project.account_service.model.enums.AccountType;
 import js.project.account_service.model.enums.ApprovalStatus;
+import js.project.account_service.model.enums.ExportFormat;
 import js.project.account_service.model.request.AccountApprovalRequest;
+import js.project.account_service.model.request.BulkApprovalRequest;
+import js.project.account_service.model.request.BulkCreateAccountRequest;
 import js.project.account_service.model.request.CreateAccountRequest;
+import js.project.account_service.model.request.StatusChangeRequest;
 import js.project.account_service.model.request.StatusUpdateRequest;
+import js.project.account_service.model.response.CursorPage;
 import js.project.account_service.model.response.GeneralResponse;
 import js.project.account_service.service.AccountApprovalService;
+import js.project.account_service.service.AccountExportService;
+import js.project.account_service.service.AccountLookupService;
+import js.project.account_service.service.AccountOwnerService;
 import js.project.account_service.service.AccountService;
+import js.project.account_service.service.BulkAccountService;
+import js.project.account_service.service.IdempotencyService;
+import js.project.account_service.service.InterestAccrualService;
+import js.project.account_service.util.KeysetPagination;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -38,14 +60,31 @@ public class AccountController {
 
     private final AccountService accountService;
     private final AccountApprovalService accountApprovalService;
+    private final AccountLookupService accountLookupService;
+    private final BulkAccountService bulkAccountService;
+    private final IdempotencyService idempotencyService;
+    private final AccountExportService accountExportService;
+    private final InterestAccrualService interestAccrualService;
+    private final AccountOwnerService accountOwnerService;
 
     @PostMapping
-    public ResponseEntity<AccountSummaryDto> createAccount(@RequestHeader("X-User-Id") UUID userId, @Valid @RequestBody CreateAccountRequest request) {
+    public ResponseEntity<AccountSummaryDto> createAccount(@RequestHeader("X-User-Id") UUID userId,
+                                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                           @Valid @RequestBody CreateAccountRequest request) {
         log.info("Received request to create account for user: {}", userId);
-        AccountSummaryDto createdAccount = accountService.createAccount(userId, request);
+        AccountSummaryDto createdAccount = idempotencyService.execute("createAccount", userId, idempotencyKey, request,
+                AccountSummaryDto.class, () -> accountService.createAccount(userId, request));
         return ResponseEntity.status(HttpStatus.CREATED).body(createdAccount);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkAccountResultDto>> createAccounts(@RequestHeader("X-User-Id") UUID userId,
+                                                                     @Valid @RequestBody BulkCreateAccountRequest request) {
+        log.info("Received request to create {} accounts for user: {}", request.getAccounts().size(), userId);
+        List<BulkAccountResultDto> results = bulkAccountService.createAccounts(userId, request.getAccounts());
+        return ResponseEntity.status(HttpStatus.CREATED).body(results);
+    }
+
     @GetMapping
     public ResponseEntity<Page<AccountDto>> getMyAccounts(@RequestHeader("X-User-Id") UUID userId,
                                                            @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.ASC)
@@ -55,6 +94,15 @@ public class AccountController {
         return ResponseEntity.ok(accounts);
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<AccountDto>> scrollMyAccounts(@RequestHeader("X-User-Id") UUID userId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_SIZE) int size) {
+        log.info("Received request to scroll accounts for user: {}", userId);
+        CursorPage<AccountDto> accounts = accountService.scrollAccountsByUserId(userId, cursor, size);
+        return ResponseEntity.ok(accounts);
+    }
+
     @GetMapping("/{accountId}")
     public ResponseEntity<AccountDto> getMyAccount(@RequestHeader("X-User-Id") UUID userId, @PathVariable UUID accountId) {
         log.info("Received request to get account {} for user: {}", accountId, userId);
@@ -62,6 +110,12 @@ public class AccountController {
         return ResponseEntity.ok(account);
     }
 
+    @GetMapping("/by-number/{number}")
+    public ResponseEntity<AccountReferenceDto> getAccountByNumber(@PathVariable String number) {
+        log.info("Received request to resolve account number: {}", number);
+        AccountReferenceDto account = accountLookupService.findByAccountNumber(number);
+        return ResponseEntity.ok(account);
+    }
 
     // Admin endpoints
     @GetMapping("/users/{userId}")
@@ -73,11 +127,30 @@ public class AccountController {
         return ResponseEntity.ok(accounts);
     }
 
-    @GetMapping("/{accountId}")
-    public ResponseEntity<AccountDto> getAccountById(@PathVariable UUID accountId) {
-        log.info("Received request to get account with id: {} (admin)", accountId);
-        AccountDto account = accountService.getAccountDetails(accountId);
-        return ResponseEntity.ok(account);
+    @GetMapping("/users/{userId}/scroll")
+    public ResponseEntity<CursorPage<AccountDto>> scrollAccountsByUserId(@PathVariable UUID userId,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_SIZE) int size) {
+        log.info("Received request to scroll accounts for user {} (admin)", userId);
+        CursorPage<AccountDto> accounts = accountService.scrollAccountsByUserId(userId, cursor, size);
+        return ResponseEntity.ok(accounts);
+    }
+
+    @GetMapping("/users/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportAccountsByUserId(@PathVariable UUID userId,
+                                                                        @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        log.info("Received request to export accounts for user {} as {} (admin)", userId, format);
+        return exportResponse("accounts-" + userId, format, accountExportService.exportByUserId(userId, format));
+    }
+
+    @GetMapping("/status/{status}/scroll")
+    public ResponseEntity<CursorPage<AccountDto>> scrollAccountsByStatus(@PathVariable AccountStatus status,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_SIZE) int size) {
+        log.info("Received request to scroll accounts with status {} (admin)", status);
+        CursorPage<AccountDto> accounts = accountService.scrollAccountsByStatus(status, cursor, size);
+        accountOwnerService.fillOwners(accounts.items());
+        return ResponseEntity.ok(accounts);
     }
 
     //Todo
@@ -95,35 +168,14 @@ public class AccountController {
 //        return ResponseEntity.ok(response);
 //    }
 
-    @GetMapping("/users/{userId}")
-    public ResponseEntity<Page<AccountDto>> get(@PathVariable UUID userId,
-                                                                @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.ASC)
-                                                                Pageable pageable) {
-        log.info("Received request to get all accounts for user {} (admin)", userId);
-        Page<AccountDto> accounts = accountService.getAccountsByUserId(userId, pageable);
-        return ResponseEntity.ok(accounts);
-    }
-
-    @GetMapping
+    @GetMapping("/approvals")
     public ResponseEntity<Page<AccountApproval>> getAccountApprovals(
             @RequestParam(value = "status", required = false) String statusParam, // Comma-separated statuses
             @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
 
         log.info("Received request to get account approvals with status filter: {}, pageable: {}", statusParam, pageable);
 
-        List<ApprovalStatus> statuses = null;
-        if (statusParam != null && !statusParam.isEmpty()) {
-            try {
-                statuses = Arrays.stream(statusParam.split(","))
-                        .map(String::trim)
-                        .map(ApprovalStatus::valueOf)
-                        .collect(Collectors.toList());
-            } catch (IllegalArgumentException ex) {
-                log.warn("Invalid approval status provided: {}", statusParam);
-                return ResponseEntity.badRequest().build();
-            }
-        }
-
+        List<ApprovalStatus> statuses = parseApprovalStatuses(statusParam);
 
         Page<AccountApproval> approvals = accountApprovalService.getAccountApprovals(statuses, pageable);
 
@@ -136,6 +188,67 @@ public class AccountController {
         return ResponseEntity.ok(approvals);
     }
 
+    @GetMapping("/approvals/scroll")
+    public ResponseEntity<CursorPage<AccountApproval>> scrollAccountApprovals(
+            @RequestParam(value = "status", required = false) String statusParam,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_SIZE) int size) {
+        log.info("Received request to scroll account approvals with status filter: {}", statusParam);
+
+        List<ApprovalStatus> statuses = parseApprovalStatuses(statusParam);
+        CursorPage<AccountApproval> approvals = accountApprovalService.scrollAccountApprovals(statuses, cursor, size);
+        return ResponseEntity.ok(approvals);
+    }
+
+    // Comma-separated statuses; null or empty means no filter. An unknown status is a 400.
+    private static List<ApprovalStatus> parseApprovalStatuses(String statusParam) {
+        if (statusParam == null || statusParam.isEmpty()) {
+            return null;
+        }
+        try {
+            return Arrays.stream(statusParam.split(","))
+                    .map(String::trim)
+                    .map(ApprovalStatus::valueOf)
+                    .collect(Collectors.toList());
+        } catch (IllegalArgumentException ex) {
+            log.warn("Invalid approval status provided: {}", statusParam);
+            throw new IllegalArgumentException("Invalid approval status provided: " + statusParam);
+        }
+    }
+
+    @GetMapping("/search/scroll")
+    public ResponseEntity<CursorPage<AccountDto>> scrollSearchAccounts(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) AccountType type,
+            @RequestParam(required = false) AccountStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetPagination.DEFAULT_SIZE) int size) {
+        log.info("Received request to scroll accounts with filters: username={}, type={}, status={}", username, type, status);
+        CursorPage<AccountDto> accounts = accountService.scrollSearchAccounts(username, type, status, cursor, size);
+        accountOwnerService.fillOwners(accounts.items());
+        return ResponseEntity.ok(accounts);
+    }
+
+    @GetMapping("/search/export")
+    public ResponseEntity<StreamingResponseBody> exportSearchAccounts(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) AccountType type,
+            @RequestParam(required = false) AccountStatus status,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        log.info("Received request to export accounts with filters: username={}, type={}, status={} as {}",
+                username, type, status, format);
+        return exportResponse("accounts", format, accountExportService.exportSearch(username, type, status, format));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> exportResponse(String fileName, ExportFormat format,
+                                                                       StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName + "." + format.extension()).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<Page<AccountDto>> searchAccounts(
             @RequestParam(required = false) String username,
@@ -147,7 +260,8 @@ public class AccountController {
                         "username={}, status={}, pageable={}",
                 username, status, pageable);
 
-        Page<Account> accountsPage = accountService.searchAccounts(username,type, status, pageable);
+        Page<AccountDto> accountsPage = accountService.searchAccounts(username,type, status, pageable);
+        accountOwnerService.fillOwners(accountsPage.getContent());
 
         log.info("Found {} accounts matching the search criteria on page {} of {} (total {} accounts).",
                 accountsPage.getNumberOfElements(),
@@ -155,42 +269,101 @@ public class AccountController {
                 accountsPage.getTotalPages(),
                 accountsPage.getTotalElements());
 
-        return ResponseEntity.ok(accountsPage.map(AccountDto::new));
+        return ResponseEntity.ok(accountsPage);
     }
 
     @PutMapping("/{accountId}/approve")
     public ResponseEntity<GeneralResponse> approveAccount(@RequestHeader("X-Admin-Id") UUID adminId, @PathVariable UUID accountId,
+                                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                                           @Valid @RequestBody AccountApprovalRequest request) {
         log.info("Received request to approve account with id: {} (admin)", accountId);
         request.setAccountId(accountId);
-        GeneralResponse response = accountService.approveAccount(adminId, request);
+        GeneralResponse response = idempotencyService.execute("approveAccount", adminId, idempotencyKey, request,
+                GeneralResponse.class, () -> accountService.approveAccount(adminId, request));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/approvals/review")
+    public ResponseEntity<BulkReviewResultDto> reviewApprovals(@RequestHeader("X-Admin-Id") UUID adminId,
+                                                               @Valid @RequestBody BulkApprovalRequest request) {
+        log.info("Received request to review {} account approvals as {} (admin)", request.getApprovalIds().size(), request.getStatus());
+        BulkReviewResultDto result = accountApprovalService.reviewApprovals(adminId, request);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/approvals/claim")
+    public ResponseEntity<List<AccountApproval>> claimApprovals(@RequestHeader("X-Admin-Id") UUID adminId,
+                                                                @RequestParam(name = "n", defaultValue = "10") int count) {
+        log.info("Received request to claim {} account approvals for reviewer: {}", count, adminId);
+        List<AccountApproval> approvals = accountApprovalService.claimApprovals(adminId, count);
+        return ResponseEntity.ok(approvals);
+    }
+
+    @PostMapping("/approvals/{approvalId}/release")
+    public ResponseEntity<GeneralResponse> releaseApproval(@RequestHeader("X-Admin-Id") UUID adminId,
+                                                           @PathVariable UUID approvalId) {
+        log.info("Received request to release account approval: {}", approvalId);
+        accountApprovalService.releaseApproval(adminId, approvalId);
+        return ResponseEntity.ok(new GeneralResponse("Approval released"));
+    }
+
+    // Starts or resumes the accrual for a past day, e.g. after an outage; a finished day credits nothing again
+    @PostMapping("/interest/accruals")
+    public ResponseEntity<AccrualRunStatusDto> accrueInterest(@RequestHeader("X-Admin-Id") UUID adminId,
+                                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Received request from admin {} to accrue interest for {}", adminId, date);
+        AccrualRunStatusDto run = interestAccrualService.startAccrual(date);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/accounts/interest/accruals/" + run.runDate()))
+                .body(run);
+    }
+
+    @GetMapping("/interest/accruals/{date}")
+    public ResponseEntity<AccrualRunStatusDto> getAccrual(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Received request to get the interest accrual for {}", date);
+        return ResponseEntity.ok(interestAccrualService.getRun(date));
+    }
+
+    @PutMapping("/{accountId}/status")
+    public ResponseEntity<GeneralResponse> updateStatus(@RequestHeader("X-Admin-Id") UUID adminId, @PathVariable UUID accountId,
+                                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                        @Valid @RequestBody StatusChangeRequest request) {
+        log.info("Received request to change status of account {} to {}", accountId, request.getStatus());
+        GeneralResponse response = idempotencyService.execute("updateStatus", adminId, idempotencyKey, List.of(accountId, request),
+                GeneralResponse.class, () -> accountService.updateStatus(adminId, accountId, request));
         return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{accountId}/freeze")
     public ResponseEntity<GeneralResponse> freezeAccount(@RequestHeader("X-Admin-Id") UUID adminId, @PathVariable UUID accountId,
+                                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                                          @Valid @RequestBody StatusUpdateRequest request) {
         log.info("Received request to freeze account: {}", accountId);
         request.setAccountId(accountId);
-        GeneralResponse response = accountService.freezeAccount(adminId, request);
+        GeneralResponse response = idempotencyService.execute("freezeAccount", adminId, idempotencyKey, request,
+                GeneralResponse.class, () -> accountService.freezeAccount(adminId, request));
         return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{accountId}/unfreeze")
     public ResponseEntity<GeneralResponse> unfreezeAccount(@RequestHeader("X-Admin-Id") UUID adminId,
+                                                           @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                                            @Valid @RequestBody StatusUpdateRequest request) {
         log.info("Received request to unfreeze account: {}", request.getAccountId());
         request.setAccountId(request.getAccountId());
-        GeneralResponse response = accountService.unfreezeAccount(adminId, request);
+        GeneralResponse response = idempotencyService.execute("unfreezeAccount", adminId, idempotencyKey, request,
+                GeneralResponse.class, () -> accountService.unfreezeAccount(adminId, request));
         return ResponseEntity.ok(response);
     }
 
     @PutMapping("/{accountId}/close")
     public ResponseEntity<GeneralResponse> closeAccount(@RequestHeader("X-Admin-Id") UUID adminId,
+                                                        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                                         @Valid @RequestBody StatusUpdateRequest request) {
         log.info("Received request to close account: {}", request.getAccountId());
         request.setAccountId(request.getAccountId());
-        GeneralResponse response = accountService.closeAccount(adminId, request);
+        GeneralResponse response = idempotencyService.execute("closeAccount", adminId, idempotencyKey, request,
+                GeneralResponse.class, () -> accountService.closeAccount(adminId, request));
         return ResponseEntity.ok(response);
     }
 
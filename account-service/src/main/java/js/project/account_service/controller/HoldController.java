@@ -0,0 +1,64 @@
+package js.project.account_service.controller;
+
+import jakarta.validation.Valid;
+import js.project.account_service.model.dto.AvailableBalanceDto;
+import js.project.account_service.model.dto.HoldDto;
+import js.project.account_service.model.dto.TransactionDto;
+import js.project.account_service.model.request.CaptureHoldRequest;
+import js.project.account_service.model.request.PlaceHoldRequest;
+import js.project.account_service.service.HoldService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/accounts/{accountId}")
+@AllArgsConstructor
+@Slf4j
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @GetMapping("/available-balance")
+    public ResponseEntity<AvailableBalanceDto> getAvailableBalance(@PathVariable UUID accountId) {
+        log.info("Received request to get available balance of account: {}", accountId);
+        return ResponseEntity.ok(holdService.getAvailableBalance(accountId));
+    }
+
+    @GetMapping("/holds")
+    public ResponseEntity<List<HoldDto>> getActiveHolds(@PathVariable UUID accountId) {
+        log.info("Received request to get active holds for account: {}", accountId);
+        return ResponseEntity.ok(holdService.getActiveHolds(accountId));
+    }
+
+    // Admin (card processing) endpoints
+    @PostMapping("/holds")
+    public ResponseEntity<HoldDto> placeHold(@RequestHeader("X-Admin-Id") UUID adminId, @PathVariable UUID accountId,
+                                             @Valid @RequestBody PlaceHoldRequest request) {
+        log.info("Received request to place hold on account: {}", accountId);
+        HoldDto hold = holdService.placeHold(adminId, accountId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+
+    @PostMapping("/holds/{holdId}/capture")
+    public ResponseEntity<TransactionDto> captureHold(@RequestHeader("X-Admin-Id") UUID adminId, @PathVariable UUID accountId,
+                                                      @PathVariable UUID holdId,
+                                                      @Valid @RequestBody(required = false) CaptureHoldRequest request) {
+        log.info("Received request to capture hold {} on account {}", holdId, accountId);
+        TransactionDto transaction = holdService.captureHold(adminId, accountId, holdId,
+                request != null ? request : new CaptureHoldRequest());
+        return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+    }
+
+    @PostMapping("/holds/{holdId}/release")
+    public ResponseEntity<HoldDto> releaseHold(@RequestHeader("X-Admin-Id") UUID adminId, @PathVariable UUID accountId,
+                                               @PathVariable UUID holdId) {
+        log.info("Received request from {} to release hold {} on account {}", adminId, holdId, accountId);
+        return ResponseEntity.ok(holdService.releaseHold(accountId, holdId));
+    }
+}
@@ -0,0 +1,62 @@
+package js.project.account_service.controller;
+
+import jakarta.validation.Valid;
+import js.project.account_service.model.dto.LedgerEntryDto;
+import js.project.account_service.model.dto.TransactionDto;
+import js.project.account_service.model.request.CashTransactionRequest;
+import js.project.account_service.model.request.TransferRequest;
+import js.project.account_service.service.LedgerService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/accounts/{accountId}")
+@AllArgsConstructor
+@Slf4j
+public class LedgerController {
+
+    private final LedgerService ledgerService;
+
+    @PostMapping("/transfers")
+    public ResponseEntity<TransactionDto> transfer(@RequestHeader("X-User-Id") UUID userId, @PathVariable UUID accountId,
+                                                   @Valid @RequestBody TransferRequest request) {
+        log.info("Received request to transfer from account {} to account {}", accountId, request.getToAccountId());
+        TransactionDto transaction = ledgerService.transfer(userId, accountId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+    }
+
+    @GetMapping("/transfers")
+    public ResponseEntity<Page<LedgerEntryDto>> getEntries(@PathVariable UUID accountId,
+                                                           @PageableDefault(page = 0, size = 10, sort = "createdAt", direction = Sort.Direction.DESC)
+                                                                   Pageable pageable) {
+        log.info("Received request to get ledger entries for account: {}", accountId);
+        Page<LedgerEntryDto> entries = ledgerService.getEntries(accountId, pageable);
+        return ResponseEntity.ok(entries);
+    }
+
+    // Admin (teller) endpoints
+    @PostMapping("/deposits")
+    public ResponseEntity<TransactionDto> deposit(@RequestHeader("X-Admin-Id") UUID adminId, @PathVariable UUID accountId,
+                                                  @Valid @RequestBody CashTransactionRequest request) {
+        log.info("Received request to deposit to account: {}", accountId);
+        TransactionDto transaction = ledgerService.deposit(adminId, accountId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+    }
+
+    @PostMapping("/withdrawals")
+    public ResponseEntity<TransactionDto> withdraw(@RequestHeader("X-Admin-Id") UUID adminId, @PathVariable UUID accountId,
+                                                   @Valid @RequestBody CashTransactionRequest request) {
+        log.info("Received request to withdraw from account: {}", accountId);
+        TransactionDto transaction = ledgerService.withdraw(adminId, accountId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
+    }
+}
@@ -0,0 +1,44 @@
+package js.project.account_service.controller;
+
+import jakarta.validation.Valid;
+import js.project.account_service.model.dto.StandingOrderDto;
+import js.project.account_service.model.request.CreateStandingOrderRequest;
+import js.project.account_service.service.StandingOrderService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/accounts/{accountId}/standing-orders")
+@AllArgsConstructor
+@Slf4j
+public class StandingOrderController {
+
+    private final StandingOrderService standingOrderService;
+
+    @PostMapping
+    public ResponseEntity<StandingOrderDto> createStandingOrder(@RequestHeader("X-User-Id") UUID userId, @PathVariable UUID accountId,
+                                                                @Valid @RequestBody CreateStandingOrderRequest request) {
+        log.info("Received request to create standing order from account {} to account {}", accountId, request.getToAccountId());
+        StandingOrderDto order = standingOrderService.createStandingOrder(userId, accountId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<StandingOrderDto>> getStandingOrders(@PathVariable UUID accountId) {
+        log.info("Received request to get standing orders for account: {}", accountId);
+        return ResponseEntity.ok(standingOrderService.getStandingOrders(accountId));
+    }
+
+    @DeleteMapping("/{orderId}")
+    public ResponseEntity<StandingOrderDto> cancelStandingOrder(@RequestHeader("X-User-Id") UUID userId, @PathVariable UUID accountId,
+                                                                @PathVariable UUID orderId) {
+        log.info("Received request to cancel standing order {} on account {}", orderId, accountId);
+        return ResponseEntity.ok(standingOrderService.cancelStandingOrder(userId, accountId, orderId));
+    }
+}
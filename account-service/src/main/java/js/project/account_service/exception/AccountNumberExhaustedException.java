@@ -0,0 +1,7 @@
+package js.project.account_service.exception;
+
+public class AccountNumberExhaustedException extends RuntimeException{
+    public AccountNumberExhaustedException(String message){
+        super(message);
+    }
+}
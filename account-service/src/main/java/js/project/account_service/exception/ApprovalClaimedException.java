@@ -0,0 +1,7 @@
+package js.project.account_service.exception;
+
+public class ApprovalClaimedException extends RuntimeException {
+    public ApprovalClaimedException(String message) {
+        super(message);
+    }
+}
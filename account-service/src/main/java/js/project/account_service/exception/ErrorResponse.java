@@ -0,0 +1,18 @@
+package js.project.account_service.exception;
+
+import lombok.Data;
+
+@Data
+public class ErrorResponse {
+
+    private String error;
+    private String message;
+    private Object details;
+
+    public ErrorResponse(String error, String message, Object details) {
+        this.error = error;
+        this.message = message;
+        this.details = details;
+    }
+
+}
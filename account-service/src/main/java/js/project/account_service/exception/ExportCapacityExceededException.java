@@ -0,0 +1,7 @@
+package js.project.account_service.exception;
+
+public class ExportCapacityExceededException extends RuntimeException {
+    public ExportCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,175 @@
+package js.project.account_service.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.List;
+
+@ControllerAdvice
+@Slf4j
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        List<String> errors = ex.getBindingResult().getAllErrors().stream().map(DefaultMessageSourceResolvable::getDefaultMessage).toList();
+        log.error("Validation failed: {}", errors);
+        ErrorResponse errorResponse = new ErrorResponse("Bad Request", "Validation failed", errors);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException ex) {
+        ErrorResponse errorResponse = new ErrorResponse("Bad Request", "Invalid request", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidApprovalStatusException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidApprovalStatusException(InvalidApprovalStatusException ex) {
+        ErrorResponse errorResponse = new ErrorResponse("Bad Request", "Invalid approval status", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidAccountNumberException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidAccountNumberException(InvalidAccountNumberException ex) {
+        ErrorResponse errorResponse = new ErrorResponse("Bad Request", "Malformed account number", ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({AccountNotFoundException.class, AccountApprovalNotFoundException.class, BranchNotFoundException.class,
+            HoldNotFoundException.class, StandingOrderNotFoundException.class})
+    public ResponseEntity<ErrorResponse> handleNotFoundException(RuntimeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Not Found",
+                "Requested resource was not found",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler({InvalidAccountStatusException.class, AccountAlreadyReviewedException.class})
+    public ResponseEntity<ErrorResponse> handleInvalidStateException(RuntimeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Conflict",
+                "Account is not in a valid state for this operation",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ApprovalClaimedException.class)
+    public ResponseEntity<ErrorResponse> handleApprovalClaimedException(ApprovalClaimedException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Conflict",
+                "Approval is leased to another reviewer",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidHoldStatusException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidHoldStatusException(InvalidHoldStatusException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Conflict",
+                "Hold is no longer active",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(VelocityLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleVelocityLimitExceededException(VelocityLimitExceededException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Too Many Requests",
+                "Velocity limit exceeded",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(ConcurrentUpdateException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentUpdateException(ConcurrentUpdateException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Conflict",
+                "Resource was modified concurrently",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Conflict",
+                "A request with this idempotency key is still in progress",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Unprocessable Entity",
+                "Idempotency key was already used for a different request",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(AccountNumberExhaustedException.class)
+    public ResponseEntity<ErrorResponse> handleAccountNumberExhaustedException(AccountNumberExhaustedException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Service Unavailable",
+                "No account numbers left for this branch",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ExportCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleExportCapacityExceededException(ExportCapacityExceededException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Too Many Requests",
+                "Too many exports are running, please try again later",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(UserServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUserServiceUnavailableException(UserServiceUnavailableException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Service Unavailable",
+                "User service is unavailable, please try again later",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler({InsufficientFundsException.class, InvalidTransactionException.class})
+    public ResponseEntity<ErrorResponse> handleTransactionException(RuntimeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Unprocessable Entity",
+                "Transaction was rejected",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
+        log.error("Unhandled exception", ex);
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Internal Server Error",
+                "Something went wrong, please try again later",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+}
@@ -0,0 +1,7 @@
+package js.project.account_service.exception;
+
+public class InsufficientFundsException extends RuntimeException{
+    public InsufficientFundsException(String message){
+        super(message);
+    }
+}
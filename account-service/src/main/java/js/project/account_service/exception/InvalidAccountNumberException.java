@@ -0,0 +1,7 @@
+package js.project.account_service.exception;
+
+public class InvalidAccountNumberException extends RuntimeException {
+    public InvalidAccountNumberException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package js.project.account_service.exception;
+
+public class InvalidHoldStatusException extends RuntimeException {
+    public InvalidHoldStatusException(String message) {
+        super(message);
+    }
+}
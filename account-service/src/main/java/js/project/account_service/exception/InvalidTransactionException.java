@@ -0,0 +1,7 @@
+package js.project.account_service.exception;
+
+public class InvalidTransactionException extends RuntimeException{
+    public InvalidTransactionException(String message){
+        super(message);
+    }
+}
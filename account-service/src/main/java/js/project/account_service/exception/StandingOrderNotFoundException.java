@@ -0,0 +1,7 @@
+package js.project.account_service.exception;
+
+public class StandingOrderNotFoundException extends RuntimeException {
+    public StandingOrderNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package js.project.account_service.listener;
+
+import js.project.account_service.service.AccountDetailsCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountCacheInvalidationListener {
+
+    private final AccountDetailsCache accountDetailsCache;
+
+    // every instance uses its own group so that each one sees every invalidation
+    @KafkaListener(topics = "${kafka.topic.account-cache-invalidation}", groupId = "account-cache-${random.uuid}",
+            containerFactory = "accountCacheInvalidationKafkaListenerContainerFactory")
+    public void listenAccountInvalidated(String accountId) {
+        log.debug("Received cache invalidation for account: {}", accountId);
+        accountDetailsCache.evict(UUID.fromString(accountId));
+    }
+}
@@ -0,0 +1,23 @@
+package js.project.account_service.listener;
+
+import js.project.account_service.service.UserDirectoryService;
+import js.project.model.UserProfileChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserProfileListener {
+
+    private final UserDirectoryService userDirectoryService;
+
+    @KafkaListener(topics = "${kafka.topic.user-profile-changed}", groupId = "${kafka.consumer.group-id}",
+            containerFactory = "userProfileKafkaListenerContainerFactory")
+    public void listenUserProfileChanged(UserProfileChangedEvent event) {
+        log.info("Received UserProfileChangedEvent for user: {}", event.getUserId());
+        userDirectoryService.apply(event);
+    }
+}
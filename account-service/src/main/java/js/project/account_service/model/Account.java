@@ -6,14 +6,18 @@ import jakarta.validation.constraints.*;
 import js.project.account_service.model.enums.AccountStatus;
 import js.project.account_service.model.enums.AccountType;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "account_service_account")
+@Table(name = "account_service_account", indexes = {
+        @Index(name = "idx_account_number_lookup", columnList = "account_number, account_id, user_id, account_type, currency"),
+        @Index(name = "idx_account_user_keyset", columnList = "user_id, created_at DESC, account_id DESC"),
+        @Index(name = "idx_account_status_keyset", columnList = "status, created_at DESC, account_id DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -41,16 +45,20 @@ public class Account {
 
     @Valid
     @NotNull(message = "Branch is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "branch_id", nullable = false)
     private BankBranch bankBranch;
 
     @NotNull(message = "Balance is required")
-    @Column(name = "balance", nullable = false)
-    private BigDecimal balance;
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "balance_minor", nullable = false))
+    private Money balance;
 
-    @NotBlank(message = "Currency is required")
-    @Size(min = 3, max = 3, message = "Currency code must be 3 characters")
-    @Column(name = "currency", nullable = false, length = 3)
-    private String currency;
+    // Sum of the ACTIVE holds, kept on the row so that every instance checking available funds under
+    // the row lock sees the same figure without summing the hold table
+    @ColumnDefault("0")
+    @Column(name = "reserved_minor", nullable = false)
+    private long reservedMinor;
 
     @NotNull(message = "Status is required")
     @Enumerated(EnumType.STRING)
@@ -70,6 +78,21 @@ public class Account {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: a status change committed from a stale read fails instead of overwriting
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    public String getCurrency() {
+        return balance == null ? null : balance.currencyCode();
+    }
+
+    /** Balance minus the active holds. */
+    public Money getAvailableBalance() {
+        return balance.minus(Money.ofMinor(reservedMinor, balance.currency()));
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -4,14 +4,19 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import js.project.account_service.model.enums.ApprovalStatus;
+import js.project.account_service.model.enums.RiskDecision;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "account_service_approval")
+@Table(name = "account_service_approval", indexes = {
+        @Index(name = "idx_approval_keyset", columnList = "created_at DESC, approval_id DESC"),
+        @Index(name = "idx_approval_status_keyset", columnList = "status, created_at DESC, approval_id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -46,12 +51,33 @@ public class AccountApproval {
     @Column(name = "reviewed_at")
     private LocalDateTime reviewedAt;
 
+    // Work-queue lease: the reviewer currently holding this approval, until the lease runs out
+    @Column(name = "claimed_by", columnDefinition = "UUID")
+    private UUID claimedBy;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
+    // Outcome of the velocity rules when the account was opened; REVIEW flags it for a closer look
+    @Enumerated(EnumType.STRING)
+    @Column(name = "risk_decision")
+    private RiskDecision riskDecision;
+
+    @Column(name = "risk_flags", length = 255)
+    private String riskFlags;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock: a status change committed from a stale read fails instead of overwriting
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,70 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import js.project.account_service.model.enums.AccrualPartitionStatus;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One slice of an interest accrual run: the accounts with {@code rangeStart < id <= rangeEnd}.
+ * {@code lastAccountId} is the checkpoint. It moves forward in the same transaction that credits
+ * the accounts up to it, so a worker that picks the partition up after a crash carries on from
+ * exactly there. The lease marks the worker currently processing it.
+ */
+@Entity
+@Table(name = "account_service_accrual_partition", uniqueConstraints =
+        @UniqueConstraint(name = "uk_accrual_partition_run", columnNames = {"run_date", "partition_no"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccrualPartition {
+
+    @Id
+    @UuidGenerator
+    @Column(name = "partition_id", columnDefinition = "UUID")
+    private UUID id;
+
+    // the day whose interest the run credits
+    @Column(name = "run_date", nullable = false)
+    private LocalDate runDate;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partitionNo;
+
+    @Column(name = "range_start", columnDefinition = "UUID", nullable = false)
+    private UUID rangeStart;
+
+    @Column(name = "range_end", columnDefinition = "UUID", nullable = false)
+    private UUID rangeEnd;
+
+    @Column(name = "last_account_id", columnDefinition = "UUID", nullable = false)
+    private UUID lastAccountId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AccrualPartitionStatus status;
+
+    @Column(name = "accounts_accrued", nullable = false)
+    private long accountsAccrued;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -3,6 +3,7 @@ package js.project.account_service.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import js.project.account_service.service.BranchChangeListener;
 import lombok.*;
 import org.hibernate.annotations.UuidGenerator;
 
@@ -10,6 +11,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "bank_branches")
+@EntityListeners(BranchChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
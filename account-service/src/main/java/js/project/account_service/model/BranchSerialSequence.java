@@ -0,0 +1,40 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-branch serial counter for account numbers. Each branch owns one row, so reserving serials for
+ * one branch never waits on another. {@code nextValue} is the first serial not yet reserved by any
+ * instance; once it passes {@code maxValue} the branch is exhausted.
+ */
+@Entity
+@Table(name = "account_service_branch_sequence")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BranchSerialSequence {
+
+    @Id
+    @Column(name = "branch_code", length = 4)
+    private String branchCode;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    @Column(name = "max_value", nullable = false)
+    private long maxValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
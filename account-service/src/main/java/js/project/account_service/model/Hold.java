@@ -0,0 +1,76 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import js.project.account_service.model.enums.HoldStatus;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Funds reserved on an account by a card-style authorization. An ACTIVE hold lowers the available
+ * balance but not the balance; capturing it posts the (possibly smaller) amount to the ledger, and
+ * releasing or expiring it gives the funds back.
+ */
+@Entity
+@Table(name = "account_service_hold", indexes = {
+        @Index(name = "idx_hold_account_status", columnList = "account_id, status"),
+        @Index(name = "idx_hold_status_expires", columnList = "status, expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Hold {
+
+    @Id
+    @UuidGenerator
+    @Column(name = "hold_id", columnDefinition = "UUID")
+    private UUID id;
+
+    @NotNull(message = "Account ID is required")
+    @Column(name = "account_id", columnDefinition = "UUID", nullable = false)
+    private UUID accountId;
+
+    @NotNull(message = "Amount is required")
+    @Embedded
+    private Money amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private HoldStatus status;
+
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    @Column(name = "description")
+    private String description;
+
+    // set once the hold is captured
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "captured_minor"))
+    @AttributeOverride(name = "currency", column = @Column(name = "captured_currency", length = 3))
+    private Money capturedAmount;
+
+    @Column(name = "transaction_id", columnDefinition = "UUID")
+    private UUID transactionId;
+
+    @Column(name = "created_by", columnDefinition = "UUID")
+    private UUID createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,47 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import js.project.account_service.model.enums.IdempotencyStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a request sent with an {@code Idempotency-Key}, shared by every instance. The row is
+ * inserted as IN_PROGRESS before the request runs, which is what stops two instances running it
+ * twice, and holds the serialized response once it completes.
+ */
+@Entity
+@Table(name = "account_service_idempotency_key", indexes = {
+        @Index(name = "idx_idempotency_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    // operation, caller and client key, so that keys of different callers never collide
+    @Id
+    @Column(name = "idempotency_id", length = 200)
+    private String id;
+
+    // SHA-256 of the request, to detect a key reused for a different request
+    @Column(name = "fingerprint", nullable = false, length = 64)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private IdempotencyStatus status;
+
+    @Column(name = "response_body", length = 8192)
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // end of the in-progress lease while running, end of the replay window once completed
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
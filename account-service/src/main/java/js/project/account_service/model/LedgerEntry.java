@@ -0,0 +1,80 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.TransactionType;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One leg of a double-entry posting. Every transaction writes at least one DEBIT and one CREDIT
+ * sharing the same {@code transactionId}, and the legs of a transaction always sum to zero.
+ */
+@Entity
+@Table(name = "account_service_ledger_entry", indexes = {
+        @Index(name = "idx_ledger_entry_account_created", columnList = "account_id, created_at"),
+        @Index(name = "idx_ledger_entry_transaction", columnList = "transaction_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerEntry {
+
+    @Id
+    @UuidGenerator
+    @Column(name = "entry_id", columnDefinition = "UUID")
+    private UUID id;
+
+    @NotNull(message = "Transaction ID is required")
+    @Column(name = "transaction_id", columnDefinition = "UUID", nullable = false)
+    private UUID transactionId;
+
+    @NotNull(message = "Account ID is required")
+    @Column(name = "account_id", columnDefinition = "UUID", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "counterparty_account_id", columnDefinition = "UUID")
+    private UUID counterpartyAccountId;
+
+    @NotNull(message = "Entry type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private EntryType entryType;
+
+    @NotNull(message = "Transaction type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    @NotNull(message = "Amount is required")
+    @Embedded
+    private Money amount;
+
+    // null for the external (cash) leg, which has no balance of its own
+    @Embedded
+    @AttributeOverride(name = "minorUnits", column = @Column(name = "balance_after_minor"))
+    @AttributeOverride(name = "currency", column = @Column(name = "balance_after_currency", length = 3))
+    private Money balanceAfter;
+
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "created_by", columnDefinition = "UUID")
+    private UUID createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,159 @@
+package js.project.account_service.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Embeddable;
+import js.project.account_service.model.converter.CurrencyConverter;
+import js.project.account_service.model.converter.MoneySerializer;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * Immutable fixed-point amount: a count of minor units (cents, yen, fils...) plus its ISO currency.
+ * The scale is the currency's default fraction digits, so 12.34 USD is stored as 1234 and 500 JPY
+ * as 500. Arithmetic and comparison are plain {@code long} operations; only {@link #toBigDecimal()}
+ * allocates a BigDecimal.
+ */
+@Embeddable
+@JsonSerialize(using = MoneySerializer.class)
+public record Money(
+        @Column(name = "amount_minor", nullable = false)
+        long minorUnits,
+
+        @Convert(converter = CurrencyConverter.class)
+        @Column(name = "currency", nullable = false, length = 3)
+        Currency currency) implements Comparable<Money> {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L
+    };
+
+    public Money {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money ofMinor(long minorUnits, String currencyCode) {
+        return new Money(minorUnits, currencyOf(currencyCode));
+    }
+
+    public static Money zero(String currencyCode) {
+        return new Money(0L, currencyOf(currencyCode));
+    }
+
+    /**
+     * Converts a decimal amount at the API boundary. Amounts with more decimals than the currency
+     * allows are rejected rather than rounded.
+     */
+    public static Money of(BigDecimal amount, String currencyCode) {
+        Currency currency = currencyOf(currencyCode);
+        try {
+            long minor = amount.setScale(scaleOf(currency), RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            return new Money(minor, currency);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " is not representable in " + currency.getCurrencyCode());
+        }
+    }
+
+    public String currencyCode() {
+        return currency.getCurrencyCode();
+    }
+
+    public int scale() {
+        return scaleOf(currency);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0L;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0L;
+    }
+
+    public boolean isLessThan(Money other) {
+        return compareTo(other) < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale());
+    }
+
+    /**
+     * Appends the amount as a plain decimal ("-12.05") without going through BigDecimal.
+     */
+    public StringBuilder appendTo(StringBuilder sb) {
+        int scale = scale();
+        long value = minorUnits;
+        if (value < 0) {
+            sb.append('-');
+        }
+        long divisor = POWERS_OF_TEN[scale];
+        long major = Math.abs(value / divisor);
+        long minor = Math.abs(value % divisor);
+        sb.append(major);
+        if (scale > 0) {
+            sb.append('.');
+            for (int i = scale - 1; i > 0 && minor < POWERS_OF_TEN[i]; i--) {
+                sb.append('0');
+            }
+            sb.append(minor);
+        }
+        return sb;
+    }
+
+    public String toPlainString() {
+        return appendTo(new StringBuilder(24)).toString();
+    }
+
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder(28)).append(' ').append(currency.getCurrencyCode()).toString();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (currency != other.currency) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency.getCurrencyCode() + " vs " + other.currency.getCurrencyCode());
+        }
+    }
+
+    private static Currency currencyOf(String currencyCode) {
+        if (currencyCode == null) {
+            throw new IllegalArgumentException("Currency is required");
+        }
+        return Currency.getInstance(currencyCode);
+    }
+
+    private static int scaleOf(Currency currency) {
+        // pseudo-currencies such as XXX report -1
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
+}
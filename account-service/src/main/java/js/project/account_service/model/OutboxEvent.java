@@ -0,0 +1,42 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An event waiting to be published to Kafka. It is written in the transaction of the change it
+ * describes, so it exists exactly when the change committed, and is deleted once the relay has
+ * published it.
+ */
+@Entity
+@Table(name = "account_service_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // No pooled allocation: with one id per nextval, the relay's ORDER BY id follows the order in
+    // which the changes to an account were made, which is what keeps per-account ordering.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "account_service_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    // the Kafka message key
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false, length = 4096)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,113 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import js.project.account_service.model.enums.StandingOrderFrequency;
+import js.project.account_service.model.enums.StandingOrderStatus;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A transfer repeated on a fixed schedule. {@code nextRunAt} is the {@code occurrence}-th run of
+ * the schedule; executing it moves both forward in the same transaction as the transfer, which is
+ * what makes every run happen once. The lease marks the scheduler instance that loaded the order.
+ */
+@Entity
+@Table(name = "account_service_standing_order", indexes = {
+        @Index(name = "idx_standing_order_due", columnList = "status, next_run_at"),
+        @Index(name = "idx_standing_order_from_account", columnList = "from_account_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StandingOrder {
+
+    @Id
+    @UuidGenerator
+    @Column(name = "standing_order_id", columnDefinition = "UUID")
+    private UUID id;
+
+    // owner of the source account; the transfers run on their behalf
+    @NotNull(message = "User ID is required")
+    @Column(name = "user_id", columnDefinition = "UUID", nullable = false)
+    private UUID userId;
+
+    @NotNull(message = "Source account ID is required")
+    @Column(name = "from_account_id", columnDefinition = "UUID", nullable = false)
+    private UUID fromAccountId;
+
+    @NotNull(message = "Destination account ID is required")
+    @Column(name = "to_account_id", columnDefinition = "UUID", nullable = false)
+    private UUID toAccountId;
+
+    @NotNull(message = "Amount is required")
+    @Embedded
+    private Money amount;
+
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    @Column(name = "description")
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "frequency", nullable = false)
+    private StandingOrderFrequency frequency;
+
+    @Column(name = "start_at", nullable = false)
+    private LocalDateTime startAt;
+
+    // no run after this; open-ended when null
+    @Column(name = "end_at")
+    private LocalDateTime endAt;
+
+    @Column(name = "occurrence", nullable = false)
+    private int occurrence;
+
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private StandingOrderStatus status;
+
+    // consecutive failed runs; reset by a successful one
+    @Column(name = "failure_count", nullable = false)
+    private int failureCount;
+
+    @Column(name = "last_failure")
+    private String lastFailure;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+
+    @Column(name = "last_transaction_id", columnDefinition = "UUID")
+    private UUID lastTransactionId;
+
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
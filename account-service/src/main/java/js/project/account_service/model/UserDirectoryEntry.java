@@ -0,0 +1,37 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Local copy of the user fields account search filters on, kept up to date from user-service's
+ * profile events. Not the source of truth for anything.
+ */
+@Entity
+@Table(name = "account_service_user_directory")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDirectoryEntry {
+
+    @Id
+    @Column(name = "user_id", columnDefinition = "UUID")
+    private UUID userId;
+
+    @Column(name = "first_name")
+    private String firstName;
+
+    @Column(name = "last_name")
+    private String lastName;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+}
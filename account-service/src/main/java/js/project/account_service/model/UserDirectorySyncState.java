@@ -0,0 +1,36 @@
+package js.project.account_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of the initial load of the user directory from user-service. {@code lastUserId} is the
+ * checkpoint and moves forward in the same transaction as the page it ends, so a load interrupted
+ * by a restart carries on from there. Once {@code completedAt} is set, profile events alone keep
+ * the directory current.
+ */
+@Entity
+@Table(name = "account_service_user_directory_sync")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserDirectorySyncState {
+
+    @Id
+    @Column(name = "sync_id", length = 50)
+    private String id;
+
+    @Column(name = "last_user_id", columnDefinition = "UUID")
+    private UUID lastUserId;
+
+    @Column(name = "users_loaded", nullable = false)
+    private long usersLoaded;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,20 @@
+package js.project.account_service.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Currency;
+
+@Converter
+public class CurrencyConverter implements AttributeConverter<Currency, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Currency currency) {
+        return currency == null ? null : currency.getCurrencyCode();
+    }
+
+    @Override
+    public Currency convertToEntityAttribute(String currencyCode) {
+        return currencyCode == null ? null : Currency.getInstance(currencyCode);
+    }
+}
@@ -0,0 +1,25 @@
+package js.project.account_service.model.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import js.project.account_service.model.Money;
+
+import java.io.IOException;
+
+/**
+ * Writes Money as a bare JSON number at the currency's scale (e.g. {@code 12.50}), which keeps the
+ * wire format identical to the BigDecimal fields it replaced. The currency travels in the DTO's own
+ * {@code currency} field.
+ */
+public class MoneySerializer extends StdSerializer<Money> {
+
+    public MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(value.toPlainString());
+    }
+}
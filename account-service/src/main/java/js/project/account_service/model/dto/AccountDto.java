@@ -1,15 +1,17 @@
 package js.project.account_service.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import js.project.account_service.model.enums.AccountStatus;
 import js.project.account_service.model.enums.AccountType;
 import js.project.account_service.model.Account;
+import js.project.account_service.model.Money;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Currency;
 import java.util.UUID;
 
 @Data
@@ -21,11 +23,14 @@ public class AccountDto {
     private String accountNumber;
     private UUID userId;
     private AccountType accountType;
-    private BigDecimal balance;
+    private Money balance;
     private String currency;
     private AccountStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Filled in on admin listings only, and left out when user-service could not be reached
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private UserSummaryDto owner;
 
     public AccountDto(Account account) {
         this.id = account.getId();
@@ -38,4 +43,11 @@ public class AccountDto {
         this.updatedAt = account.getUpdatedAt();
         this.status = account.getStatus();
     }
+
+    // Target of the constructor projections in AccountRepository
+    public AccountDto(UUID id, String accountNumber, UUID userId, AccountType accountType, long balanceMinor,
+                      Currency currency, AccountStatus status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, accountNumber, userId, accountType, Money.ofMinor(balanceMinor, currency), currency.getCurrencyCode(),
+                status, createdAt, updatedAt, null);
+    }
 }
\ No newline at end of file
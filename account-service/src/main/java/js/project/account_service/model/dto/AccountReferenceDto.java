@@ -0,0 +1,17 @@
+package js.project.account_service.model.dto;
+
+import js.project.account_service.model.enums.AccountType;
+
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * Resolution of an account number to the account it names. Only carries fields that never change
+ * after the account is created, so it can be cached without invalidation.
+ */
+public record AccountReferenceDto(UUID id, String accountNumber, UUID userId, AccountType accountType, String currency) {
+
+    public AccountReferenceDto(UUID id, String accountNumber, UUID userId, AccountType accountType, Currency currency) {
+        this(id, accountNumber, userId, accountType, currency.getCurrencyCode());
+    }
+}
@@ -0,0 +1,15 @@
+package js.project.account_service.model.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of an accrual run as seen by the instance that ran it. {@code accountsAccrued} counts the
+ * accounts credited by this call; partitions finished by other instances count as completed.
+ */
+public record AccrualRunDto(LocalDate runDate, int partitions, int completedPartitions, long accountsAccrued,
+                            long elapsedMillis) {
+
+    public boolean complete() {
+        return completedPartitions == partitions;
+    }
+}
@@ -0,0 +1,8 @@
+package js.project.account_service.model.dto;
+
+import java.time.LocalDate;
+
+/** Progress of the accrual for one day, read from its partitions; the day is the run's id. */
+public record AccrualRunStatusDto(LocalDate runDate, boolean running, int partitions, int completedPartitions,
+                                  long accountsAccrued) {
+}
@@ -0,0 +1,8 @@
+package js.project.account_service.model.dto;
+
+import js.project.account_service.model.Money;
+
+import java.util.UUID;
+
+public record AvailableBalanceDto(UUID accountId, Money balance, Money reserved, Money available) {
+}
@@ -0,0 +1,12 @@
+package js.project.account_service.model.dto;
+
+import js.project.account_service.model.BankBranch;
+
+import java.util.UUID;
+
+public record BankBranchDto(UUID id, String branchCode, String branchName, String location) {
+
+    public BankBranchDto(BankBranch branch) {
+        this(branch.getId(), branch.getBranchCode(), branch.getBranchName(), branch.getLocation());
+    }
+}
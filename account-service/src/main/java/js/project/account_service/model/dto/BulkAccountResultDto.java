@@ -0,0 +1,21 @@
+package js.project.account_service.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk opening, in request order: either the created account or the
+ * reason the item was skipped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAccountResultDto {
+    private int index;
+    private boolean created;
+    private AccountSummaryDto account;
+    private String error;
+}
@@ -0,0 +1,23 @@
+package js.project.account_service.model.dto;
+
+import js.project.account_service.model.enums.ApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReviewResultDto {
+    private ApprovalStatus decision;
+    private List<UUID> reviewed;
+    private List<UUID> alreadyReviewed;
+    private List<UUID> notFound;
+    private List<UUID> claimedByOthers;
+    private List<UUID> accountNotPending;
+}
@@ -0,0 +1,17 @@
+package js.project.account_service.model.dto;
+
+import js.project.account_service.model.Hold;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.enums.HoldStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record HoldDto(UUID id, UUID accountId, Money amount, HoldStatus status, String description, Money capturedAmount,
+                      UUID transactionId, LocalDateTime createdAt, LocalDateTime expiresAt, LocalDateTime resolvedAt) {
+
+    public HoldDto(Hold hold) {
+        this(hold.getId(), hold.getAccountId(), hold.getAmount(), hold.getStatus(), hold.getDescription(), hold.getCapturedAmount(),
+                hold.getTransactionId(), hold.getCreatedAt(), hold.getExpiresAt(), hold.getResolvedAt());
+    }
+}
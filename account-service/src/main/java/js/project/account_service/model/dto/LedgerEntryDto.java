@@ -0,0 +1,45 @@
+package js.project.account_service.model.dto;
+
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerEntryDto {
+    private UUID id;
+    private UUID transactionId;
+    private UUID accountId;
+    private UUID counterpartyAccountId;
+    private EntryType entryType;
+    private TransactionType transactionType;
+    private Money amount;
+    private String currency;
+    private Money balanceAfter;
+    private String description;
+    private LocalDateTime createdAt;
+
+    public LedgerEntryDto(LedgerEntry entry) {
+        this.id = entry.getId();
+        this.transactionId = entry.getTransactionId();
+        this.accountId = entry.getAccountId();
+        this.counterpartyAccountId = entry.getCounterpartyAccountId();
+        this.entryType = entry.getEntryType();
+        this.transactionType = entry.getTransactionType();
+        this.amount = entry.getAmount();
+        this.currency = entry.getAmount().currencyCode();
+        this.balanceAfter = entry.getBalanceAfter();
+        this.description = entry.getDescription();
+        this.createdAt = entry.getCreatedAt();
+    }
+}
@@ -0,0 +1,21 @@
+package js.project.account_service.model.dto;
+
+import js.project.account_service.model.Money;
+import js.project.account_service.model.StandingOrder;
+import js.project.account_service.model.enums.StandingOrderFrequency;
+import js.project.account_service.model.enums.StandingOrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record StandingOrderDto(UUID id, UUID fromAccountId, UUID toAccountId, Money amount, String description,
+                               StandingOrderFrequency frequency, LocalDateTime startAt, LocalDateTime endAt,
+                               LocalDateTime nextRunAt, StandingOrderStatus status, LocalDateTime lastRunAt,
+                               UUID lastTransactionId, int failureCount, String lastFailure) {
+
+    public StandingOrderDto(StandingOrder order) {
+        this(order.getId(), order.getFromAccountId(), order.getToAccountId(), order.getAmount(), order.getDescription(),
+                order.getFrequency(), order.getStartAt(), order.getEndAt(), order.getNextRunAt(), order.getStatus(),
+                order.getLastRunAt(), order.getLastTransactionId(), order.getFailureCount(), order.getLastFailure());
+    }
+}
@@ -0,0 +1,20 @@
+package js.project.account_service.model.dto;
+
+import js.project.account_service.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionDto {
+    private UUID transactionId;
+    private TransactionType transactionType;
+    private List<LedgerEntryDto> entries;
+}
@@ -0,0 +1,9 @@
+package js.project.account_service.model.dto;
+
+import java.util.UUID;
+
+/**
+ * Compact user record returned by user-service's batch lookup.
+ */
+public record UserSummaryDto(UUID id, String firstName, String lastName, String email) {
+}
@@ -0,0 +1,8 @@
+package js.project.account_service.model.enums;
+
+// ordered by severity: the strictest decision of the rules that trip wins
+public enum RiskDecision {
+    ALLOW,
+    REVIEW,
+    BLOCK
+}
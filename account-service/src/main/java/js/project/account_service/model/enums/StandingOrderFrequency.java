@@ -0,0 +1,22 @@
+package js.project.account_service.model.enums;
+
+import java.time.LocalDateTime;
+
+public enum StandingOrderFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * The {@code n}-th run counted from {@code start}. Always computed from the start rather than
+     * from the previous run, so a monthly order started on the 31st runs on the last day of shorter
+     * months and is back on the 31st afterwards.
+     */
+    public LocalDateTime occurrence(LocalDateTime start, int n) {
+        return switch (this) {
+            case DAILY -> start.plusDays(n);
+            case WEEKLY -> start.plusWeeks(n);
+            case MONTHLY -> start.plusMonths(n);
+        };
+    }
+}
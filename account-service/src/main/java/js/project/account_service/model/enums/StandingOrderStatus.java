@@ -0,0 +1,8 @@
+package js.project.account_service.model.enums;
+
+public enum StandingOrderStatus {
+    ACTIVE,
+    COMPLETED,
+    CANCELLED,
+    SUSPENDED
+}
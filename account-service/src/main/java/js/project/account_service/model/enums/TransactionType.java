@@ -0,0 +1,10 @@
+package js.project.account_service.model.enums;
+
+public enum TransactionType {
+    TRANSFER,
+    DEPOSIT,
+    WITHDRAWAL,
+    INTEREST,
+    HOLD_CAPTURE,
+    OPENING_BALANCE
+}
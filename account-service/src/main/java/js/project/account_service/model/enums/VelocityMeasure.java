@@ -0,0 +1,7 @@
+package js.project.account_service.model.enums;
+
+// AMOUNT sums minor units as posted, without currency conversion
+public enum VelocityMeasure {
+    COUNT,
+    AMOUNT
+}
@@ -0,0 +1,8 @@
+package js.project.account_service.model.enums;
+
+public enum VelocityOperation {
+    ACCOUNT_OPEN,
+    // one bulk opening request, however many accounts it carries
+    BULK_ACCOUNT_OPEN,
+    TRANSFER
+}
@@ -0,0 +1,6 @@
+package js.project.account_service.model.enums;
+
+public enum VelocityScope {
+    USER,
+    ACCOUNT
+}
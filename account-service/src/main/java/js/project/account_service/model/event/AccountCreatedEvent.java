@@ -0,0 +1,13 @@
+package js.project.account_service.model.event;
+
+import js.project.account_service.model.enums.AccountStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that opens an account, once per account.
+ */
+public record AccountCreatedEvent(UUID accountId, UUID userId, String accountNumber, AccountStatus status,
+                                  LocalDateTime createdAt) {
+}
@@ -0,0 +1,14 @@
+package js.project.account_service.model.event;
+
+import js.project.account_service.model.enums.AccountStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that changes an account's status, once per account and change.
+ * Listeners that must only act on committed changes should use {@code @TransactionalEventListener}.
+ */
+public record AccountStatusChangedEvent(UUID accountId, UUID userId, AccountStatus previousStatus, AccountStatus newStatus,
+                                        UUID changedBy, String reason, LocalDateTime changedAt) {
+}
@@ -0,0 +1,30 @@
+package js.project.account_service.model.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import js.project.account_service.model.enums.ApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkApprovalRequest {
+
+    @NotEmpty(message = "At least one approval ID is required")
+    @Size(max = 10000, message = "At most 10000 approvals can be reviewed per request")
+    private List<@NotNull(message = "Approval ID is required") UUID> approvalIds;
+
+    @NotNull(message = "Approval status is required")
+    private ApprovalStatus status;
+
+    @Size(max = 500, message = "Comments must be less than 500 characters")
+    private String comments;
+}
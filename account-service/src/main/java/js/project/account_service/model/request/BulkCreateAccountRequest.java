@@ -0,0 +1,22 @@
+package js.project.account_service.model.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateAccountRequest {
+
+    @NotEmpty(message = "At least one account is required")
+    @Size(max = 5000, message = "At most 5000 accounts can be opened per request")
+    private List<@Valid CreateAccountRequest> accounts;
+}
@@ -0,0 +1,24 @@
+package js.project.account_service.model.request;
+
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptureHoldRequest {
+
+    // the full hold when absent; a smaller amount releases the rest
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    private String description;
+}
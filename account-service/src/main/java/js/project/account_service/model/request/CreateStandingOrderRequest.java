@@ -0,0 +1,42 @@
+package js.project.account_service.model.request;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import js.project.account_service.model.enums.StandingOrderFrequency;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateStandingOrderRequest {
+
+    @NotNull(message = "Destination account ID is required")
+    private UUID toAccountId;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotNull(message = "Frequency is required")
+    private StandingOrderFrequency frequency;
+
+    // first run; later runs follow the frequency from here
+    @NotNull(message = "Start time is required")
+    @FutureOrPresent(message = "Start time must not be in the past")
+    private LocalDateTime startAt;
+
+    private LocalDateTime endAt;
+
+    @Size(max = 255, message = "Description must be less than 255 characters")
+    private String description;
+}
@@ -0,0 +1,23 @@
+package js.project.account_service.model.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import js.project.account_service.model.enums.AccountStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusChangeRequest {
+
+    @NotNull(message = "Status is required")
+    private AccountStatus status;
+
+    @NotNull(message = "Reason is required")
+    @Size(max = 500, message = "Reason must be less than 500 characters")
+    private String reason;
+}
@@ -0,0 +1,7 @@
+package js.project.account_service.model.request;
+
+import java.util.List;
+import java.util.UUID;
+
+public record UserBatchRequest(List<UUID> userIds) {
+}
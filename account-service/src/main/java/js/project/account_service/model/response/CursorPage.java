@@ -0,0 +1,16 @@
+package js.project.account_service.model.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is an opaque token to pass back for the
+ * following page and is null on the last one. There is no total count: computing it would cost a
+ * full scan on every call, which is what keyset pagination avoids.
+ */
+public record CursorPage<T>(List<T> items, int size, boolean hasNext, String nextCursor) {
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
@@ -1,13 +1,71 @@
 package js.project.account_service.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import js.project.account_service.model.AccountApproval;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.ApprovalStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface AccountApprovalRepository extends JpaRepository<AccountApproval, UUID>, JpaSpecificationExecutor<AccountApproval> {
 
-}
\ No newline at end of file
+    interface ApprovalState {
+        UUID getId();
+        UUID getAccountId();
+        ApprovalStatus getStatus();
+        UUID getClaimedBy();
+        LocalDateTime getClaimExpiresAt();
+        AccountStatus getAccountStatus();
+    }
+
+    @Query("SELECT a.id AS id, a.accountId AS accountId, a.status AS status, a.claimedBy AS claimedBy, " +
+            "a.claimExpiresAt AS claimExpiresAt, ac.status AS accountStatus " +
+            "FROM AccountApproval a LEFT JOIN Account ac ON ac.id = a.accountId WHERE a.id IN :ids")
+    List<ApprovalState> findStatesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Pending approvals the reviewer may decide, locked in primary-key order. Rows another reviewer
+    // decided or holds a live claim on are left out.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AccountApproval a WHERE a.id IN :ids " +
+            "AND a.status = js.project.account_service.model.enums.ApprovalStatus.PENDING " +
+            "AND (a.claimedBy IS NULL OR a.claimedBy = :reviewerId OR a.claimExpiresAt < :now) ORDER BY a.id")
+    List<AccountApproval> findReviewableForUpdate(@Param("ids") Collection<UUID> ids, @Param("reviewerId") UUID reviewerId,
+                                                  @Param("now") LocalDateTime now);
+
+    // Called on rows locked by findReviewableForUpdate; the status guard is a last line of defence.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AccountApproval a SET a.status = :decision, a.comments = :comments, a.reviewedBy = :reviewedBy, " +
+            "a.reviewedAt = :reviewedAt, a.updatedAt = :reviewedAt, a.version = a.version + 1 " +
+            "WHERE a.id IN :ids AND a.status = js.project.account_service.model.enums.ApprovalStatus.PENDING")
+    int reviewPending(@Param("ids") Collection<UUID> ids, @Param("decision") ApprovalStatus decision,
+                      @Param("comments") String comments, @Param("reviewedBy") UUID reviewedBy,
+                      @Param("reviewedAt") LocalDateTime reviewedAt);
+
+    // Oldest unclaimed (or lease-expired) pending approvals. A lock timeout of -2 is Hibernate's
+    // SKIP LOCKED: rows another reviewer is claiming right now are passed over instead of waited on,
+    // so concurrent claims each get a different slice of the queue.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT a FROM AccountApproval a WHERE a.status = js.project.account_service.model.enums.ApprovalStatus.PENDING " +
+            "AND (a.claimExpiresAt IS NULL OR a.claimExpiresAt < :now) ORDER BY a.createdAt, a.id")
+    List<AccountApproval> findClaimable(@Param("now") LocalDateTime now, Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AccountApproval a SET a.claimedBy = NULL, a.claimExpiresAt = NULL, a.version = a.version + 1 " +
+            "WHERE a.id = :id AND a.claimedBy = :claimedBy AND a.status = js.project.account_service.model.enums.ApprovalStatus.PENDING")
+    int releaseClaim(@Param("id") UUID id, @Param("claimedBy") UUID claimedBy);
+}
@@ -0,0 +1,29 @@
+package js.project.account_service.repository;
+
+import js.project.account_service.model.Account;
+import js.project.account_service.model.dto.AccountDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Specification queries that select {@link AccountDto} columns directly instead of hydrating
+ * {@link Account} entities.
+ */
+public interface AccountDtoQueries {
+
+    Page<AccountDto> findDtos(Specification<Account> specification, Pageable pageable);
+
+    List<AccountDto> findDtos(Specification<Account> specification, Sort sort, int limit);
+
+    /**
+     * Runs the query on a forward-only cursor that fetches {@code fetchSize} rows per round trip.
+     * Must be consumed and closed inside a transaction; PostgreSQL only honours the fetch size with
+     * auto-commit off and otherwise loads the whole result.
+     */
+    Stream<AccountDto> streamDtos(Specification<Account> specification, Sort sort, int fetchSize);
+}
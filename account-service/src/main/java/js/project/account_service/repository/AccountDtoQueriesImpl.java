@@ -0,0 +1,85 @@
+package js.project.account_service.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AccountDto;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Builds the same constructor expression as {@link AccountRepository#ACCOUNT_DTO_SELECT} with the
+ * Criteria API, so that {@link AccountSpecifications} can be reused. The bank branch is never
+ * joined, and no entity instances or dirty-checking snapshots end up in the persistence context.
+ */
+class AccountDtoQueriesImpl implements AccountDtoQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<AccountDto> findDtos(Specification<Account> specification, Pageable pageable) {
+        TypedQuery<AccountDto> query = query(specification, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<AccountDto> findDtos(Specification<Account> specification, Sort sort, int limit) {
+        return query(specification, sort).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<AccountDto> streamDtos(Specification<Account> specification, Sort sort, int fetchSize) {
+        return query(specification, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private TypedQuery<AccountDto> query(Specification<Account> specification, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AccountDto> query = criteriaBuilder.createQuery(AccountDto.class);
+        Root<Account> root = query.from(Account.class);
+        Path<Money> balance = root.get("balance");
+        query.select(criteriaBuilder.construct(AccountDto.class,
+                root.get("id"), root.get("accountNumber"), root.get("userId"), root.get("accountType"),
+                balance.get("minorUnits"), balance.get("currency"), root.get("status"),
+                root.get("createdAt"), root.get("updatedAt")));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Account> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Account> root = query.from(Account.class);
+        query.select(criteriaBuilder.count(root));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
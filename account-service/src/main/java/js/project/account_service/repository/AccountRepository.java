@@ -1,21 +1,72 @@
 package js.project.account_service.repository;
 
+import jakarta.persistence.LockModeType;
 import js.project.account_service.model.Account;
+import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.model.dto.AccountReferenceDto;
 import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, UUID>, JpaSpecificationExecutor<Account> {
-    @Query(value = "SELECT nextval('account_serial_number_sequence')", nativeQuery = true)
-    Long getNextAccountNumberSequence();
-    Page<Account> findByUserId(UUID userId, Pageable pageable);
-    Page<Account> findByStatus(AccountStatus status, Pageable pageable);
+public interface AccountRepository extends JpaRepository<Account, UUID>, JpaSpecificationExecutor<Account>, AccountDtoQueries {
 
-}
\ No newline at end of file
+    interface AccountOwner {
+        UUID getId();
+        UUID getUserId();
+    }
+
+    // List pages select the DTO columns directly: no Account entities, no branch proxies and no
+    // dirty-checking snapshots for rows that are only copied out and thrown away.
+    String ACCOUNT_DTO_SELECT = "SELECT new js.project.account_service.model.dto.AccountDto(a.id, a.accountNumber, " +
+            "a.userId, a.accountType, a.balance.minorUnits, a.balance.currency, a.status, a.createdAt, a.updatedAt) FROM Account a ";
+
+    @Query(value = ACCOUNT_DTO_SELECT + "WHERE a.userId = :userId",
+            countQuery = "SELECT count(a) FROM Account a WHERE a.userId = :userId")
+    Page<AccountDto> findDtosByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(value = ACCOUNT_DTO_SELECT + "WHERE a.status = :status",
+            countQuery = "SELECT count(a) FROM Account a WHERE a.status = :status")
+    Page<AccountDto> findDtosByStatus(@Param("status") AccountStatus status, Pageable pageable);
+
+    // Row locks are taken in primary-key order so that two instances posting the same pair never deadlock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id IN :ids ORDER BY a.id")
+    List<Account> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
+
+    // One chunk of an accrual partition, locked in primary-key order like the postings above.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id > :after AND a.id <= :upTo " +
+            "AND a.status = js.project.account_service.model.enums.AccountStatus.ACTIVE " +
+            "AND a.accountType IN :types AND a.balance.minorUnits > 0 ORDER BY a.id")
+    List<Account> findAccrualChunkForUpdate(@Param("after") UUID after, @Param("upTo") UUID upTo,
+                                            @Param("types") Collection<AccountType> types, Limit limit);
+
+    // Reads only columns held by idx_account_number_lookup, so Postgres can answer with an index-only scan.
+    @Query("SELECT new js.project.account_service.model.dto.AccountReferenceDto(a.id, a.accountNumber, a.userId, a.accountType, a.balance.currency) " +
+            "FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<AccountReferenceDto> findReferenceByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // Set-based status change for many accounts; the status guard skips rows that moved on in the meantime.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.status = :to, a.statusUpdateComment = :comment, a.lastModifiedBy = :modifiedBy, " +
+            "a.updatedAt = :updatedAt, a.version = a.version + 1 WHERE a.id IN :ids AND a.status = :from")
+    int transitionStatus(@Param("ids") Collection<UUID> ids, @Param("from") AccountStatus from, @Param("to") AccountStatus to,
+                         @Param("comment") String comment, @Param("modifiedBy") UUID modifiedBy,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+}
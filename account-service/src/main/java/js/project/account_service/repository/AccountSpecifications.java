@@ -0,0 +1,67 @@
+package js.project.account_service.repository;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.UserDirectoryEntry;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class AccountSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private AccountSpecifications() {
+    }
+
+    /**
+     * Account search filters. The user name is matched against the local user directory in a
+     * sub-select, so the whole search is a single query however many users match.
+     */
+    public static Specification<Account> search(String username, AccountType type, AccountStatus status) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (username != null && !username.isBlank()) {
+                String pattern = "%" + escapeLike(username.trim().toLowerCase()) + "%";
+                Subquery<UUID> users = query.subquery(UUID.class);
+                Root<UserDirectoryEntry> user = users.from(UserDirectoryEntry.class);
+                Expression<String> fullName = criteriaBuilder.concat(
+                        criteriaBuilder.concat(user.get("firstName"), " "), user.<String>get("lastName"));
+                users.select(user.get("userId")).where(criteriaBuilder.or(
+                        criteriaBuilder.like(criteriaBuilder.lower(user.get("firstName")), pattern, LIKE_ESCAPE),
+                        criteriaBuilder.like(criteriaBuilder.lower(user.get("lastName")), pattern, LIKE_ESCAPE),
+                        criteriaBuilder.like(criteriaBuilder.lower(fullName), pattern, LIKE_ESCAPE)));
+                predicates.add(root.get("userId").in(users));
+            }
+            if (type != null) {
+                predicates.add(criteriaBuilder.equal(root.get("accountType"), type));
+            }
+            if (status != null) {
+                predicates.add(criteriaBuilder.equal(root.get("status"), status));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Makes % and _ in user input match themselves instead of acting as wildcards.
+    static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length() + 8);
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == LIKE_ESCAPE || c == '%' || c == '_') {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package js.project.account_service.repository;
+
+import jakarta.persistence.LockModeType;
+import js.project.account_service.model.AccrualPartition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AccrualPartitionRepository extends JpaRepository<AccrualPartition, UUID> {
+
+    long countByRunDate(LocalDate runDate);
+
+    List<AccrualPartition> findByRunDateOrderByPartitionNo(LocalDate runDate);
+
+    @Query("SELECT p.id FROM AccrualPartition p WHERE p.runDate = :runDate " +
+            "AND p.status = js.project.account_service.model.enums.AccrualPartitionStatus.PENDING " +
+            "AND (p.leaseExpiresAt IS NULL OR p.leaseExpiresAt < :now) ORDER BY p.partitionNo")
+    List<UUID> findClaimableIds(@Param("runDate") LocalDate runDate, @Param("now") LocalDateTime now, Limit limit);
+
+    // Takes the lease only while the partition is still pending and unleased; the guard lets one worker win.
+    @Transactional
+    @Modifying
+    @Query("UPDATE AccrualPartition p SET p.claimedBy = :worker, p.leaseExpiresAt = :leaseUntil, p.updatedAt = :now " +
+            "WHERE p.id = :id AND p.status = js.project.account_service.model.enums.AccrualPartitionStatus.PENDING " +
+            "AND (p.leaseExpiresAt IS NULL OR p.leaseExpiresAt < :now)")
+    int claim(@Param("id") UUID id, @Param("worker") String worker, @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM AccrualPartition p WHERE p.id = :id")
+    Optional<AccrualPartition> findByIdForUpdate(@Param("id") UUID id);
+
+    @Query("SELECT DISTINCT p.runDate FROM AccrualPartition p " +
+            "WHERE p.status = js.project.account_service.model.enums.AccrualPartitionStatus.PENDING ORDER BY p.runDate")
+    List<LocalDate> findUnfinishedRunDates();
+}
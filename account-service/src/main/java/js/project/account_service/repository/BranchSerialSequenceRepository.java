@@ -0,0 +1,19 @@
+package js.project.account_service.repository;
+
+import jakarta.persistence.LockModeType;
+import js.project.account_service.model.BranchSerialSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BranchSerialSequenceRepository extends JpaRepository<BranchSerialSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BranchSerialSequence s WHERE s.branchCode = :branchCode")
+    Optional<BranchSerialSequence> findByBranchCodeForUpdate(@Param("branchCode") String branchCode);
+}
@@ -0,0 +1,32 @@
+package js.project.account_service.repository;
+
+import jakarta.persistence.LockModeType;
+import js.project.account_service.model.Hold;
+import js.project.account_service.model.enums.HoldStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, UUID> {
+
+    Optional<Hold> findByIdAndAccountId(UUID id, UUID accountId);
+
+    List<Hold> findByAccountIdAndStatusOrderByCreatedAt(UUID accountId, HoldStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hold h WHERE h.id = :id AND h.accountId = :accountId")
+    Optional<Hold> findByIdForUpdate(@Param("id") UUID id, @Param("accountId") UUID accountId);
+
+    @Query("SELECT h FROM Hold h WHERE h.status = js.project.account_service.model.enums.HoldStatus.ACTIVE " +
+            "AND h.expiresAt < :now ORDER BY h.expiresAt")
+    List<Hold> findExpired(@Param("now") LocalDateTime now, Limit limit);
+}
@@ -0,0 +1,61 @@
+package js.project.account_service.repository;
+
+import js.project.account_service.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Each statement commits on its own: the claim has to be visible to other instances before the request runs.
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Returns 0 instead of failing when the key is already taken.
+    @Transactional
+    @Modifying
+    @Query("INSERT INTO IdempotencyRecord (id, fingerprint, status, createdAt, expiresAt) " +
+            "VALUES (:id, :fingerprint, js.project.account_service.model.enums.IdempotencyStatus.IN_PROGRESS, :now, :leaseUntil) " +
+            "ON CONFLICT DO NOTHING")
+    int claim(@Param("id") String id, @Param("fingerprint") String fingerprint, @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Reclaims a key whose lease or replay window ran out; the expiry guard lets only one caller win.
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.fingerprint = :fingerprint, " +
+            "r.status = js.project.account_service.model.enums.IdempotencyStatus.IN_PROGRESS, r.responseBody = NULL, " +
+            "r.createdAt = :now, r.expiresAt = :leaseUntil WHERE r.id = :id AND r.expiresAt < :now")
+    int takeOver(@Param("id") String id, @Param("fingerprint") String fingerprint, @Param("now") LocalDateTime now,
+                 @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // The claim's createdAt identifies the claimant: renew, complete and release only touch the claim
+    // they were given, never one another instance took over after this one's lease ran out.
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.expiresAt = :leaseUntil WHERE r.id = :id AND r.createdAt = :claimedAt " +
+            "AND r.status = js.project.account_service.model.enums.IdempotencyStatus.IN_PROGRESS")
+    int renew(@Param("id") String id, @Param("claimedAt") LocalDateTime claimedAt, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = js.project.account_service.model.enums.IdempotencyStatus.COMPLETED, " +
+            "r.responseBody = :responseBody, r.expiresAt = :expiresAt WHERE r.id = :id AND r.createdAt = :claimedAt " +
+            "AND r.status = js.project.account_service.model.enums.IdempotencyStatus.IN_PROGRESS")
+    int complete(@Param("id") String id, @Param("claimedAt") LocalDateTime claimedAt, @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.createdAt = :claimedAt " +
+            "AND r.status = js.project.account_service.model.enums.IdempotencyStatus.IN_PROGRESS")
+    int release(@Param("id") String id, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,14 @@
+package js.project.account_service.repository;
+
+import js.project.account_service.model.LedgerEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID> {
+    Page<LedgerEntry> findByAccountId(UUID accountId, Pageable pageable);
+}
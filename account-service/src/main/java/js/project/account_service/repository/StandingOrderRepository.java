@@ -0,0 +1,55 @@
+package js.project.account_service.repository;
+
+import jakarta.persistence.LockModeType;
+import js.project.account_service.model.StandingOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StandingOrderRepository extends JpaRepository<StandingOrder, UUID> {
+
+    interface DueOrder {
+        UUID getId();
+
+        LocalDateTime getNextRunAt();
+
+        UUID getFromAccountId();
+
+        UUID getToAccountId();
+    }
+
+    List<StandingOrder> findByFromAccountIdOrderByCreatedAt(UUID fromAccountId);
+
+    // Range scan on (status, next_run_at): only the orders due before the end of the window are read.
+    @Query("SELECT o.id FROM StandingOrder o WHERE o.status = js.project.account_service.model.enums.StandingOrderStatus.ACTIVE " +
+            "AND o.nextRunAt < :windowEnd AND (o.leaseExpiresAt IS NULL OR o.leaseExpiresAt < :now) ORDER BY o.nextRunAt")
+    List<UUID> findDueIds(@Param("windowEnd") LocalDateTime windowEnd, @Param("now") LocalDateTime now, Limit limit);
+
+    // Takes the leases that are still free; the guard lets one instance win each order.
+    @Transactional
+    @Modifying
+    @Query("UPDATE StandingOrder o SET o.claimedBy = :worker, o.leaseExpiresAt = :leaseUntil " +
+            "WHERE o.id IN :ids AND (o.leaseExpiresAt IS NULL OR o.leaseExpiresAt < :now)")
+    int lease(@Param("ids") Collection<UUID> ids, @Param("worker") String worker, @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Query("SELECT o.id AS id, o.nextRunAt AS nextRunAt, o.fromAccountId AS fromAccountId, o.toAccountId AS toAccountId " +
+            "FROM StandingOrder o WHERE o.id IN :ids AND o.claimedBy = :worker")
+    List<DueOrder> findLeased(@Param("ids") Collection<UUID> ids, @Param("worker") String worker);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM StandingOrder o WHERE o.id = :id")
+    Optional<StandingOrder> findByIdForUpdate(@Param("id") UUID id);
+}
@@ -0,0 +1,11 @@
+package js.project.account_service.repository;
+
+import js.project.account_service.model.UserDirectoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserDirectoryRepository extends JpaRepository<UserDirectoryEntry, UUID> {
+}
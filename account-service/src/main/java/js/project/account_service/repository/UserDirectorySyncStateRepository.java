@@ -0,0 +1,9 @@
+package js.project.account_service.repository;
+
+import js.project.account_service.model.UserDirectorySyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserDirectorySyncStateRepository extends JpaRepository<UserDirectorySyncState, String> {
+}
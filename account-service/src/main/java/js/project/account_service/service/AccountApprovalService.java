@@ -2,32 +2,125 @@ package js.project.account_service.service;
 
 
 import jakarta.persistence.criteria.Predicate;
+import js.project.account_service.exception.AccountApprovalNotFoundException;
+import js.project.account_service.exception.ApprovalClaimedException;
+import js.project.account_service.exception.InvalidApprovalStatusException;
+import js.project.account_service.model.Account;
 import js.project.account_service.model.AccountApproval;
+import js.project.account_service.model.dto.BulkReviewResultDto;
+import js.project.account_service.model.enums.AccountStatus;
 import js.project.account_service.model.enums.ApprovalStatus;
+import js.project.account_service.model.request.BulkApprovalRequest;
+import js.project.account_service.model.response.CursorPage;
 import js.project.account_service.repository.AccountApprovalRepository;
-import lombok.RequiredArgsConstructor;
+import js.project.account_service.repository.AccountApprovalRepository.ApprovalState;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.AccountRepository.AccountOwner;
+import js.project.account_service.util.KeysetPagination;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AccountApprovalService {
 
+    /** Keeps IN lists well below driver and planner limits. */
+    private static final int REVIEW_CHUNK_SIZE = 1000;
+
+    public static final int MAX_CLAIM = 100;
+
     private final AccountApprovalRepository accountApprovalRepository;
+    private final AccountRepository accountRepository;
+    private final AccountDetailsCache accountDetailsCache;
+    private final AccountStatusMachine statusMachine;
+    private final Duration claimLease;
+
+    public AccountApprovalService(AccountApprovalRepository accountApprovalRepository, AccountRepository accountRepository,
+                                  AccountDetailsCache accountDetailsCache, AccountStatusMachine statusMachine,
+                                  @Value("${account.approvals.claim-lease:PT15M}") Duration claimLease) {
+        this.accountApprovalRepository = accountApprovalRepository;
+        this.accountRepository = accountRepository;
+        this.accountDetailsCache = accountDetailsCache;
+        this.statusMachine = statusMachine;
+        this.claimLease = claimLease;
+    }
 
     @Transactional(readOnly = true)
     public Page<AccountApproval> getAccountApprovals(List<ApprovalStatus> statuses, Pageable pageable) {
         log.info("Fetching account approvals with statuses: {}, pageable: {}", statuses, pageable);
 
-        Specification<AccountApproval> spec = (root, query, criteriaBuilder) -> {
+        Page<AccountApproval> approvalsPage = accountApprovalRepository.findAll(statusSpecification(statuses), pageable);
+
+        log.info("Found {} account approvals matching the criteria on page {} of {} (total {} account approvals).",
+                approvalsPage.getNumberOfElements(),
+                approvalsPage.getNumber(),
+                approvalsPage.getTotalPages(),
+                approvalsPage.getTotalElements());
+
+        return approvalsPage;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<AccountApproval> scrollAccountApprovals(List<ApprovalStatus> statuses, String cursor, int size) {
+        log.info("Scrolling account approvals with statuses: {}", statuses);
+        return KeysetPagination.scroll(accountApprovalRepository, statusSpecification(statuses), cursor, size,
+                AccountApproval::getCreatedAt, AccountApproval::getId);
+    }
+
+    /**
+     * Leases up to {@code count} of the oldest pending approvals to the reviewer. The rows are
+     * selected with {@code FOR UPDATE SKIP LOCKED}, so any number of reviewers can claim at the
+     * same time. Each one gets a disjoint batch, and nobody waits on anybody else's row locks.
+     * A lease that runs out before the approval is reviewed puts it back in the queue.
+     */
+    @Transactional
+    public List<AccountApproval> claimApprovals(UUID reviewerId, int count) {
+        if (count < 1 || count > MAX_CLAIM) {
+            throw new IllegalArgumentException("Claim size must be between 1 and " + MAX_CLAIM + ": " + count);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AccountApproval> claimed = accountApprovalRepository.findClaimable(now, Limit.of(count));
+        LocalDateTime expiresAt = now.plus(claimLease);
+        for (AccountApproval approval : claimed) {
+            approval.setClaimedBy(reviewerId);
+            approval.setClaimExpiresAt(expiresAt);
+        }
+        log.info("Reviewer {} claimed {} of {} requested approvals until {}", reviewerId, claimed.size(), count, expiresAt);
+        return claimed;
+    }
+
+    @Transactional
+    public void releaseApproval(UUID reviewerId, UUID approvalId) {
+        log.info("Reviewer {} releasing approval {}", reviewerId, approvalId);
+        if (accountApprovalRepository.releaseClaim(approvalId, reviewerId) == 0) {
+            if (!accountApprovalRepository.existsById(approvalId)) {
+                throw new AccountApprovalNotFoundException("Account Approval not found for account approval id: " + approvalId);
+            }
+            throw new ApprovalClaimedException("Approval " + approvalId + " is not claimed by reviewer " + reviewerId);
+        }
+    }
+
+    private Specification<AccountApproval> statusSpecification(List<ApprovalStatus> statuses) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             if (statuses != null && !statuses.isEmpty()) {
@@ -36,15 +129,143 @@ public class AccountApprovalService {
 
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
+    }
 
-        Page<AccountApproval> approvalsPage = accountApprovalRepository.findAll(spec, pageable);
+    /**
+     * Applies one decision to many approvals, a chunk of ids at a time: one read to classify the ids,
+     * then the chunk's accounts and approvals are locked, in that order and by id, and both tables
+     * are updated from the locked set with set-based UPDATEs. Only approvals that are still pending,
+     * not claimed by another reviewer, and whose account is still PENDING_APPROVAL under the lock are
+     * decided, so every decided approval moves its account. The rest are reported as skipped instead
+     * of failing the whole request.
+     */
+    @Transactional
+    public BulkReviewResultDto reviewApprovals(UUID reviewedBy, BulkApprovalRequest request) {
+        ApprovalStatus decision = request.getStatus();
+        if (decision != ApprovalStatus.APPROVED && decision != ApprovalStatus.REJECTED) {
+            throw new InvalidApprovalStatusException("Bulk review decision must be APPROVED or REJECTED: " + decision);
+        }
+        AccountStatus accountStatus = decision == ApprovalStatus.APPROVED ? AccountStatus.ACTIVE : AccountStatus.REJECTED;
+        statusMachine.requireTransition(AccountStatus.PENDING_APPROVAL, accountStatus);
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(request.getApprovalIds()));
+        log.info("Reviewing {} account approvals as {} by {}", ids.size(), decision, reviewedBy);
 
-        log.info("Found {} account approvals matching the criteria on page {} of {} (total {} account approvals).",
-                approvalsPage.getNumberOfElements(),
-                approvalsPage.getNumber(),
-                approvalsPage.getTotalPages(),
-                approvalsPage.getTotalElements());
+        LocalDateTime reviewedAt = LocalDateTime.now();
+        List<UUID> reviewed = new ArrayList<>();
+        List<UUID> alreadyReviewed = new ArrayList<>();
+        List<UUID> notFound = new ArrayList<>();
+        List<UUID> claimedByOthers = new ArrayList<>();
+        List<UUID> accountNotPending = new ArrayList<>();
 
-        return approvalsPage;
+        for (int from = 0; from < ids.size(); from += REVIEW_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + REVIEW_CHUNK_SIZE, ids.size()));
+            Map<UUID, ApprovalState> states = accountApprovalRepository.findStatesByIdIn(chunk).stream()
+                    .collect(Collectors.toMap(ApprovalState::getId, Function.identity()));
+
+            List<UUID> pending = new ArrayList<>();
+            for (UUID id : chunk) {
+                ApprovalState state = states.get(id);
+                if (state == null) {
+                    notFound.add(id);
+                    continue;
+                }
+                List<UUID> skipped = skipReason(state, reviewedBy, reviewedAt, alreadyReviewed, claimedByOthers, accountNotPending);
+                (skipped == null ? pending : skipped).add(id);
+            }
+            if (pending.isEmpty()) {
+                continue;
+            }
+
+            // accounts first, then approvals, each in id order, so concurrent bulk reviews never deadlock
+            List<UUID> pendingAccountIds = pending.stream().map(id -> states.get(id).getAccountId()).toList();
+            Map<UUID, Account> accounts = new HashMap<>();
+            for (Account account : accountRepository.findAllByIdForUpdate(pendingAccountIds)) {
+                if (account.getStatus() == AccountStatus.PENDING_APPROVAL) {
+                    accounts.put(account.getId(), account);
+                }
+            }
+            List<UUID> lockable = new ArrayList<>();
+            for (UUID id : pending) {
+                (accounts.containsKey(states.get(id).getAccountId()) ? lockable : accountNotPending).add(id);
+            }
+            Set<UUID> won = new HashSet<>();
+            if (!lockable.isEmpty()) {
+                for (AccountApproval approval : accountApprovalRepository.findReviewableForUpdate(lockable, reviewedBy, reviewedAt)) {
+                    won.add(approval.getId());
+                }
+            }
+            List<UUID> lost = new ArrayList<>();
+            for (UUID id : lockable) {
+                (won.contains(id) ? reviewed : lost).add(id);
+            }
+            if (!lost.isEmpty()) {
+                // decided or claimed by someone else between the read and the lock; read again to say which
+                for (ApprovalState state : accountApprovalRepository.findStatesByIdIn(lost)) {
+                    List<UUID> skipped = skipReason(state, reviewedBy, reviewedAt, alreadyReviewed, claimedByOthers, accountNotPending);
+                    (skipped == null ? alreadyReviewed : skipped).add(state.getId());
+                }
+            }
+            if (won.isEmpty()) {
+                continue;
+            }
+
+            Map<UUID, AccountOwner> owners = new HashMap<>();
+            for (UUID id : won) {
+                Account account = accounts.get(states.get(id).getAccountId());
+                owners.putIfAbsent(account.getId(), new LockedAccount(account.getId(), account.getUserId()));
+            }
+            List<UUID> accountIds = List.copyOf(owners.keySet());
+            int decided = accountApprovalRepository.reviewPending(won, decision, request.getComments(), reviewedBy, reviewedAt);
+            int moved = accountRepository.transitionStatus(accountIds, AccountStatus.PENDING_APPROVAL, accountStatus,
+                    request.getComments(), reviewedBy, reviewedAt);
+            if (decided != won.size() || moved != accountIds.size()) {
+                // cannot happen while the rows are locked; roll back rather than commit a half-applied review
+                throw new IllegalStateException("Bulk review by " + reviewedBy + " decided " + decided + " approvals and moved "
+                        + moved + " accounts of " + won.size() + " locked");
+            }
+            statusMachine.transitioned(owners.values(), AccountStatus.PENDING_APPROVAL, accountStatus, reviewedBy,
+                    request.getComments(), reviewedAt);
+            accountDetailsCache.invalidateAfterCommit(accountIds);
+        }
+
+        log.info("Bulk review by {}: {} reviewed, {} already reviewed, {} not found, {} claimed by others, {} accounts not pending",
+                reviewedBy, reviewed.size(), alreadyReviewed.size(), notFound.size(), claimedByOthers.size(), accountNotPending.size());
+        return BulkReviewResultDto.builder()
+                .decision(decision)
+                .reviewed(reviewed)
+                .alreadyReviewed(alreadyReviewed)
+                .notFound(notFound)
+                .claimedByOthers(claimedByOthers)
+                .accountNotPending(accountNotPending)
+                .build();
+    }
+
+    // the list an approval in this state is skipped into, or null when the reviewer may decide it
+    private static List<UUID> skipReason(ApprovalState state, UUID reviewerId, LocalDateTime now, List<UUID> alreadyReviewed,
+                                         List<UUID> claimedByOthers, List<UUID> accountNotPending) {
+        if (state.getStatus() != ApprovalStatus.PENDING) {
+            return alreadyReviewed;
+        }
+        if (state.getClaimedBy() != null && !state.getClaimedBy().equals(reviewerId)
+                && !state.getClaimExpiresAt().isBefore(now)) {
+            return claimedByOthers;
+        }
+        if (state.getAccountStatus() != AccountStatus.PENDING_APPROVAL) {
+            return accountNotPending;
+        }
+        return null;
+    }
+
+    private record LockedAccount(UUID id, UUID userId) implements AccountOwner {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public UUID getUserId() {
+            return userId;
+        }
     }
-}
\ No newline at end of file
+}
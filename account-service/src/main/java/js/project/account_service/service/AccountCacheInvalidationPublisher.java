@@ -0,0 +1,39 @@
+package js.project.account_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Tells the other account-service instances to drop cached account details. The message is just the
+ * account id. Delivery is best effort, and the cache TTL covers any message that is lost.
+ */
+@Component
+@Slf4j
+public class AccountCacheInvalidationPublisher {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final String topic;
+
+    public AccountCacheInvalidationPublisher(KafkaTemplate<String, String> kafkaTemplate,
+                                             @Value("${kafka.topic.account-cache-invalidation}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+    }
+
+    public void publish(Collection<UUID> accountIds) {
+        for (UUID accountId : accountIds) {
+            String id = accountId.toString();
+            kafkaTemplate.send(topic, id, id)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.warn("Failed to broadcast cache invalidation for account {}: {}", id, ex.getMessage());
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.util.ExpiringLruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of {@link AccountDto}s behind the account detail endpoints. Entries are bounded
+ * by count and by age. Every write path that changes an account row invalidates its entry once the
+ * writing transaction commits: status changes, reviews and ledger postings. A reader still holding
+ * the pre-commit row cannot put it back afterwards. The invalidation is then broadcast so that
+ * other instances drop their copies too. The TTL bounds staleness if a broadcast is lost.
+ * <p>
+ * Meters: {@code account.details.cache.hits}, {@code .misses}, {@code .evictions} (tagged
+ * {@code cause=size|expired}), {@code .size} and {@code .hit.ratio}.
+ */
+@Component
+@Slf4j
+public class AccountDetailsCache {
+
+    private final ExpiringLruCache<UUID, AccountDto> cache;
+    private final AccountCacheInvalidationPublisher invalidationPublisher;
+    private final Counter hits;
+    private final Counter misses;
+
+    public AccountDetailsCache(AccountCacheInvalidationPublisher invalidationPublisher, MeterRegistry meterRegistry,
+                               @Value("${account.details-cache.size:10000}") int cacheSize,
+                               @Value("${account.details-cache.ttl:PT5M}") Duration ttl) {
+        this.invalidationPublisher = invalidationPublisher;
+        this.cache = new ExpiringLruCache<>(cacheSize, ttl.toNanos(), System::nanoTime);
+        this.hits = meterRegistry.counter("account.details.cache.hits");
+        this.misses = meterRegistry.counter("account.details.cache.misses");
+        FunctionCounter.builder("account.details.cache.evictions", cache, ExpiringLruCache::evictions)
+                .tag("cause", "size").register(meterRegistry);
+        FunctionCounter.builder("account.details.cache.evictions", cache, ExpiringLruCache::expirations)
+                .tag("cause", "expired").register(meterRegistry);
+        Gauge.builder("account.details.cache.size", cache, ExpiringLruCache::size).register(meterRegistry);
+        Gauge.builder("account.details.cache.hit.ratio", this, AccountDetailsCache::hitRatio).register(meterRegistry);
+    }
+
+    public AccountDto get(UUID accountId, Supplier<AccountDto> loader) {
+        AccountDto cached = cache.get(accountId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long stamp = cache.stamp();
+        AccountDto account = loader.get();
+        cache.putIfNotInvalidatedSince(accountId, account, stamp);
+        return account;
+    }
+
+    public void invalidateAfterCommit(UUID accountId) {
+        invalidateAfterCommit(List.of(accountId));
+    }
+
+    /**
+     * Drops the accounts here and on every other instance once the current transaction commits, or
+     * right away when there is none.
+     */
+    public void invalidateAfterCommit(Collection<UUID> accountIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(accountIds);
+                }
+            });
+        } else {
+            invalidate(accountIds);
+        }
+    }
+
+    /**
+     * Drops the account from this instance only; used for invalidations received from other instances.
+     */
+    public void evict(UUID accountId) {
+        cache.invalidate(accountId);
+    }
+
+    private void invalidate(Collection<UUID> accountIds) {
+        accountIds.forEach(cache::invalidate);
+        invalidationPublisher.publish(accountIds);
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,84 @@
+package js.project.account_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import js.project.account_service.model.OutboxEvent;
+import js.project.account_service.model.event.AccountCreatedEvent;
+import js.project.account_service.model.event.AccountStatusChangedEvent;
+import js.project.account_service.repository.OutboxEventRepository;
+import js.project.model.AccountLifecycleEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Writes account lifecycle events to the outbox table in the transaction that made the change, so
+ * an event is stored exactly when the change commits and {@link OutboxRelay} publishes it later.
+ * The listeners require a transaction; publishing one of these events outside a transaction is a
+ * bug, not something to paper over by writing the row on its own.
+ * <p>
+ * Events of one account are ordered by the outbox id. Changes to an account are serialized by its
+ * version or row lock, and the id is taken after the account was read, so a later change always
+ * gets a higher id.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AccountEventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onAccountCreated(AccountCreatedEvent event) {
+        append(AccountLifecycleEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(AccountLifecycleEvent.ACCOUNT_CREATED)
+                .accountId(event.accountId())
+                .userId(event.userId())
+                .accountNumber(event.accountNumber())
+                .status(event.status().name())
+                .changedBy(event.userId())
+                .occurredAt(event.createdAt())
+                .build());
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onStatusChanged(AccountStatusChangedEvent event) {
+        append(AccountLifecycleEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType(AccountLifecycleEvent.ACCOUNT_STATUS_CHANGED)
+                .accountId(event.accountId())
+                .userId(event.userId())
+                .previousStatus(event.previousStatus().name())
+                .status(event.newStatus().name())
+                .changedBy(event.changedBy())
+                .reason(event.reason())
+                .occurredAt(event.changedAt())
+                .build());
+    }
+
+    private void append(AccountLifecycleEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize " + event.getEventType() + " for account " + event.getAccountId(), ex);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(event.getAccountId())
+                .eventType(event.getEventType())
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued {} for account {} in the outbox", event.getEventType(), event.getAccountId());
+    }
+}
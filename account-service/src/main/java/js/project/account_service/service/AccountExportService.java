@@ -0,0 +1,194 @@
+package js.project.account_service.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.exception.ExportCapacityExceededException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.ExportFormat;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.AccountSpecifications;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Streams accounts to a response as CSV or NDJSON without building pages. Rows come from a
+ * forward-only cursor in a read-only transaction, {@code fetch-size} at a time, and go through a
+ * fixed-size buffer straight to the output stream, so memory stays flat whatever the row count.
+ * A slow client blocks the write, which stops the next fetch; the database is read only as fast as
+ * the client reads.
+ * <p>
+ * Each running export holds a connection and its cursor for as long as the client takes, so only
+ * {@code max-concurrent} run at a time and the rest are turned away instead of queueing.
+ */
+@Service
+@Slf4j
+public class AccountExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,accountNumber,userId,accountType,balance,currency,status,createdAt,updatedAt\n";
+    private static final Sort EXPORT_ORDER = Sort.by("id");
+
+    private final AccountRepository accountRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore running;
+    private final int fetchSize;
+
+    public AccountExportService(AccountRepository accountRepository, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${account.export.fetch-size:1000}") int fetchSize,
+                                @Value("${account.export.max-concurrent:4}") int maxConcurrent) {
+        this.accountRepository = accountRepository;
+        this.objectMapper = objectMapper;
+        // flushing after every row would turn each row into its own write to the socket
+        this.rowWriter = objectMapper.writerFor(AccountDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.running = new Semaphore(maxConcurrent);
+        this.fetchSize = fetchSize;
+    }
+
+    public StreamingResponseBody exportByUserId(UUID userId, ExportFormat format) {
+        log.info("Exporting accounts of user {} as {}", userId, format);
+        return export((root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("userId"), userId), format);
+    }
+
+    public StreamingResponseBody exportSearch(String username, AccountType type, AccountStatus status, ExportFormat format) {
+        log.info("Exporting accounts with filters: username={}, type={}, status={} as {}", username, type, status, format);
+        return export(AccountSpecifications.search(username, type, status), format);
+    }
+
+    /**
+     * Takes an export slot now, so that a busy service answers 429 before any of the file is sent,
+     * and returns the body that streams the rows and gives the slot back. A body that is never run,
+     * because the async dispatch was rejected, timed out or failed first, cannot give it back, so the
+     * request's async completion releases the slot as well; whichever comes first wins.
+     */
+    private StreamingResponseBody export(Specification<Account> specification, ExportFormat format) {
+        if (!running.tryAcquire()) {
+            throw new ExportCapacityExceededException("All export slots are in use");
+        }
+        ExportSlot slot = new ExportSlot();
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            WebAsyncUtils.getAsyncManager(attributes.getRequest()).registerCallableInterceptor(slot, slot);
+        }
+        return outputStream -> {
+            long started = System.nanoTime();
+            try {
+                Long rows = readOnlyTransaction.execute(status -> {
+                    try (Stream<AccountDto> accounts = accountRepository.streamDtos(specification, EXPORT_ORDER, fetchSize)) {
+                        return write(accounts.iterator(), format, outputStream);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                meterRegistry.counter("account.export.rows", "format", format.name()).increment(rows);
+                log.info("Exported {} accounts as {} in {} ms", rows, format, (System.nanoTime() - started) / 1_000_000);
+            } catch (UncheckedIOException ex) {
+                // usually the client went away; the cursor and connection are already released
+                log.warn("Account export aborted: {}", ex.getCause().getMessage());
+                throw ex.getCause();
+            } finally {
+                slot.release();
+            }
+        };
+    }
+
+    private final class ExportSlot implements CallableProcessingInterceptor {
+
+        private final AtomicBoolean held = new AtomicBoolean(true);
+
+        void release() {
+            if (held.compareAndSet(true, false)) {
+                running.release();
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            release();
+        }
+    }
+
+    private long write(Iterator<AccountDto> accounts, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long rows = switch (format) {
+            case CSV -> writeCsv(accounts, writer);
+            case NDJSON -> writeNdjson(accounts, writer);
+        };
+        writer.flush();
+        return rows;
+    }
+
+    // Every column is a UUID, digits, an enum constant or a timestamp, so nothing needs quoting.
+    private static long writeCsv(Iterator<AccountDto> accounts, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        StringBuilder line = new StringBuilder(192);
+        long rows = 0;
+        while (accounts.hasNext()) {
+            AccountDto account = accounts.next();
+            line.setLength(0);
+            line.append(account.getId()).append(',')
+                    .append(account.getAccountNumber()).append(',')
+                    .append(account.getUserId()).append(',')
+                    .append(account.getAccountType()).append(',');
+            account.getBalance().appendTo(line).append(',')
+                    .append(account.getCurrency()).append(',')
+                    .append(account.getStatus()).append(',')
+                    .append(account.getCreatedAt()).append(',')
+                    .append(account.getUpdatedAt() == null ? "" : account.getUpdatedAt()).append('\n');
+            writer.append(line);
+            rows++;
+        }
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<AccountDto> accounts, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // the line break is the separator, not the generator's default space
+        generator.setRootValueSeparator(null);
+        long rows = 0;
+        while (accounts.hasNext()) {
+            rowWriter.writeValue(generator, accounts.next());
+            generator.writeRaw('\n');
+            rows++;
+        }
+        generator.flush();
+        return rows;
+    }
+}
@@ -0,0 +1,66 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.exception.AccountNotFoundException;
+import js.project.account_service.exception.InvalidAccountNumberException;
+import js.project.account_service.model.dto.AccountReferenceDto;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.util.AccountNumberCodec;
+import js.project.account_service.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Resolves account numbers to accounts. Malformed numbers and numbers with a wrong check digit are
+ * rejected in memory, so typos never reach the database. Valid numbers are read through a projection
+ * on the account-number index and kept in a small LRU cache; the cached fields are immutable, so
+ * entries never go stale. Unknown numbers are not cached, since they may be issued later.
+ * <p>
+ * Meters: {@code account.lookup.cache.hits}, {@code .misses}, {@code account.lookup.rejected} and
+ * {@code account.lookup.cache.size}.
+ */
+@Service
+@Slf4j
+public class AccountLookupService {
+
+    private final AccountRepository accountRepository;
+    private final LruCache<String, AccountReferenceDto> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+
+    public AccountLookupService(AccountRepository accountRepository, MeterRegistry meterRegistry,
+                                @Value("${account.lookup.cache-size:10000}") int cacheSize) {
+        this.accountRepository = accountRepository;
+        this.cache = new LruCache<>(cacheSize);
+        this.hits = meterRegistry.counter("account.lookup.cache.hits");
+        this.misses = meterRegistry.counter("account.lookup.cache.misses");
+        this.rejected = meterRegistry.counter("account.lookup.rejected");
+        Gauge.builder("account.lookup.cache.size", cache, LruCache::size).register(meterRegistry);
+    }
+
+    @Transactional(readOnly = true)
+    public AccountReferenceDto findByAccountNumber(String accountNumber) {
+        if (!AccountNumberCodec.isValid(accountNumber)) {
+            rejected.increment();
+            throw new InvalidAccountNumberException("Invalid account number: " + accountNumber);
+        }
+
+        AccountReferenceDto cached = cache.get(accountNumber);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        log.info("Resolving account number: {}", accountNumber);
+        AccountReferenceDto account = accountRepository.findReferenceByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with number: " + accountNumber));
+        cache.put(accountNumber, account);
+        return account;
+    }
+}
@@ -0,0 +1,48 @@
+package js.project.account_service.service;
+
+import js.project.account_service.client.BatchingUserClient;
+import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.model.dto.UserSummaryDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Fills in the owner of each account on admin listings. Owners are resolved through
+ * {@link BatchingUserClient}, so a page costs one call to user-service however many owners it
+ * holds, and listings served at the same time share that call.
+ * <p>
+ * The owner is decoration: if user-service cannot be reached the page is returned without owners
+ * rather than failing the listing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AccountOwnerService {
+
+    private final BatchingUserClient batchingUserClient;
+
+    public void fillOwners(List<AccountDto> accounts) {
+        Set<UUID> userIds = new LinkedHashSet<>();
+        accounts.forEach(account -> userIds.add(account.getUserId()));
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, UserSummaryDto> owners;
+        try {
+            owners = batchingUserClient.lookupAll(userIds);
+        } catch (CompletionException ex) {
+            log.warn("Listing {} accounts without owners: {}", userIds.size(), ex.getCause().getMessage());
+            return;
+        }
+        accounts.forEach(account -> account.setOwner(owners.get(account.getUserId())));
+    }
+}
@@ -1,37 +1,44 @@
 package js.project.account_service.service;
 
-import jakarta.persistence.criteria.Predicate;
-import js.project.account_service.client.UserServiceClient;
 import js.project.account_service.exception.*;
 import js.project.account_service.exception.InvalidAccountStatusException;
 import js.project.account_service.model.Account;
 import js.project.account_service.model.AccountApproval;
-import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
 import js.project.account_service.model.enums.AccountStatus;
 import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.model.dto.BankBranchDto;
 import js.project.account_service.model.dto.AccountSummaryDto;
 import js.project.account_service.model.enums.AccountType;
 import js.project.account_service.model.enums.ApprovalStatus;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.event.AccountCreatedEvent;
 import js.project.account_service.model.request.AccountApprovalRequest;
 import js.project.account_service.model.request.CreateAccountRequest;
+import js.project.account_service.model.request.StatusChangeRequest;
 import js.project.account_service.model.request.StatusUpdateRequest;
+import js.project.account_service.model.response.CursorPage;
 import js.project.account_service.model.response.GeneralResponse;
 import js.project.account_service.repository.AccountApprovalRepository;
 import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.AccountSpecifications;
 import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
 import js.project.account_service.util.AccountNumberGenerator;
+import js.project.account_service.util.AccountSerialAllocator;
+import js.project.account_service.util.KeysetCursor;
+import js.project.account_service.util.KeysetPagination;
+import js.project.account_service.util.OptimisticRetryExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -43,48 +50,68 @@ public class AccountService {
     private final AccountApprovalRepository accountApprovalRepository;
     private final BankBranchRepository bankBranchRepository;
     private final AccountNumberGenerator accountNumberGenerator;
-    private final UserServiceClient userServiceClient;
+    private final AccountSerialAllocator accountSerialAllocator;
+    private final BranchDirectory branchDirectory;
+    private final AccountDetailsCache accountDetailsCache;
+    private final OptimisticRetryExecutor optimisticRetry;
+    private final AccountStatusMachine statusMachine;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VelocityRuleEngine velocityRules;
+    private final LedgerEntryRepository ledgerEntryRepository;
 //    private final ObjectMapper objectMapper;
     @Transactional
     public AccountSummaryDto createAccount(UUID userId, CreateAccountRequest request) {
         log.info("Creating account for user with ID: {} and branchId: {}", userId, request.getBranchCode());
 
-        BankBranch branch = bankBranchRepository.findByBranchCode(request.getBranchCode())
+        BankBranchDto branch = branchDirectory.findByBranchCode(request.getBranchCode())
                 .orElseThrow(() -> new BranchNotFoundException("Branch not found with branch code: " + request.getBranchCode()));
 
-        Long sequentialNumber = accountRepository.getNextAccountNumberSequence();
-        String accountNumber = accountNumberGenerator.generateAccountNumber(branch.getBranchCode(), sequentialNumber);
+        Money balance = Money.of(request.getBalance(), request.getCurrency());
+        VelocityRuleEngine.Assessment risk = velocityRules.assess(VelocityOperation.ACCOUNT_OPEN, userId, null, balance.minorUnits());
+        if (risk.blocked()) {
+            throw new VelocityLimitExceededException("Account opening limit reached for user: " + userId);
+        }
+
+        long sequentialNumber = accountSerialAllocator.nextSerial(branch.branchCode());
+        String accountNumber = accountNumberGenerator.generateAccountNumber(branch, sequentialNumber);
 
 
         Account account = Account.builder()
                 .userId(userId)
                 .accountNumber(accountNumber)
                 .accountType(request.getAccountType())
-                .balance(request.getBalance())
-                .currency(request.getCurrency())
-                .bankBranch(branch)
+                .balance(balance)
+                .bankBranch(bankBranchRepository.getReferenceById(branch.id()))
                 .lastModifiedBy(userId)
                 .status(AccountStatus.PENDING_APPROVAL)
                 .build();
 
         accountRepository.save(account);
+        // the opening balance is funded from the cash ledger, so the account's entries sum to its balance
+        ledgerEntryRepository.saveAll(LedgerService.openingBalanceEntries(account, userId));
 
         AccountApproval accountApproval = AccountApproval.builder()
                 .accountId(account.getId())
                 .status(ApprovalStatus.PENDING)
                 .requestedBy(userId)
+                .riskDecision(risk.decision())
+                .riskFlags(risk.flags())
                 .build();
 
         accountApprovalRepository.save(accountApproval);
         log.info("Account approval request created: {}", accountApproval);
+        eventPublisher.publishEvent(new AccountCreatedEvent(account.getId(), userId, accountNumber, account.getStatus(),
+                account.getCreatedAt()));
 
         return new AccountSummaryDto(account);
     }
 
-    @Transactional
     public GeneralResponse approveAccount(UUID reviewedBy, AccountApprovalRequest request) {
         log.info("Approving account with ID: {}", request.getAccountId());
+        return optimisticRetry.execute("approveAccount", () -> applyApproveAccount(reviewedBy, request));
+    }
 
+    private GeneralResponse applyApproveAccount(UUID reviewedBy, AccountApprovalRequest request) {
         Account account = accountRepository.findById(request.getAccountId())
                 .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + request.getAccountId()));
 
@@ -96,6 +123,20 @@ public class AccountService {
                 || accountApproval.getStatus().equals(ApprovalStatus.REJECTED)){
             throw new AccountAlreadyReviewedException("Account already reviewed");
         }
+        if (accountApproval.getClaimedBy() != null && !accountApproval.getClaimedBy().equals(reviewedBy)
+                && accountApproval.getClaimExpiresAt().isAfter(LocalDateTime.now())) {
+            throw new ApprovalClaimedException("Approval " + accountApproval.getId() + " is claimed by another reviewer");
+        }
+
+        AccountStatus accountStatus = switch (request.getStatus()) {
+            case APPROVED -> AccountStatus.ACTIVE;
+            case REJECTED -> AccountStatus.REJECTED;
+            case PENDING -> null;
+            default -> {
+                log.warn("Invalid approval status provided: {}", request.getStatus());
+                throw new InvalidApprovalStatusException("Invalid approval status provided: " + request.getStatus());
+            }
+        };
 
         accountApproval.setStatus(request.getStatus());
         accountApproval.setComments(request.getComments());
@@ -104,92 +145,76 @@ public class AccountService {
         accountApproval.setUpdatedAt(LocalDateTime.now());
         accountApprovalRepository.save(accountApproval);
 
-
-        switch (request.getStatus()) {
-            case APPROVED -> {
-                account.setStatus(AccountStatus.ACTIVE);
-                accountRepository.save(account);
-                log.info("Account with ID {} activated successfully.", request.getAccountId());
-                return new GeneralResponse("Account approved successfully");
-            }
-            case REJECTED -> {
-                account.setStatus(AccountStatus.REJECTED);
-                accountRepository.save(account);
-                log.info("Account with ID {} rejected successfully.", request.getAccountId());
-                return new GeneralResponse("Account rejected.");
-            }
-            case PENDING -> {
-                log.info("Account approval status set back to pending for account id: {}", request.getAccountId());
-                return new GeneralResponse("Account approval status set back to pending.");
-            }
-            default -> {
-                log.warn("Invalid approval status provided: {}", request.getStatus());
-                throw new InvalidApprovalStatusException("Invalid approval status provided: " + request.getStatus());
-            }
+        if (accountStatus == null) {
+            log.info("Account approval status set back to pending for account id: {}", request.getAccountId());
+            return new GeneralResponse("Account approval status set back to pending.");
+        }
+        statusMachine.transition(account, accountStatus, reviewedBy, request.getComments());
+        accountRepository.save(account);
+        accountDetailsCache.invalidateAfterCommit(account.getId());
+        if (accountStatus == AccountStatus.ACTIVE) {
+            log.info("Account with ID {} activated successfully.", request.getAccountId());
+            return new GeneralResponse("Account approved successfully");
         }
+        log.info("Account with ID {} rejected successfully.", request.getAccountId());
+        return new GeneralResponse("Account rejected.");
     }
 
-    @Transactional
     public GeneralResponse freezeAccount(UUID adminId, StatusUpdateRequest request) {
         log.info("Freezing account: {}", request.getAccountId());
-        
-        Account account = accountRepository.findById(request.getAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + request.getAccountId()));
-        
-        if (account.getStatus() != AccountStatus.ACTIVE) {
-            throw new InvalidAccountStatusException("Only active accounts can be frozen");
-        }
-
-        account.setStatus(AccountStatus.FROZEN);
-        account.setStatusUpdateComment(request.getReason());
-        account.setLastModifiedBy(adminId);
-        
-        Account savedAccount = accountRepository.save(account);
-//        notificationService.notifyUserAccountFrozen(savedAccount);
-
+        changeStatus("freezeAccount", adminId, request.getAccountId(), AccountStatus.FROZEN, request.getReason());
         return new GeneralResponse("Account frozen successfully");
     }
 
-    @Transactional
     public GeneralResponse unfreezeAccount(UUID adminId, StatusUpdateRequest request) {
         log.info("Unfreezing account: {}", request.getAccountId());
-        
-        Account account = accountRepository.findById(request.getAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + request.getAccountId()));
-        
-        if (account.getStatus() != AccountStatus.FROZEN) {
-            throw new InvalidAccountStatusException("Only frozen accounts can be unfrozen");
-        }
+        changeStatus("unfreezeAccount", adminId, request.getAccountId(), AccountStatus.ACTIVE, request.getReason());
+        return new GeneralResponse("Account unfrozen successfully");
+    }
 
-        account.setStatus(AccountStatus.ACTIVE);
-        account.setStatusUpdateComment(request.getReason());
-        account.setLastModifiedBy(adminId);
-        
-        Account savedAccount = accountRepository.save(account);
-//        notificationService.notifyUserAccountUnfrozen(savedAccount);
+    /**
+     * Moves an account to any status the transition table allows from its current one. Pending
+     * accounts are left to the approval workflow, which also records the review.
+     */
+    public GeneralResponse updateStatus(UUID adminId, UUID accountId, StatusChangeRequest request) {
+        log.info("Changing status of account {} to {}", accountId, request.getStatus());
+        changeStatus("updateStatus", adminId, accountId, request.getStatus(), request.getReason());
+        return new GeneralResponse("Account status changed to " + request.getStatus());
+    }
 
-        return new GeneralResponse("Account unfrozen successfully");
+    private void changeStatus(String operation, UUID adminId, UUID accountId, AccountStatus target, String reason) {
+        optimisticRetry.execute(operation, () -> {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+            if (account.getStatus() == AccountStatus.PENDING_APPROVAL) {
+                throw new InvalidAccountStatusException("Account " + accountId + " is pending approval; review its approval instead");
+            }
+            statusMachine.transition(account, target, adminId, reason);
+            accountRepository.save(account);
+            accountDetailsCache.invalidateAfterCommit(accountId);
+            return account;
+        });
     }
 
     @Transactional(readOnly = true)
     public Page<AccountDto> getAccountsByUserId(UUID userId, Pageable pageable) {
         log.info("Fetching accounts summary for user: {}", userId);
-        Page<Account> accountsPage = accountRepository.findByUserId(userId, pageable);
-        return accountsPage.map(AccountDto::new);
+        return accountRepository.findDtosByUserId(userId, pageable);
     }
 
     @Transactional(readOnly = true)
     public Page<AccountDto> getAccountsByStatus(AccountStatus status, Pageable pageable) {
         log.info("Fetching accounts with status: {}", status);
-        Page<Account> accountsPage = accountRepository.findByStatus(status, pageable);
-        return accountsPage.map(AccountDto::new);
+        return accountRepository.findDtosByStatus(status, pageable);
     }
-    @Transactional(readOnly = true)
+    // Not transactional: a cache hit should not check out a connection
     public AccountDto getAccountDetails(UUID accountId) {
-        log.info("Fetching detailed account information for admin: {}", accountId);
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
-        return new AccountDto(account);
+        return accountDetailsCache.get(accountId, () -> {
+            log.info("Fetching detailed account information for admin: {}", accountId);
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+            return new AccountDto(account);
+        });
     }
 
     //Todo
@@ -220,7 +245,7 @@ public class AccountService {
 //        }
 //        if (request.getCurrency() != null) {
 //            // Only allow currency change if balance is zero
-//            if (account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
+//            if (!account.getBalance().isZero()) {
 //                throw new IllegalStateException("Cannot change currency for account with non-zero balance");
 //            }
 //            account.setCurrency(request.getCurrency());
@@ -233,69 +258,41 @@ public class AccountService {
 //        account.setUpdatedAt(LocalDateTime.now());
 //    }
 
-    @Transactional
     public GeneralResponse closeAccount(UUID adminId, StatusUpdateRequest request) {
         log.info("Closing account: {}", request.getAccountId());
-        
-        Account account = accountRepository.findById(request.getAccountId())
-                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + request.getAccountId()));
-        
-        if (account.getBalance().compareTo(BigDecimal.ZERO) != 0) {
-            throw new IllegalStateException("Cannot close account with non-zero balance");
-        }
-
-        account.setStatus(AccountStatus.CLOSED);
-        account.setStatusUpdateComment(request.getReason());
-        account.setLastModifiedBy(adminId);
-        
-        Account savedAccount = accountRepository.save(account);
-//        notificationService.notifyUserAccountClosed(savedAccount);
-
+        changeStatus("closeAccount", adminId, request.getAccountId(), AccountStatus.CLOSED, request.getReason());
         return new GeneralResponse("Account closed successfully");
     }
 
-    public Page<Account> searchAccounts(String username, AccountType type, AccountStatus status, Pageable pageable) {
-
-        List<UUID> userIds = getUserIdsFromUserService(username);
-
-        if(userIds.isEmpty()){
-            return Page.empty();
-        }
-
-        Specification<Account> specification = (root, query, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-
-            if(!userIds.isEmpty()){
-                predicates.add(root.get("user_id").in(userIds));
-            }
-            if(type != null){
-                predicates.add(criteriaBuilder.equal(root.get("account_type"),type));
-            }
-            if(status != null){
-                predicates.add(criteriaBuilder.equal(root.get("status"), status));
-            }
+    @Transactional(readOnly = true)
+    public Page<AccountDto> searchAccounts(String username, AccountType type, AccountStatus status, Pageable pageable) {
+        log.info("Searching accounts with filters: username={}, type={}, status={}", username, type, status);
+        return accountRepository.findDtos(AccountSpecifications.search(username, type, status), pageable);
+    }
 
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
+    @Transactional(readOnly = true)
+    public CursorPage<AccountDto> scrollAccountsByUserId(UUID userId, String cursor, int size) {
+        log.info("Scrolling accounts for user: {}", userId);
+        Specification<Account> specification = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("userId"), userId);
+        return scrollAccounts(specification, cursor, size);
+    }
 
-        return accountRepository.findAll(specification, pageable);
+    @Transactional(readOnly = true)
+    public CursorPage<AccountDto> scrollAccountsByStatus(AccountStatus status, String cursor, int size) {
+        log.info("Scrolling accounts with status: {}", status);
+        Specification<Account> specification = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("status"), status);
+        return scrollAccounts(specification, cursor, size);
+    }
 
+    @Transactional(readOnly = true)
+    public CursorPage<AccountDto> scrollSearchAccounts(String username, AccountType type, AccountStatus status, String cursor, int size) {
+        log.info("Scrolling accounts with filters: username={}, type={}, status={}", username, type, status);
+        return scrollAccounts(AccountSpecifications.search(username, type, status), cursor, size);
     }
 
-    public List<UUID> getUserIdsFromUserService(String username){
-        try {
-            List<UUID> userResponses = userServiceClient.searchUsers(username);
-            if(userResponses != null){
-                return userResponses;
-            }
-            else {
-                log.warn("User service returned null response.");
-                return List.of();
-            }
-        } catch (Exception ex) {
-            log.error("Error calling user service:", ex);
-            return List.of();
-        }
+    private CursorPage<AccountDto> scrollAccounts(Specification<Account> specification, String cursor, int size) {
+        return KeysetPagination.scroll((seek, limit) -> accountRepository.findDtos(seek, KeysetCursor.SORT, limit),
+                specification, cursor, size, AccountDto::getCreatedAt, AccountDto::getId);
     }
 
-}
\ No newline at end of file
+}
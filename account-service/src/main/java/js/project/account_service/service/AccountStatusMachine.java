@@ -0,0 +1,135 @@
+package js.project.account_service.service;
+
+import js.project.account_service.exception.InvalidAccountStatusException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.event.AccountStatusChangedEvent;
+import js.project.account_service.repository.AccountRepository.AccountOwner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static js.project.account_service.model.enums.AccountStatus.*;
+
+/**
+ * The single place that decides which status changes an account may go through. Allowed moves are
+ * a table built once at startup, an {@link EnumSet} per source status (one bitmask word), so a
+ * check is a bit test rather than a chain of {@code if}s spread over the service methods. Guards
+ * add the rules that depend on more than the two statuses, such as a zero balance before closing.
+ * <p>
+ * Every applied change publishes an {@link AccountStatusChangedEvent}.
+ */
+@Component
+@Slf4j
+public class AccountStatusMachine {
+
+    @FunctionalInterface
+    public interface TransitionGuard {
+        /** Throws {@link InvalidAccountStatusException} when the account may not move to {@code target}. */
+        void check(Account account, AccountStatus target);
+    }
+
+    private final Map<AccountStatus, Set<AccountStatus>> transitions = new EnumMap<>(AccountStatus.class);
+    private final Map<AccountStatus, Set<AccountStatus>> sources = new EnumMap<>(AccountStatus.class);
+    private final Map<AccountStatus, List<TransitionGuard>> guards = new EnumMap<>(AccountStatus.class);
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AccountStatusMachine(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        for (AccountStatus status : AccountStatus.values()) {
+            transitions.put(status, EnumSet.noneOf(AccountStatus.class));
+            sources.put(status, EnumSet.noneOf(AccountStatus.class));
+            guards.put(status, new ArrayList<>());
+        }
+        allow(PENDING_APPROVAL, ACTIVE, REJECTED);
+        allow(ACTIVE, FROZEN, CLOSED);
+        allow(FROZEN, ACTIVE, CLOSED);
+        // REJECTED and CLOSED are terminal
+
+        guard(CLOSED, (account, target) -> {
+            if (!account.getBalance().isZero()) {
+                throw new InvalidAccountStatusException("Cannot close account with non-zero balance");
+            }
+        });
+        transitions.replaceAll((status, targets) -> Collections.unmodifiableSet(targets));
+        sources.replaceAll((status, from) -> Collections.unmodifiableSet(from));
+    }
+
+    private void allow(AccountStatus from, AccountStatus... targets) {
+        for (AccountStatus target : targets) {
+            transitions.get(from).add(target);
+            sources.get(target).add(from);
+        }
+    }
+
+    private void guard(AccountStatus target, TransitionGuard guard) {
+        guards.get(target).add(guard);
+    }
+
+    public boolean canTransition(AccountStatus from, AccountStatus to) {
+        return transitions.get(from).contains(to);
+    }
+
+    public Set<AccountStatus> targetsOf(AccountStatus from) {
+        return transitions.get(from);
+    }
+
+    /** Statuses an account may be in to move to {@code target}; the status guard for set-based updates. */
+    public Set<AccountStatus> sourcesOf(AccountStatus target) {
+        return sources.get(target);
+    }
+
+    public void requireTransition(AccountStatus from, AccountStatus to) {
+        if (!canTransition(from, to)) {
+            throw new InvalidAccountStatusException("Account status cannot change from " + from + " to " + to);
+        }
+    }
+
+    /**
+     * Checks the move against the table and the guards, applies it to the (managed) account and
+     * publishes the event. Leaves the account untouched when the move is not allowed.
+     */
+    public AccountStatusChangedEvent transition(Account account, AccountStatus target, UUID changedBy, String reason) {
+        AccountStatus from = account.getStatus();
+        requireTransition(from, target);
+        for (TransitionGuard guard : guards.get(target)) {
+            guard.check(account, target);
+        }
+        account.setStatus(target);
+        account.setStatusUpdateComment(reason);
+        account.setLastModifiedBy(changedBy);
+
+        AccountStatusChangedEvent event = new AccountStatusChangedEvent(account.getId(), account.getUserId(), from, target, changedBy,
+                reason, LocalDateTime.now());
+        log.info("Account {} status {} -> {} by {}", account.getId(), from, target, changedBy);
+        eventPublisher.publishEvent(event);
+        return event;
+    }
+
+    /**
+     * Publishes the events for a set-based update that already moved {@code accounts} from
+     * {@code from} to {@code to}. Guards are not run; callers only use this for moves that have none.
+     */
+    public void transitioned(Collection<AccountOwner> accounts, AccountStatus from, AccountStatus to, UUID changedBy,
+                             String reason, LocalDateTime changedAt) {
+        requireTransition(from, to);
+        if (!guards.get(to).isEmpty()) {
+            throw new IllegalArgumentException("Transition to " + to + " is guarded and cannot be applied in bulk");
+        }
+        for (AccountOwner account : accounts) {
+            eventPublisher.publishEvent(new AccountStatusChangedEvent(account.getId(), account.getUserId(), from, to,
+                    changedBy, reason, changedAt));
+        }
+    }
+}
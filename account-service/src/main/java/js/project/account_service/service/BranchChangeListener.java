@@ -0,0 +1,29 @@
+package js.project.account_service.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import js.project.account_service.model.BankBranch;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Entity listener on {@link BankBranch}: whatever code path creates, edits or deletes a branch
+ * through JPA, the {@link BranchDirectory} is dropped once that write commits. Hibernate builds
+ * the listener through Spring, so the directory is injected; contexts without one (repository
+ * slices) simply skip it.
+ */
+public class BranchChangeListener {
+
+    private final ObjectProvider<BranchDirectory> branchDirectory;
+
+    public BranchChangeListener(ObjectProvider<BranchDirectory> branchDirectory) {
+        this.branchDirectory = branchDirectory;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void branchChanged(BankBranch branch) {
+        branchDirectory.ifAvailable(BranchDirectory::invalidateAfterCommit);
+    }
+}
@@ -0,0 +1,157 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.model.dto.BankBranchDto;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.util.LruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory view of all bank branches keyed by branch code. Readers get an immutable snapshot with a
+ * single volatile read; a refresh builds a new map and swaps it in. Branches change rarely, so the
+ * snapshot is reloaded on a fixed schedule, and {@link BranchChangeListener} drops it whenever a
+ * branch is written on this instance. A lookup for an unknown code falls through to the database, so
+ * a branch added by another instance is visible before the next scheduled refresh; a code that is
+ * not there either is remembered for {@code miss-ttl}, so repeated requests naming a bad code do not
+ * each cost a query.
+ * <p>
+ * Refreshes, invalidations and the entries added by lookups are serialized on this object, and a
+ * lookup only records what it read if no refresh or invalidation happened while it was reading.
+ * <p>
+ * Meters: {@code account.branch.directory.hits}, {@code .misses}, {@code .negative.hits},
+ * {@code .refreshes} and {@code .size}.
+ */
+@Component
+@Slf4j
+public class BranchDirectory {
+
+    private static final int MAX_REMEMBERED_MISSES = 1000;
+
+    private final BankBranchRepository bankBranchRepository;
+    private final long missTtlNanos;
+    private final LongSupplier clock;
+    private final LruCache<String, Long> missedAt = new LruCache<>(MAX_REMEMBERED_MISSES);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter negativeHits;
+    private final Counter refreshes;
+
+    private volatile Map<String, BankBranchDto> branches = Map.of();
+    // Bumped by every refresh and invalidation; guarded by this
+    private long generation;
+
+    @Autowired
+    public BranchDirectory(BankBranchRepository bankBranchRepository, MeterRegistry meterRegistry,
+                           @Value("${account.branch-directory.miss-ttl:PT30S}") Duration missTtl) {
+        this(bankBranchRepository, meterRegistry, missTtl, System::nanoTime);
+    }
+
+    BranchDirectory(BankBranchRepository bankBranchRepository, MeterRegistry meterRegistry, Duration missTtl,
+                    LongSupplier clock) {
+        this.bankBranchRepository = bankBranchRepository;
+        this.missTtlNanos = missTtl.toNanos();
+        this.clock = clock;
+        this.hits = meterRegistry.counter("account.branch.directory.hits");
+        this.misses = meterRegistry.counter("account.branch.directory.misses");
+        this.negativeHits = meterRegistry.counter("account.branch.directory.negative.hits");
+        this.refreshes = meterRegistry.counter("account.branch.directory.refreshes");
+        Gauge.builder("account.branch.directory.size", this, directory -> directory.branches.size())
+                .register(meterRegistry);
+    }
+
+    public Optional<BankBranchDto> findByBranchCode(String branchCode) {
+        BankBranchDto branch = branches.get(branchCode);
+        if (branch != null) {
+            hits.increment();
+            return Optional.of(branch);
+        }
+
+        long now = clock.getAsLong();
+        Long missed = missedAt.get(branchCode);
+        if (missed != null && now - missed < missTtlNanos) {
+            negativeHits.increment();
+            return Optional.empty();
+        }
+
+        misses.increment();
+        long readGeneration = generation();
+        Optional<BankBranchDto> loaded = bankBranchRepository.findByBranchCode(branchCode).map(BankBranchDto::new);
+        synchronized (this) {
+            if (generation == readGeneration) {
+                if (loaded.isPresent()) {
+                    put(loaded.get());
+                } else {
+                    missedAt.put(branchCode, now);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${account.branch-directory.refresh-interval:PT5M}",
+            initialDelayString = "${account.branch-directory.refresh-interval:PT5M}")
+    public synchronized void refresh() {
+        Map<String, BankBranchDto> loaded = bankBranchRepository.findAll().stream()
+                .map(BankBranchDto::new)
+                .collect(Collectors.toUnmodifiableMap(BankBranchDto::branchCode, Function.identity(), (first, second) -> first));
+        generation++;
+        branches = loaded;
+        missedAt.clear();
+        refreshes.increment();
+        log.info("Branch directory refreshed with {} branches", loaded.size());
+    }
+
+    /**
+     * Drops everything this instance knows about branches once the current transaction commits, or
+     * right away when there is none. Lookups fall through to the database until the next refresh.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    private synchronized void invalidate() {
+        generation++;
+        branches = Map.of();
+        missedAt.clear();
+        log.info("Branch directory invalidated");
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    // Caller holds the lock
+    private void put(BankBranchDto branch) {
+        Map<String, BankBranchDto> updated = new HashMap<>(branches);
+        updated.put(branch.branchCode(), branch);
+        branches = Map.copyOf(updated);
+    }
+}
@@ -0,0 +1,57 @@
+package js.project.account_service.service;
+
+import js.project.account_service.exception.AccountNumberExhaustedException;
+import js.project.account_service.model.BranchSerialSequence;
+import js.project.account_service.repository.BranchSerialSequenceRepository;
+import js.project.account_service.util.AccountNumberGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BranchSerialBlockService {
+
+    private final BranchSerialSequenceRepository branchSerialSequenceRepository;
+
+    /**
+     * A contiguous run of serials {@code [first, first + size)} reserved for one instance, plus how
+     * many serials the branch has left after it.
+     */
+    public record SerialBlock(long first, int size, long remaining) {
+    }
+
+    /**
+     * Reserves up to {@code size} serials for the branch. Runs in its own short transaction so the
+     * branch row lock is released as soon as the counter moves, independent of the account-creation
+     * transaction that triggered the refill. Returns a smaller block when the branch is close to its
+     * limit and throws once nothing is left, instead of wrapping around to serials already in use.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public SerialBlock reserveBlock(String branchCode, int size) {
+        BranchSerialSequence sequence = branchSerialSequenceRepository.findByBranchCodeForUpdate(branchCode)
+                .orElseGet(() -> branchSerialSequenceRepository.saveAndFlush(BranchSerialSequence.builder()
+                        .branchCode(branchCode)
+                        .nextValue(1)
+                        .maxValue(AccountNumberGenerator.MAX_SERIAL)
+                        .build()));
+
+        long available = sequence.getMaxValue() - sequence.getNextValue() + 1;
+        if (available <= 0) {
+            log.error("Account serial space exhausted for branch {}", branchCode);
+            throw new AccountNumberExhaustedException("Account numbers exhausted for branch: " + branchCode);
+        }
+
+        int granted = (int) Math.min(size, available);
+        long first = sequence.getNextValue();
+        sequence.setNextValue(first + granted);
+        branchSerialSequenceRepository.save(sequence);
+
+        long remaining = available - granted;
+        log.info("Reserved serials {}..{} for branch {} ({} left)", first, first + granted - 1, branchCode, remaining);
+        return new SerialBlock(first, granted, remaining);
+    }
+}
@@ -0,0 +1,153 @@
+package js.project.account_service.service;
+
+import jakarta.persistence.EntityManager;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.AccountApproval;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AccountSummaryDto;
+import js.project.account_service.model.dto.BankBranchDto;
+import js.project.account_service.model.dto.BulkAccountResultDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.ApprovalStatus;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.event.AccountCreatedEvent;
+import js.project.account_service.model.request.CreateAccountRequest;
+import js.project.account_service.util.AccountNumberCodec;
+import js.project.account_service.util.AccountSerialAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Opens many accounts in one transaction. Items are checked in memory first (branch, currency,
+ * amount); the ones that fail are reported and skipped without touching the database. The request
+ * as a whole is then checked once against the BULK_ACCOUNT_OPEN velocity rules, since a corporate
+ * opening of thousands of accounts is one operation, not thousands of single openings. Serials for the rest are reserved per branch in one go, and accounts, their opening
+ * balance entries and approvals are persisted so that Hibernate can send them as JDBC batches: ids are generated client-side, inserts are ordered by
+ * entity ({@code hibernate.order_inserts}), and the persistence context is flushed and cleared every
+ * {@code hibernate.jdbc.batch_size} accounts to keep it small.
+ */
+@Service
+@Slf4j
+public class BulkAccountService {
+
+    private final EntityManager entityManager;
+    private final BranchDirectory branchDirectory;
+    private final AccountSerialAllocator accountSerialAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VelocityRuleEngine velocityRules;
+    private final int batchSize;
+
+    public BulkAccountService(EntityManager entityManager, BranchDirectory branchDirectory,
+                              AccountSerialAllocator accountSerialAllocator, ApplicationEventPublisher eventPublisher,
+                              VelocityRuleEngine velocityRules,
+                              @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.entityManager = entityManager;
+        this.branchDirectory = branchDirectory;
+        this.accountSerialAllocator = accountSerialAllocator;
+        this.eventPublisher = eventPublisher;
+        this.velocityRules = velocityRules;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public List<BulkAccountResultDto> createAccounts(UUID userId, List<CreateAccountRequest> requests) {
+        log.info("Creating {} accounts in bulk for user with ID: {}", requests.size(), userId);
+
+        BulkAccountResultDto[] results = new BulkAccountResultDto[requests.size()];
+        Money[] balances = new Money[requests.size()];
+        Map<String, List<Integer>> itemsByBranch = new LinkedHashMap<>();
+        Map<String, BankBranchDto> branches = new HashMap<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateAccountRequest request = requests.get(i);
+            Optional<BankBranchDto> branch = branchDirectory.findByBranchCode(request.getBranchCode());
+            if (branch.isEmpty()) {
+                results[i] = failed(i, "Branch not found with branch code: " + request.getBranchCode());
+                continue;
+            }
+            try {
+                balances[i] = Money.of(request.getBalance(), request.getCurrency());
+            } catch (IllegalArgumentException ex) {
+                results[i] = failed(i, ex.getMessage());
+                continue;
+            }
+            branches.putIfAbsent(request.getBranchCode(), branch.get());
+            itemsByBranch.computeIfAbsent(request.getBranchCode(), code -> new ArrayList<>()).add(i);
+        }
+
+        long totalMinor = 0;
+        for (List<Integer> items : itemsByBranch.values()) {
+            for (int index : items) {
+                totalMinor += balances[index].minorUnits();
+            }
+        }
+        VelocityRuleEngine.Assessment risk = itemsByBranch.isEmpty()
+                ? VelocityRuleEngine.Assessment.ALLOW
+                : velocityRules.assess(VelocityOperation.BULK_ACCOUNT_OPEN, userId, null, totalMinor);
+        if (risk.blocked()) {
+            for (List<Integer> items : itemsByBranch.values()) {
+                for (int index : items) {
+                    results[index] = failed(index, "Bulk account opening limit reached for user: " + userId);
+                }
+            }
+            itemsByBranch.clear();
+        }
+
+        int persisted = 0;
+        for (Map.Entry<String, List<Integer>> branchItems : itemsByBranch.entrySet()) {
+            BankBranchDto branch = branches.get(branchItems.getKey());
+            List<Integer> items = branchItems.getValue();
+            long[] serials = accountSerialAllocator.nextSerials(branch.branchCode(), items.size());
+
+            for (int j = 0; j < items.size(); j++) {
+                int index = items.get(j);
+                CreateAccountRequest request = requests.get(index);
+                Account account = Account.builder()
+                        .userId(userId)
+                        .accountNumber(AccountNumberCodec.encode(branch.branchCode(), serials[j]))
+                        .accountType(request.getAccountType())
+                        .balance(balances[index])
+                        .bankBranch(entityManager.getReference(BankBranch.class, branch.id()))
+                        .lastModifiedBy(userId)
+                        .status(AccountStatus.PENDING_APPROVAL)
+                        .build();
+                entityManager.persist(account);
+                LedgerService.openingBalanceEntries(account, userId).forEach(entityManager::persist);
+                entityManager.persist(AccountApproval.builder()
+                        .accountId(account.getId())
+                        .status(ApprovalStatus.PENDING)
+                        .requestedBy(userId)
+                        .riskDecision(risk.decision())
+                        .riskFlags(risk.flags())
+                        .build());
+                eventPublisher.publishEvent(new AccountCreatedEvent(account.getId(), userId, account.getAccountNumber(),
+                        account.getStatus(), account.getCreatedAt()));
+                results[index] = BulkAccountResultDto.builder()
+                        .index(index)
+                        .created(true)
+                        .account(new AccountSummaryDto(account))
+                        .build();
+
+                if (++persisted % batchSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        log.info("Bulk opening for user {} created {} of {} accounts", userId, persisted, requests.size());
+        return Arrays.asList(results);
+    }
+
+    private BulkAccountResultDto failed(int index, String error) {
+        return BulkAccountResultDto.builder().index(index).created(false).error(error).build();
+    }
+}
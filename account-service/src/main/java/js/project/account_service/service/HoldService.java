@@ -0,0 +1,218 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.exception.AccountNotFoundException;
+import js.project.account_service.exception.HoldNotFoundException;
+import js.project.account_service.exception.InsufficientFundsException;
+import js.project.account_service.exception.InvalidAccountStatusException;
+import js.project.account_service.exception.InvalidHoldStatusException;
+import js.project.account_service.exception.InvalidTransactionException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.Hold;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AvailableBalanceDto;
+import js.project.account_service.model.dto.HoldDto;
+import js.project.account_service.model.dto.TransactionDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.HoldStatus;
+import js.project.account_service.model.request.CaptureHoldRequest;
+import js.project.account_service.model.request.PlaceHoldRequest;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.HoldRepository;
+import js.project.account_service.util.StripedAccountLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Places, captures and releases holds. The running total of an account's active holds is kept on
+ * the account row ({@link Account#getReservedMinor()}) and changed in the same transaction as the
+ * hold, with the account row locked first and then the hold, so every instance sees committed,
+ * matching figures. Changes also run under the account's lock stripe, like the ledger postings,
+ * so requests on one account inside an instance queue on the JVM lock rather than the row lock.
+ */
+@Service
+@Slf4j
+public class HoldService {
+
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerService ledgerService;
+    private final StripedAccountLock accountLock;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Counter placed;
+    private final Counter captured;
+    private final Counter released;
+    private final Counter expired;
+
+    public HoldService(HoldRepository holdRepository, AccountRepository accountRepository, LedgerService ledgerService,
+                       StripedAccountLock accountLock,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                       @Value("${account.hold.ttl:P7D}") Duration ttl) {
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.ledgerService = ledgerService;
+        this.accountLock = accountLock;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.placed = Counter.builder("account.holds").tag("result", "placed").register(meterRegistry);
+        this.captured = Counter.builder("account.holds").tag("result", "captured").register(meterRegistry);
+        this.released = Counter.builder("account.holds").tag("result", "released").register(meterRegistry);
+        this.expired = Counter.builder("account.holds").tag("result", "expired").register(meterRegistry);
+    }
+
+    public HoldDto placeHold(UUID initiatedBy, UUID accountId, PlaceHoldRequest request) {
+        log.info("Placing hold of {} on account {}", request.getAmount(), accountId);
+        return accountLock.withLock(accountId, () -> {
+            Hold hold = transactionTemplate.execute(status -> {
+                Account account = lockAccount(accountId);
+                if (account.getStatus() != AccountStatus.ACTIVE) {
+                    throw new InvalidAccountStatusException("Account " + accountId + " is not active");
+                }
+                Money amount = toMoney(request.getAmount(), account.getCurrency());
+                if (account.getAvailableBalance().isLessThan(amount)) {
+                    throw new InsufficientFundsException("Insufficient available funds in account: " + accountId);
+                }
+                LocalDateTime now = LocalDateTime.now();
+                account.setReservedMinor(account.getReservedMinor() + amount.minorUnits());
+                return holdRepository.save(Hold.builder()
+                        .accountId(accountId)
+                        .amount(amount)
+                        .status(HoldStatus.ACTIVE)
+                        .description(request.getDescription())
+                        .createdBy(initiatedBy)
+                        .expiresAt(now.plus(ttl))
+                        .build());
+            });
+            placed.increment();
+            log.info("Placed hold {} of {} on account {}", hold.getId(), hold.getAmount(), accountId);
+            return new HoldDto(hold);
+        });
+    }
+
+    /** Posts {@code request.amount} (the whole hold when absent) to the ledger and releases the rest. */
+    public TransactionDto captureHold(UUID initiatedBy, UUID accountId, UUID holdId, CaptureHoldRequest request) {
+        log.info("Capturing hold {} on account {}", holdId, accountId);
+        return accountLock.withLock(accountId, () -> {
+            TransactionDto transaction = transactionTemplate.execute(status -> {
+                Account account = lockAccount(accountId);
+                Hold hold = lockActiveHold(accountId, holdId);
+                Money amount = request.getAmount() == null ? hold.getAmount() : toMoney(request.getAmount(), account.getCurrency());
+                if (hold.getAmount().isLessThan(amount)) {
+                    throw new InvalidTransactionException("Capture of " + amount + " exceeds hold of " + hold.getAmount());
+                }
+                String description = request.getDescription() != null ? request.getDescription() : hold.getDescription();
+                unreserve(account, hold);
+                TransactionDto posted = ledgerService.postHoldCapture(initiatedBy, account, amount, description);
+                hold.setStatus(HoldStatus.CAPTURED);
+                hold.setCapturedAmount(amount);
+                hold.setTransactionId(posted.getTransactionId());
+                hold.setResolvedAt(LocalDateTime.now());
+                return posted;
+            });
+            captured.increment();
+            return transaction;
+        });
+    }
+
+    public HoldDto releaseHold(UUID accountId, UUID holdId) {
+        log.info("Releasing hold {} on account {}", holdId, accountId);
+        HoldDto hold = resolve(accountId, holdId, HoldStatus.RELEASED);
+        released.increment();
+        return hold;
+    }
+
+    @Transactional(readOnly = true)
+    public List<HoldDto> getActiveHolds(UUID accountId) {
+        log.info("Fetching active holds for account: {}", accountId);
+        return holdRepository.findByAccountIdAndStatusOrderByCreatedAt(accountId, HoldStatus.ACTIVE).stream()
+                .map(HoldDto::new)
+                .toList();
+    }
+
+    public AvailableBalanceDto getAvailableBalance(UUID accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+        Money available = account.getAvailableBalance();
+        return new AvailableBalanceDto(accountId, account.getBalance(), account.getBalance().minus(available), available);
+    }
+
+    @Scheduled(fixedDelayString = "${account.hold.expiry-interval:PT1M}",
+            initialDelayString = "${account.hold.expiry-interval:PT1M}")
+    public void expireHolds() {
+        List<Hold> due;
+        do {
+            due = holdRepository.findExpired(LocalDateTime.now(), Limit.of(EXPIRY_BATCH_SIZE));
+            for (Hold hold : due) {
+                try {
+                    resolve(hold.getAccountId(), hold.getId(), HoldStatus.EXPIRED);
+                    expired.increment();
+                } catch (InvalidHoldStatusException ex) {
+                    log.debug("Hold {} was resolved before it expired", hold.getId());
+                } catch (RuntimeException ex) {
+                    // one bad hold must not stop the sweep; it is picked up again on the next run
+                    log.warn("Failed to expire hold {} on account {}", hold.getId(), hold.getAccountId(), ex);
+                }
+            }
+        } while (due.size() == EXPIRY_BATCH_SIZE);
+    }
+
+    private HoldDto resolve(UUID accountId, UUID holdId, HoldStatus target) {
+        return accountLock.withLock(accountId, () -> {
+            Hold hold = transactionTemplate.execute(status -> {
+                Account account = lockAccount(accountId);
+                Hold locked = lockActiveHold(accountId, holdId);
+                unreserve(account, locked);
+                locked.setStatus(target);
+                locked.setResolvedAt(LocalDateTime.now());
+                return locked;
+            });
+            return new HoldDto(hold);
+        });
+    }
+
+    private Account lockAccount(UUID accountId) {
+        return accountRepository.findAllByIdForUpdate(List.of(accountId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+    }
+
+    private void unreserve(Account account, Hold hold) {
+        long reserved = account.getReservedMinor() - hold.getAmount().minorUnits();
+        if (reserved < 0) {
+            throw new IllegalStateException("Hold " + hold.getId() + " releases more than is reserved on account " + account.getId());
+        }
+        account.setReservedMinor(reserved);
+    }
+
+    private Hold lockActiveHold(UUID accountId, UUID holdId) {
+        Hold hold = holdRepository.findByIdForUpdate(holdId, accountId)
+                .orElseThrow(() -> new HoldNotFoundException("Hold " + holdId + " not found on account " + accountId));
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new InvalidHoldStatusException("Hold " + holdId + " is already " + hold.getStatus());
+        }
+        return hold;
+    }
+
+    private Money toMoney(BigDecimal amount, String currency) {
+        try {
+            return Money.of(amount, currency);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTransactionException(ex.getMessage());
+        }
+    }
+}
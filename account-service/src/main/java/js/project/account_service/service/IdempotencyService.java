@@ -0,0 +1,277 @@
+package js.project.account_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import js.project.account_service.exception.IdempotencyKeyInProgressException;
+import js.project.account_service.exception.IdempotencyKeyReusedException;
+import js.project.account_service.model.IdempotencyRecord;
+import js.project.account_service.model.enums.IdempotencyStatus;
+import js.project.account_service.repository.IdempotencyRecordRepository;
+import js.project.account_service.util.ExpiringLruCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Makes retried requests that carry an {@code Idempotency-Key} return the first response instead of
+ * running again. Completed responses are kept in a local LRU with a TTL, and requests racing on one
+ * key inside this instance wait for the one that got there first. Across instances the key is
+ * claimed by inserting an IN_PROGRESS row, so exactly one instance runs the request, and the others
+ * poll the row for the stored response.
+ * <p>
+ * A request that fails releases its key, so the client's retry runs it again. While a request runs,
+ * its instance renews the in-progress lease every third of the lease, so a slow request keeps its
+ * key; only a claim left behind by a crashed instance expires and can then be taken over.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private static final long POLL_INTERVAL_MS = 50;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inProgressLease;
+    private final Duration waitTimeout;
+    private final ExpiringLruCache<String, Completed> completed;
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter replays;
+    private final Counter executions;
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-lease-renewer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IdempotencyService(IdempotencyRecordRepository repository, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                              @Value("${account.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${account.idempotency.in-progress-lease:PT30S}") Duration inProgressLease,
+                              @Value("${account.idempotency.wait-timeout:PT5S}") Duration waitTimeout,
+                              @Value("${account.idempotency.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.inProgressLease = inProgressLease;
+        this.waitTimeout = waitTimeout;
+        this.completed = new ExpiringLruCache<>(cacheSize, ttl.toNanos(), System::nanoTime);
+        this.replays = Counter.builder("account.idempotency.requests").tag("result", "replayed").register(meterRegistry);
+        this.executions = Counter.builder("account.idempotency.requests").tag("result", "executed").register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code action} once per {@code (operation, caller, key)} and returns its result to every
+     * request with the same key. Without a key the action simply runs.
+     *
+     * @param request what the caller sent, including path parameters; a key reused for a different
+     *                request is rejected
+     */
+    public <T> T execute(String operation, UUID caller, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = operation + ":" + caller + ":" + key;
+        String fingerprint = fingerprint(operation, request);
+
+        Completed done = completed.get(id);
+        if (done != null) {
+            requireSameRequest(done.fingerprint(), fingerprint, key);
+            replays.increment();
+            return responseType.cast(done.response());
+        }
+
+        Flight mine = new Flight(fingerprint, new CompletableFuture<>());
+        Flight running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            requireSameRequest(running.fingerprint(), fingerprint, key);
+            replays.increment();
+            return responseType.cast(await(running.response(), key));
+        }
+        try {
+            T response = runClaimed(id, key, fingerprint, responseType, action);
+            completed.put(id, new Completed(fingerprint, response));
+            mine.response().complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            mine.response().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    private <T> T runClaimed(String id, String key, String fingerprint, Class<T> responseType, Supplier<T> action) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        LocalDateTime now;
+        while (true) {
+            // the claim's createdAt is its token, so keep it at the precision the database stores
+            now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            if (repository.claim(id, fingerprint, now, now.plus(inProgressLease)) == 1) {
+                break;
+            }
+            IdempotencyRecord record = repository.findById(id).orElse(null);
+            if (record == null) {
+                continue; // released by a failed attempt in between; claim again
+            }
+            if (record.getExpiresAt().isBefore(now)) {
+                if (repository.takeOver(id, fingerprint, now, now.plus(inProgressLease)) == 1) {
+                    break;
+                }
+                continue;
+            }
+            requireSameRequest(record.getFingerprint(), fingerprint, key);
+            if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+                replays.increment();
+                return deserialize(record.getResponseBody(), responseType);
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IdempotencyKeyInProgressException("A request with Idempotency-Key " + key + " is still being processed");
+            }
+            sleep(key);
+        }
+
+        LocalDateTime claimedAt = now;
+        AtomicBoolean finished = new AtomicBoolean();
+        long renewEvery = Math.max(1, inProgressLease.toMillis() / 3);
+        ScheduledFuture<?> renewal = leaseRenewer.scheduleAtFixedRate(() -> renew(id, claimedAt, finished),
+                renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            finished.set(true);
+            renewal.cancel(false);
+            repository.release(id, claimedAt);
+            throw ex;
+        }
+        finished.set(true);
+        renewal.cancel(false);
+        executions.increment();
+        // The action has already committed and this write runs in its own transaction. A crash in
+        // between leaves the claim IN_PROGRESS; once its lease expires a retry takes it over and
+        // runs the action a second time.
+        if (repository.complete(id, claimedAt, serialize(response), LocalDateTime.now().plus(ttl)) == 0) {
+            log.warn("Idempotency key {} was taken over before its request finished; the response was not stored", key);
+        }
+        return response;
+    }
+
+    // cancel() does not wait for a renewal already running, so one can land after the claim was
+    // completed or released; finished is set before either, which makes its 0 rows benign
+    private void renew(String id, LocalDateTime claimedAt, AtomicBoolean finished) {
+        try {
+            if (repository.renew(id, claimedAt, LocalDateTime.now().plus(inProgressLease)) == 0 && !finished.get()) {
+                log.warn("Lost the in-progress lease on idempotency key {}", id);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to renew the in-progress lease on idempotency key {}", id, ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${account.idempotency.purge-interval:PT10M}",
+            initialDelayString = "${account.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = repository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+
+    private Object await(CompletableFuture<Object> response, String key) {
+        try {
+            return response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotencyKeyInProgressException("A request with Idempotency-Key " + key + " is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted while waiting for Idempotency-Key " + key);
+        }
+    }
+
+    private static void sleep(String key) {
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException("Interrupted while waiting for Idempotency-Key " + key);
+        }
+    }
+
+    private static void requireSameRequest(String stored, String fingerprint, String key) {
+        if (!stored.equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot fingerprint request for " + operation, ex);
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot store idempotent response", ex);
+        }
+    }
+
+    private <T> T deserialize(String body, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(body, responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot read stored idempotent response", ex);
+        }
+    }
+
+    private record Completed(String fingerprint, Object response) {
+    }
+
+    private record Flight(String fingerprint, CompletableFuture<Object> response) {
+    }
+}
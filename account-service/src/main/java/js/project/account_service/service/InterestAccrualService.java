@@ -0,0 +1,361 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.AccrualPartition;
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AccrualRunDto;
+import js.project.account_service.model.dto.AccrualRunStatusDto;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.AccrualPartitionStatus;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.TransactionType;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.AccrualPartitionRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Credits one day of interest to every ACTIVE savings and fixed-deposit account with a positive
+ * balance, posting a balanced INTEREST transaction per account against the bank's cash ledger.
+ * <p>
+ * A run splits the account id space into {@code partitions} equal ranges, stored as
+ * {@link AccrualPartition} rows. Workers of a bounded pool (and of any other instance running the
+ * same date) lease partitions with a guarded update, then walk them in primary-key order one
+ * chunk per transaction: lock the chunk, add the interest, write the ledger entries and move the
+ * partition checkpoint, all in the same commit. Hibernate sends the balance updates and ledger
+ * inserts as JDBC batches. A crash loses at most the chunk in flight; once its lease runs out the
+ * partition is claimed again and resumes after the checkpoint, so no account is credited twice
+ * for a date.
+ */
+@Service
+@Slf4j
+public class InterestAccrualService {
+
+    private static final BigDecimal DAYS_IN_YEAR = BigDecimal.valueOf(365);
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    private final AccrualPartitionRepository partitionRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountDetailsCache accountDetailsCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<AccountType, BigDecimal> annualRates = new EnumMap<>(AccountType.class);
+    private final int partitions;
+    private final int workers;
+    private final int chunkSize;
+    private final Duration lease;
+    private final Counter accountsAccrued;
+    private final AtomicInteger workerSequence = new AtomicInteger();
+    private final Set<LocalDate> requestedRuns = ConcurrentHashMap.newKeySet();
+    private final ExecutorService requestedRunner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "interest-accrual-requested");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InterestAccrualService(AccrualPartitionRepository partitionRepository, AccountRepository accountRepository,
+                                  LedgerEntryRepository ledgerEntryRepository, AccountDetailsCache accountDetailsCache,
+                                  TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                  @Value("${account.interest.savings-rate:0.035}") BigDecimal savingsRate,
+                                  @Value("${account.interest.fixed-deposit-rate:0.065}") BigDecimal fixedDepositRate,
+                                  @Value("${account.interest.partitions:64}") int partitions,
+                                  @Value("${account.interest.workers:4}") int workers,
+                                  @Value("${account.interest.chunk-size:500}") int chunkSize,
+                                  @Value("${account.interest.lease:PT5M}") Duration lease) {
+        this.partitionRepository = partitionRepository;
+        this.accountRepository = accountRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountDetailsCache = accountDetailsCache;
+        this.transactionTemplate = transactionTemplate;
+        this.annualRates.put(AccountType.SAVINGS, savingsRate);
+        this.annualRates.put(AccountType.FIXED_DEPOSIT, fixedDepositRate);
+        this.partitions = partitions;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.accountsAccrued = meterRegistry.counter("account.interest.accrued");
+    }
+
+    /**
+     * Accrues yesterday's interest after midnight, finishing any earlier run that an outage left
+     * incomplete first.
+     */
+    @Scheduled(cron = "${account.interest.cron:0 30 0 * * *}")
+    public void accrueNightly() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (LocalDate unfinished : partitionRepository.findUnfinishedRunDates()) {
+            if (unfinished.isBefore(yesterday)) {
+                accrue(unfinished);
+            }
+        }
+        accrue(yesterday);
+    }
+
+    public AccrualRunDto accrue(LocalDate runDate) {
+        return accrue(runDate, workers);
+    }
+
+    /**
+     * Plans the accrual for {@code runDate}, a day that has already ended, and runs or resumes it in
+     * the background. Requests for a day whose run is still going in this instance do not start a
+     * second one.
+     */
+    public AccrualRunStatusDto startAccrual(LocalDate runDate) {
+        if (!runDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Interest can only be accrued for a day that has ended: " + runDate);
+        }
+        plan(runDate);
+        if (requestedRuns.add(runDate)) {
+            requestedRunner.execute(() -> {
+                try {
+                    accrue(runDate);
+                } catch (RuntimeException ex) {
+                    log.error("Requested interest accrual for {} failed", runDate, ex);
+                } finally {
+                    requestedRuns.remove(runDate);
+                }
+            });
+        }
+        return getRun(runDate);
+    }
+
+    public AccrualRunStatusDto getRun(LocalDate runDate) {
+        List<AccrualPartition> planned = partitionRepository.findByRunDateOrderByPartitionNo(runDate);
+        int completed = (int) planned.stream().filter(p -> p.getStatus() == AccrualPartitionStatus.COMPLETED).count();
+        long accrued = planned.stream().mapToLong(AccrualPartition::getAccountsAccrued).sum();
+        return new AccrualRunStatusDto(runDate, requestedRuns.contains(runDate), planned.size(), completed, accrued);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        requestedRunner.shutdownNow();
+    }
+
+    /**
+     * Runs or resumes the accrual for {@code runDate} on {@code workerCount} threads and returns once
+     * no partition is left to claim. Calling it again for a finished date credits nothing.
+     */
+    public AccrualRunDto accrue(LocalDate runDate, int workerCount) {
+        long started = System.nanoTime();
+        plan(runDate);
+        log.info("Accruing interest for {} on {} workers", runDate, workerCount);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "interest-accrual-" + workerSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long accrued = 0;
+        Throwable failure = null;
+        try {
+            List<Future<Long>> results = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                String worker = "accrual-" + UUID.randomUUID();
+                results.add(pool.submit(() -> drainPartitions(runDate, worker)));
+            }
+            // let the other workers finish their partitions even if one of them failed
+            for (Future<Long> result : results) {
+                try {
+                    accrued += result.get();
+                } catch (ExecutionException ex) {
+                    failure = failure == null ? ex.getCause() : failure;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while accruing interest for " + runDate, ex);
+        } finally {
+            pool.shutdownNow();
+        }
+        if (failure != null) {
+            // the failed worker's partition keeps its checkpoint and is resumed once its lease runs out
+            throw new IllegalStateException("Interest accrual for " + runDate + " failed", failure);
+        }
+
+        List<AccrualPartition> planned = partitionRepository.findByRunDateOrderByPartitionNo(runDate);
+        int completed = (int) planned.stream().filter(p -> p.getStatus() == AccrualPartitionStatus.COMPLETED).count();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Interest accrual for {} credited {} accounts in {} ms, {} of {} partitions complete",
+                runDate, accrued, elapsedMillis, completed, planned.size());
+        return new AccrualRunDto(runDate, planned.size(), completed, accrued, elapsedMillis);
+    }
+
+    private void plan(LocalDate runDate) {
+        if (partitionRepository.countByRunDate(runDate) > 0) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<AccrualPartition> planned = new ArrayList<>(partitions);
+                for (int i = 0; i < partitions; i++) {
+                    planned.add(AccrualPartition.builder()
+                            .runDate(runDate)
+                            .partitionNo(i)
+                            .rangeStart(boundary(i))
+                            .rangeEnd(i == partitions - 1 ? MAX_ID : boundary(i + 1))
+                            .lastAccountId(boundary(i))
+                            .status(AccrualPartitionStatus.PENDING)
+                            .build());
+                }
+                partitionRepository.saveAll(planned);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Accrual for {} was planned by another instance", runDate);
+        }
+    }
+
+    /**
+     * Lower bound of partition {@code index}: the id space read as an unsigned 128-bit number, cut
+     * into equal slices by its high 64 bits. Random (v4) ids spread evenly over the slices. The
+     * database orders uuids byte by byte, which is this unsigned order.
+     */
+    private UUID boundary(int index) {
+        long high = BigInteger.ONE.shiftLeft(64).multiply(BigInteger.valueOf(index))
+                .divide(BigInteger.valueOf(partitions)).longValue();
+        return new UUID(high, 0L);
+    }
+
+    private long drainPartitions(LocalDate runDate, String worker) {
+        long accrued = 0;
+        while (true) {
+            UUID partitionId = claim(runDate, worker);
+            if (partitionId == null) {
+                break;
+            }
+            Chunk chunk;
+            do {
+                UUID id = partitionId;
+                chunk = transactionTemplate.execute(status -> accrueChunk(id, worker, runDate));
+                accrued += chunk.accrued();
+            } while (chunk.more());
+        }
+        return accrued;
+    }
+
+    /**
+     * Leases a pending partition to {@code worker}. Candidates are read without locks and taken with
+     * a guarded update, so racing workers never wait on each other; one that loses a race moves on to
+     * the next candidate. Returns {@code null} once every pending partition is leased or done.
+     */
+    private UUID claim(LocalDate runDate, String worker) {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<UUID> candidates = partitionRepository.findClaimableIds(runDate, now, Limit.of(workers * 2));
+            if (candidates.isEmpty()) {
+                return null;
+            }
+            // start at a random candidate so concurrent workers rarely race for the same row
+            int offset = ThreadLocalRandom.current().nextInt(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                UUID id = candidates.get((offset + i) % candidates.size());
+                if (partitionRepository.claim(id, worker, now, now.plus(lease)) == 1) {
+                    return id;
+                }
+            }
+        }
+    }
+
+    private Chunk accrueChunk(UUID partitionId, String worker, LocalDate runDate) {
+        AccrualPartition partition = partitionRepository.findByIdForUpdate(partitionId).orElseThrow();
+        if (partition.getStatus() == AccrualPartitionStatus.COMPLETED || !worker.equals(partition.getClaimedBy())) {
+            // the lease ran out and another worker took over; its checkpoint is the one that counts
+            log.warn("Lost accrual partition {} of {} to {}", partition.getPartitionNo(), runDate, partition.getClaimedBy());
+            return new Chunk(0, false);
+        }
+
+        List<Account> accounts = accountRepository.findAccrualChunkForUpdate(partition.getLastAccountId(),
+                partition.getRangeEnd(), annualRates.keySet(), Limit.of(chunkSize));
+        List<LedgerEntry> entries = new ArrayList<>(accounts.size() * 2);
+        List<UUID> credited = new ArrayList<>(accounts.size());
+        String description = "Interest for " + runDate;
+        for (Account account : accounts) {
+            Money interest = dailyInterest(account);
+            if (!interest.isPositive()) {
+                continue;
+            }
+            account.setBalance(account.getBalance().plus(interest));
+            UUID transactionId = UUID.randomUUID();
+            entries.add(LedgerEntry.builder()
+                    .transactionId(transactionId)
+                    .accountId(account.getId())
+                    .counterpartyAccountId(LedgerService.EXTERNAL_ACCOUNT_ID)
+                    .entryType(EntryType.CREDIT)
+                    .transactionType(TransactionType.INTEREST)
+                    .amount(interest)
+                    .balanceAfter(account.getBalance())
+                    .description(description)
+                    .build());
+            entries.add(LedgerEntry.builder()
+                    .transactionId(transactionId)
+                    .accountId(LedgerService.EXTERNAL_ACCOUNT_ID)
+                    .counterpartyAccountId(account.getId())
+                    .entryType(EntryType.DEBIT)
+                    .transactionType(TransactionType.INTEREST)
+                    .amount(interest)
+                    .description(description)
+                    .build());
+            credited.add(account.getId());
+        }
+        ledgerEntryRepository.saveAll(entries);
+        if (!credited.isEmpty()) {
+            accountDetailsCache.invalidateAfterCommit(credited);
+        }
+
+        boolean more = accounts.size() == chunkSize;
+        partition.setAccountsAccrued(partition.getAccountsAccrued() + credited.size());
+        if (more) {
+            partition.setLastAccountId(accounts.get(accounts.size() - 1).getId());
+            partition.setLeaseExpiresAt(LocalDateTime.now().plus(lease));
+        } else {
+            partition.setStatus(AccrualPartitionStatus.COMPLETED);
+            partition.setLastAccountId(partition.getRangeEnd());
+            partition.setClaimedBy(null);
+            partition.setLeaseExpiresAt(null);
+        }
+        accountsAccrued.increment(credited.size());
+        return new Chunk(credited.size(), more);
+    }
+
+    /** One day of simple interest on the current balance, rounded half-even to the currency's minor unit. */
+    Money dailyInterest(Account account) {
+        Money balance = account.getBalance();
+        long minor = BigDecimal.valueOf(balance.minorUnits())
+                .multiply(annualRates.get(account.getAccountType()))
+                .divide(DAYS_IN_YEAR, 0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+        return Money.ofMinor(minor, balance.currency());
+    }
+
+    private record Chunk(int accrued, boolean more) {
+    }
+}
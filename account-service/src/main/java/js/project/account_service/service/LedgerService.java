@@ -0,0 +1,291 @@
+package js.project.account_service.service;
+
+import js.project.account_service.exception.AccountNotFoundException;
+import js.project.account_service.exception.InsufficientFundsException;
+import js.project.account_service.exception.InvalidAccountStatusException;
+import js.project.account_service.exception.InvalidTransactionException;
+import js.project.account_service.exception.VelocityLimitExceededException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.LedgerEntryDto;
+import js.project.account_service.model.dto.TransactionDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.TransactionType;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.request.CashTransactionRequest;
+import js.project.account_service.model.request.TransferRequest;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import js.project.account_service.util.StripedAccountLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves money between accounts by posting balanced DEBIT/CREDIT pairs to the ledger.
+ * <p>
+ * The in-process stripe locks are taken before the database transaction starts and released after
+ * it commits, so concurrent postings against the same account inside one instance queue on a cheap
+ * JVM lock instead of holding a pooled connection while waiting on a row lock. The row locks taken
+ * inside the transaction still protect against other instances.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LedgerService {
+
+    /**
+     * Counterparty of deposits and withdrawals: the bank's cash ledger. It has no account row and
+     * no tracked balance, it only exists so that every transaction stays balanced.
+     */
+    public static final UUID EXTERNAL_ACCOUNT_ID = new UUID(0L, 0L);
+
+    private final AccountRepository accountRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final StripedAccountLock accountLock;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountDetailsCache accountDetailsCache;
+    private final VelocityRuleEngine velocityRules;
+
+    public TransactionDto transfer(UUID initiatedBy, UUID fromAccountId, TransferRequest request) {
+        log.info("Transferring {} from account {} to account {}", request.getAmount(), fromAccountId, request.getToAccountId());
+        requireDistinct(fromAccountId, request.getToAccountId());
+
+        return accountLock.withLocks(fromAccountId, request.getToAccountId(),
+                () -> transactionTemplate.execute(status -> postTransfer(initiatedBy, fromAccountId, request, true)));
+    }
+
+    /**
+     * Transfer run by {@link StandingOrderScheduler}. Runs inside the caller's transaction, and the
+     * caller holds both accounts' stripes until that transaction has committed. The velocity rules
+     * are skipped: the order was authorised when it was set up, and a batch of due orders must not
+     * trip the per-minute limits.
+     */
+    TransactionDto postScheduledTransfer(UUID initiatedBy, UUID fromAccountId, TransferRequest request) {
+        log.info("Posting scheduled transfer of {} from account {} to account {}", request.getAmount(), fromAccountId,
+                request.getToAccountId());
+        requireDistinct(fromAccountId, request.getToAccountId());
+        return postTransfer(initiatedBy, fromAccountId, request, false);
+    }
+
+    public TransactionDto deposit(UUID initiatedBy, UUID accountId, CashTransactionRequest request) {
+        log.info("Depositing {} to account {}", request.getAmount(), accountId);
+        return accountLock.withLock(accountId,
+                () -> transactionTemplate.execute(status -> postCash(initiatedBy, accountId, request, TransactionType.DEPOSIT)));
+    }
+
+    public TransactionDto withdraw(UUID initiatedBy, UUID accountId, CashTransactionRequest request) {
+        log.info("Withdrawing {} from account {}", request.getAmount(), accountId);
+        return accountLock.withLock(accountId,
+                () -> transactionTemplate.execute(status -> postCash(initiatedBy, accountId, request, TransactionType.WITHDRAWAL)));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<LedgerEntryDto> getEntries(UUID accountId, Pageable pageable) {
+        log.info("Fetching ledger entries for account: {}", accountId);
+        return ledgerEntryRepository.findByAccountId(accountId, pageable).map(LedgerEntryDto::new);
+    }
+
+    private TransactionDto postTransfer(UUID initiatedBy, UUID fromAccountId, TransferRequest request, boolean checkVelocity) {
+        List<Account> locked = accountRepository.findAllByIdForUpdate(List.of(fromAccountId, request.getToAccountId()));
+        Account from = findLocked(locked, fromAccountId);
+        Account to = findLocked(locked, request.getToAccountId());
+
+        if (!from.getUserId().equals(initiatedBy)) {
+            throw new InvalidTransactionException("Account " + fromAccountId + " does not belong to the requesting user");
+        }
+        requireActive(from);
+        requireActive(to);
+        if (!from.getCurrency().equals(to.getCurrency())) {
+            throw new InvalidTransactionException("Currency mismatch: " + from.getCurrency() + " -> " + to.getCurrency());
+        }
+
+        Money amount = toMoney(request.getAmount(), from.getCurrency());
+        if (from.getAvailableBalance().isLessThan(amount)) {
+            throw new InsufficientFundsException("Insufficient funds in account: " + fromAccountId);
+        }
+        // checked last, so only transfers that would otherwise go through count towards the limits
+        if (checkVelocity && velocityRules.assess(VelocityOperation.TRANSFER, initiatedBy, fromAccountId, amount.minorUnits()).blocked()) {
+            throw new VelocityLimitExceededException("Transfer limit reached for account: " + fromAccountId);
+        }
+
+        from.setBalance(from.getBalance().minus(amount));
+        to.setBalance(to.getBalance().plus(amount));
+        accountDetailsCache.invalidateAfterCommit(List.of(from.getId(), to.getId()));
+
+        UUID transactionId = UUID.randomUUID();
+        LedgerEntry debit = entry(transactionId, from, to.getId(), EntryType.DEBIT, TransactionType.TRANSFER,
+                amount, from.getBalance(), request.getDescription(), initiatedBy);
+        LedgerEntry credit = entry(transactionId, to, from.getId(), EntryType.CREDIT, TransactionType.TRANSFER,
+                amount, to.getBalance(), request.getDescription(), initiatedBy);
+
+        return saveTransaction(transactionId, TransactionType.TRANSFER, List.of(debit, credit));
+    }
+
+    private TransactionDto postCash(UUID initiatedBy, UUID accountId, CashTransactionRequest request, TransactionType type) {
+        List<Account> locked = accountRepository.findAllByIdForUpdate(List.of(accountId));
+        Account account = findLocked(locked, accountId);
+        requireActive(account);
+
+        Money amount = toMoney(request.getAmount(), account.getCurrency());
+        EntryType accountSide;
+        EntryType cashSide;
+        if (type == TransactionType.DEPOSIT) {
+            account.setBalance(account.getBalance().plus(amount));
+            accountSide = EntryType.CREDIT;
+            cashSide = EntryType.DEBIT;
+        } else {
+            if (account.getAvailableBalance().isLessThan(amount)) {
+                throw new InsufficientFundsException("Insufficient funds in account: " + accountId);
+            }
+            account.setBalance(account.getBalance().minus(amount));
+            accountSide = EntryType.DEBIT;
+            cashSide = EntryType.CREDIT;
+        }
+        accountDetailsCache.invalidateAfterCommit(accountId);
+
+        UUID transactionId = UUID.randomUUID();
+        LedgerEntry accountEntry = entry(transactionId, account, EXTERNAL_ACCOUNT_ID, accountSide, type,
+                amount, account.getBalance(), request.getDescription(), initiatedBy);
+        LedgerEntry cashEntry = LedgerEntry.builder()
+                .transactionId(transactionId)
+                .accountId(EXTERNAL_ACCOUNT_ID)
+                .counterpartyAccountId(accountId)
+                .entryType(cashSide)
+                .transactionType(type)
+                .amount(amount)
+                .description(request.getDescription())
+                .createdBy(initiatedBy)
+                .build();
+
+        return saveTransaction(transactionId, type, List.of(accountEntry, cashEntry));
+    }
+
+    /**
+     * Posts the capture of a hold against the bank's cash ledger. Runs inside the caller's
+     * transaction with {@code account} already locked; the captured funds were reserved by the hold,
+     * so only the balance is checked.
+     */
+    TransactionDto postHoldCapture(UUID initiatedBy, Account account, Money amount, String description) {
+        requireActive(account);
+        if (account.getBalance().isLessThan(amount)) {
+            throw new InsufficientFundsException("Insufficient funds in account: " + account.getId());
+        }
+        account.setBalance(account.getBalance().minus(amount));
+        accountDetailsCache.invalidateAfterCommit(account.getId());
+
+        UUID transactionId = UUID.randomUUID();
+        LedgerEntry accountEntry = entry(transactionId, account, EXTERNAL_ACCOUNT_ID, EntryType.DEBIT,
+                TransactionType.HOLD_CAPTURE, amount, account.getBalance(), description, initiatedBy);
+        LedgerEntry cashEntry = LedgerEntry.builder()
+                .transactionId(transactionId)
+                .accountId(EXTERNAL_ACCOUNT_ID)
+                .counterpartyAccountId(account.getId())
+                .entryType(EntryType.CREDIT)
+                .transactionType(TransactionType.HOLD_CAPTURE)
+                .amount(amount)
+                .description(description)
+                .createdBy(initiatedBy)
+                .build();
+
+        return saveTransaction(transactionId, TransactionType.HOLD_CAPTURE, List.of(accountEntry, cashEntry));
+    }
+
+    /**
+     * The balanced pair that funds a new account with its opening balance from the bank's cash
+     * ledger, or nothing for an unfunded account. The balance is already set on {@code account}, which
+     * must have its id; the caller saves the entries in the transaction that creates the account.
+     */
+    static List<LedgerEntry> openingBalanceEntries(Account account, UUID createdBy) {
+        Money amount = account.getBalance();
+        if (amount.isZero()) {
+            return List.of();
+        }
+        UUID transactionId = UUID.randomUUID();
+        LedgerEntry accountEntry = LedgerEntry.builder()
+                .transactionId(transactionId)
+                .accountId(account.getId())
+                .counterpartyAccountId(EXTERNAL_ACCOUNT_ID)
+                .entryType(EntryType.CREDIT)
+                .transactionType(TransactionType.OPENING_BALANCE)
+                .amount(amount)
+                .balanceAfter(amount)
+                .description("Opening balance")
+                .createdBy(createdBy)
+                .build();
+        LedgerEntry cashEntry = LedgerEntry.builder()
+                .transactionId(transactionId)
+                .accountId(EXTERNAL_ACCOUNT_ID)
+                .counterpartyAccountId(account.getId())
+                .entryType(EntryType.DEBIT)
+                .transactionType(TransactionType.OPENING_BALANCE)
+                .amount(amount)
+                .description("Opening balance")
+                .createdBy(createdBy)
+                .build();
+        return List.of(accountEntry, cashEntry);
+    }
+
+    private TransactionDto saveTransaction(UUID transactionId, TransactionType type, List<LedgerEntry> entries) {
+        List<LedgerEntry> saved = ledgerEntryRepository.saveAll(entries);
+        log.info("Posted {} transaction {} with {} entries", type, transactionId, saved.size());
+        return TransactionDto.builder()
+                .transactionId(transactionId)
+                .transactionType(type)
+                .entries(saved.stream().map(LedgerEntryDto::new).toList())
+                .build();
+    }
+
+    private LedgerEntry entry(UUID transactionId, Account account, UUID counterpartyId, EntryType entryType,
+                              TransactionType transactionType, Money amount, Money balanceAfter,
+                              String description, UUID createdBy) {
+        return LedgerEntry.builder()
+                .transactionId(transactionId)
+                .accountId(account.getId())
+                .counterpartyAccountId(counterpartyId)
+                .entryType(entryType)
+                .transactionType(transactionType)
+                .amount(amount)
+                .balanceAfter(balanceAfter)
+                .description(description)
+                .createdBy(createdBy)
+                .build();
+    }
+
+    private Money toMoney(BigDecimal amount, String currency) {
+        try {
+            return Money.of(amount, currency);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTransactionException(ex.getMessage());
+        }
+    }
+
+    private Account findLocked(List<Account> locked, UUID accountId) {
+        return locked.stream()
+                .filter(account -> account.getId().equals(accountId))
+                .findFirst()
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+    }
+
+    private void requireDistinct(UUID fromAccountId, UUID toAccountId) {
+        if (fromAccountId.equals(toAccountId)) {
+            throw new InvalidTransactionException("Source and destination accounts must be different");
+        }
+    }
+
+    private void requireActive(Account account) {
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new InvalidAccountStatusException("Account " + account.getId() + " is not active");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.model.OutboxEvent;
+import js.project.account_service.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes the outbox to Kafka in batches. A batch is locked, sent with the account id as the key
+ * (so all events of an account land on one partition, in order), and deleted only after Kafka
+ * acknowledged every message. If any send fails the transaction rolls back and the whole batch is
+ * sent again on the next poll, so delivery is at least once and consumers deduplicate on the
+ * event id.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String topic;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Counter published;
+    private final Counter failures;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, String> kafkaTemplate,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                       @Value("${kafka.topic.account-events}") String topic,
+                       @Value("${account.outbox.batch-size:100}") int batchSize,
+                       @Value("${account.outbox.send-timeout:PT10S}") Duration sendTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.published = meterRegistry.counter("account.outbox.published");
+        this.failures = meterRegistry.counter("account.outbox.failures");
+    }
+
+    @Scheduled(fixedDelayString = "${account.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        try {
+            int sent;
+            do {
+                sent = relayBatch();
+            } while (sent == batchSize);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Outbox relay failed, the batch will be retried: {}", ex.getMessage());
+        }
+    }
+
+    /** Publishes and removes up to one batch of the oldest events; returns how many were published. */
+    public int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.lockOldest(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<CompletableFuture<?>> acks = new ArrayList<>(batch.size());
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (OutboxEvent event : batch) {
+                acks.add(kafkaTemplate.send(topic, event.getAggregateId().toString(), event.getPayload()));
+                ids.add(event.getId());
+            }
+            awaitAcks(acks);
+            outboxEventRepository.deleteByIds(ids);
+            return batch.size();
+        });
+        if (sent != null && sent > 0) {
+            published.increment(sent);
+            log.debug("Published {} outbox events to {}", sent, topic);
+        }
+        return sent == null ? 0 : sent;
+    }
+
+    private void awaitAcks(List<CompletableFuture<?>> acks) {
+        try {
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Kafka rejected an outbox event", ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Kafka did not acknowledge the outbox batch within " + sendTimeout, ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing the outbox", ex);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import js.project.account_service.model.StandingOrder;
+import js.project.account_service.model.dto.TransactionDto;
+import js.project.account_service.model.enums.StandingOrderStatus;
+import js.project.account_service.model.request.TransferRequest;
+import js.project.account_service.repository.StandingOrderRepository;
+import js.project.account_service.repository.StandingOrderRepository.DueOrder;
+import js.project.account_service.util.HashedTimingWheel;
+import js.project.account_service.util.StripedAccountLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the standing orders as they fall due. Every tick it leases the ACTIVE orders due within the
+ * next {@code window}, a range scan on (status, next_run_at) in batches of {@code batch-size}, and
+ * puts them on a {@link HashedTimingWheel}; the table is never scanned as a whole, however many
+ * orders it holds. The wheel then hands each order over in the tick its run is due, and the due
+ * orders go to a bounded pool in batches.
+ * <p>
+ * Several instances split the due orders through the lease: a guarded update gives each order to
+ * one of them. A run takes both accounts' lock stripes, as a transfer through {@link LedgerService}
+ * does, and then executes in one transaction that locks the order, checks it is still leased to this
+ * instance and still at the run it was loaded for, posts the transfer and moves the order to its
+ * next run. An order whose lease was taken over, or which already ran, is skipped. The stripes are
+ * released only after that transaction commits.
+ * <p>
+ * A run that fails, whether for a business reason (insufficient funds, inactive account) or not, is
+ * recorded and the order moves on to its next run; after {@code max-failures} consecutive failures
+ * it is suspended.
+ */
+@Service
+@Slf4j
+public class StandingOrderScheduler {
+
+    private final StandingOrderRepository repository;
+    private final LedgerService ledgerService;
+    private final StripedAccountLock accountLock;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration window;
+    private final Duration lease;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxFailures;
+    private final int workerCount;
+    private final String instanceId = "standing-orders-" + UUID.randomUUID();
+    private final HashedTimingWheel<DueRun> wheel;
+    private final ExecutorService workers;
+    private final Counter executed;
+    private final Counter failed;
+    private final Counter skipped;
+
+    public StandingOrderScheduler(StandingOrderRepository repository, LedgerService ledgerService,
+                                  StripedAccountLock accountLock, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                  @Value("${account.standing-orders.tick:PT1S}") Duration tick,
+                                  @Value("${account.standing-orders.window:PT5M}") Duration window,
+                                  @Value("${account.standing-orders.lease:PT10M}") Duration lease,
+                                  @Value("${account.standing-orders.batch-size:500}") int batchSize,
+                                  @Value("${account.standing-orders.max-pending:20000}") int maxPending,
+                                  @Value("${account.standing-orders.workers:4}") int workerCount,
+                                  @Value("${account.standing-orders.max-failures:3}") int maxFailures) {
+        this.repository = repository;
+        this.ledgerService = ledgerService;
+        this.accountLock = accountLock;
+        this.transactionTemplate = transactionTemplate;
+        this.window = window;
+        this.lease = lease;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxFailures = maxFailures;
+        this.workerCount = workerCount;
+        // one rotation covers the window, so a loaded order never waits a full turn
+        int slots = (int) Math.min(1 << 20, window.toMillis() / tick.toMillis() + 1);
+        this.wheel = new HashedTimingWheel<>(tick.toMillis(), slots, toMillis(LocalDateTime.now()));
+        this.workers = Executors.newFixedThreadPool(workerCount, daemonThreads("standing-order"));
+        this.executed = Counter.builder("account.standing-orders.runs").tag("result", "executed").register(meterRegistry);
+        this.failed = Counter.builder("account.standing-orders.runs").tag("result", "failed").register(meterRegistry);
+        this.skipped = Counter.builder("account.standing-orders.runs").tag("result", "skipped").register(meterRegistry);
+        Gauge.builder("account.standing-orders.pending", this, scheduler -> scheduler.wheel.size()).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${account.standing-orders.tick:PT1S}")
+    public synchronized void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        load(now);
+        List<DueRun> due = new ArrayList<>();
+        wheel.advance(toMillis(now), due::add);
+        if (!due.isEmpty()) {
+            run(due);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void load(LocalDateTime now) {
+        LocalDateTime windowEnd = now.plus(window);
+        while (wheel.size() < maxPending) {
+            int limit = Math.min(batchSize, maxPending - wheel.size());
+            List<UUID> ids = repository.findDueIds(windowEnd, now, Limit.of(limit));
+            if (ids.isEmpty()) {
+                return;
+            }
+            if (repository.lease(ids, instanceId, now, windowEnd.plus(lease)) > 0) {
+                for (DueOrder order : repository.findLeased(ids, instanceId)) {
+                    wheel.schedule(new DueRun(order.getId(), order.getNextRunAt(), order.getFromAccountId(),
+                            order.getToAccountId()), toMillis(order.getNextRunAt()));
+                }
+            }
+            if (ids.size() < limit) {
+                return;
+            }
+        }
+    }
+
+    private void run(List<DueRun> due) {
+        // spread small ticks over every worker, cap large ones at the batch size
+        int chunk = Math.max(1, Math.min(batchSize, (due.size() + workerCount - 1) / workerCount));
+        List<Future<?>> batches = new ArrayList<>();
+        for (int from = 0; from < due.size(); from += chunk) {
+            List<DueRun> batch = due.subList(from, Math.min(from + chunk, due.size()));
+            batches.add(workers.submit(() -> batch.forEach(this::execute)));
+        }
+        for (Future<?> batch : batches) {
+            try {
+                batch.get();
+            } catch (ExecutionException ex) {
+                // the rest of that batch keeps its lease and runs once the lease lapses
+                log.error("Standing order batch failed", ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Ran {} standing orders", due.size());
+    }
+
+    private void execute(DueRun run) {
+        try {
+            Boolean ran = accountLock.withLocks(run.fromAccountId(), run.toAccountId(), () -> transactionTemplate.execute(status -> {
+                StandingOrder order = lockLeased(run);
+                if (order == null) {
+                    return false;
+                }
+                TransactionDto transaction = ledgerService.postScheduledTransfer(order.getUserId(), order.getFromAccountId(),
+                        new TransferRequest(order.getToAccountId(), order.getAmount().toBigDecimal(), order.getDescription()));
+                order.setLastTransactionId(transaction.getTransactionId());
+                order.setFailureCount(0);
+                order.setLastFailure(null);
+                advance(order);
+                return true;
+            }));
+            (Boolean.TRUE.equals(ran) ? executed : skipped).increment();
+        } catch (RuntimeException ex) {
+            // the transfer rolled back with the transaction; record the failed run on its own
+            failed.increment();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    StandingOrder order = lockLeased(run);
+                    if (order != null) {
+                        recordFailure(order, String.valueOf(ex.getMessage()));
+                    }
+                });
+            } catch (RuntimeException recordEx) {
+                // the order keeps its lease and runs again once the lease lapses
+                log.error("Could not record the failed run of standing order {}", run.orderId(), recordEx);
+            }
+        }
+    }
+
+    private StandingOrder lockLeased(DueRun run) {
+        StandingOrder order = repository.findByIdForUpdate(run.orderId()).orElse(null);
+        if (order == null || order.getStatus() != StandingOrderStatus.ACTIVE || !instanceId.equals(order.getClaimedBy())
+                || !run.runAt().equals(order.getNextRunAt())) {
+            log.debug("Standing order {} run at {} was taken over or already ran", run.orderId(), run.runAt());
+            return null;
+        }
+        return order;
+    }
+
+    private void recordFailure(StandingOrder order, String reason) {
+        log.warn("Standing order {} run at {} failed: {}", order.getId(), order.getNextRunAt(), reason);
+        order.setFailureCount(order.getFailureCount() + 1);
+        // database errors can be long; the column holds 255 characters
+        order.setLastFailure(reason.length() > 255 ? reason.substring(0, 255) : reason);
+        if (order.getFailureCount() >= maxFailures) {
+            order.setStatus(StandingOrderStatus.SUSPENDED);
+            order.setClaimedBy(null);
+            order.setLeaseExpiresAt(null);
+            log.warn("Standing order {} suspended after {} failed runs", order.getId(), order.getFailureCount());
+            return;
+        }
+        advance(order);
+    }
+
+    private void advance(StandingOrder order) {
+        order.setLastRunAt(LocalDateTime.now());
+        order.setOccurrence(order.getOccurrence() + 1);
+        LocalDateTime next = order.getFrequency().occurrence(order.getStartAt(), order.getOccurrence());
+        if (order.getEndAt() != null && next.isAfter(order.getEndAt())) {
+            order.setStatus(StandingOrderStatus.COMPLETED);
+            order.setNextRunAt(null);
+        } else {
+            order.setNextRunAt(next);
+        }
+        order.setClaimedBy(null);
+        order.setLeaseExpiresAt(null);
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record DueRun(UUID orderId, LocalDateTime runAt, UUID fromAccountId, UUID toAccountId) {
+    }
+}
@@ -0,0 +1,121 @@
+package js.project.account_service.service;
+
+import js.project.account_service.exception.AccountNotFoundException;
+import js.project.account_service.exception.InvalidAccountStatusException;
+import js.project.account_service.exception.InvalidTransactionException;
+import js.project.account_service.exception.StandingOrderNotFoundException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.StandingOrder;
+import js.project.account_service.model.dto.StandingOrderDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.StandingOrderStatus;
+import js.project.account_service.model.request.CreateStandingOrderRequest;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.StandingOrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Creates, lists and cancels standing orders; {@link StandingOrderScheduler} runs them.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class StandingOrderService {
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final AccountRepository accountRepository;
+
+    @Transactional
+    public StandingOrderDto createStandingOrder(UUID userId, UUID fromAccountId, CreateStandingOrderRequest request) {
+        log.info("Creating {} standing order of {} from account {} to account {}", request.getFrequency(),
+                request.getAmount(), fromAccountId, request.getToAccountId());
+
+        if (fromAccountId.equals(request.getToAccountId())) {
+            throw new InvalidTransactionException("Source and destination accounts must be different");
+        }
+        // whole seconds, so the run times read back from the database compare equal to the computed ones
+        LocalDateTime startAt = request.getStartAt().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime endAt = request.getEndAt() == null ? null : request.getEndAt().truncatedTo(ChronoUnit.SECONDS);
+        if (endAt != null && endAt.isBefore(startAt)) {
+            throw new InvalidTransactionException("End time must not be before the start time");
+        }
+        Account from = findAccount(fromAccountId);
+        Account to = findAccount(request.getToAccountId());
+        if (!from.getUserId().equals(userId)) {
+            throw new InvalidTransactionException("Account " + fromAccountId + " does not belong to the requesting user");
+        }
+        requireActive(from);
+        requireActive(to);
+        if (!from.getCurrency().equals(to.getCurrency())) {
+            throw new InvalidTransactionException("Currency mismatch: " + from.getCurrency() + " -> " + to.getCurrency());
+        }
+        Money amount;
+        try {
+            amount = Money.of(request.getAmount(), from.getCurrency());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidTransactionException(ex.getMessage());
+        }
+
+        StandingOrder order = standingOrderRepository.save(StandingOrder.builder()
+                .userId(userId)
+                .fromAccountId(fromAccountId)
+                .toAccountId(request.getToAccountId())
+                .amount(amount)
+                .description(request.getDescription())
+                .frequency(request.getFrequency())
+                .startAt(startAt)
+                .endAt(endAt)
+                .nextRunAt(startAt)
+                .status(StandingOrderStatus.ACTIVE)
+                .build());
+        log.info("Standing order {} created, first run at {}", order.getId(), order.getNextRunAt());
+        return new StandingOrderDto(order);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StandingOrderDto> getStandingOrders(UUID fromAccountId) {
+        log.info("Fetching standing orders for account: {}", fromAccountId);
+        return standingOrderRepository.findByFromAccountIdOrderByCreatedAt(fromAccountId).stream()
+                .map(StandingOrderDto::new)
+                .toList();
+    }
+
+    @Transactional
+    public StandingOrderDto cancelStandingOrder(UUID userId, UUID fromAccountId, UUID orderId) {
+        log.info("Cancelling standing order {} on account {}", orderId, fromAccountId);
+        StandingOrder order = standingOrderRepository.findByIdForUpdate(orderId)
+                .filter(found -> found.getFromAccountId().equals(fromAccountId))
+                .orElseThrow(() -> new StandingOrderNotFoundException("Standing order " + orderId + " not found on account " + fromAccountId));
+        if (!order.getUserId().equals(userId)) {
+            throw new InvalidTransactionException("Standing order " + orderId + " does not belong to the requesting user");
+        }
+        if (order.getStatus() == StandingOrderStatus.ACTIVE || order.getStatus() == StandingOrderStatus.SUSPENDED) {
+            // a scheduler that already loaded the order sees the status under the row lock and skips it
+            order.setStatus(StandingOrderStatus.CANCELLED);
+            order.setNextRunAt(null);
+            order.setClaimedBy(null);
+            order.setLeaseExpiresAt(null);
+        }
+        return new StandingOrderDto(order);
+    }
+
+    private void requireActive(Account account) {
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new InvalidAccountStatusException("Account " + account.getId() + " is not active");
+        }
+    }
+
+    private Account findAccount(UUID accountId) {
+        return accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+    }
+}
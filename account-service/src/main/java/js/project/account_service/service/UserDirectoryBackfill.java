@@ -0,0 +1,94 @@
+package js.project.account_service.service;
+
+import jakarta.annotation.PreDestroy;
+import js.project.account_service.client.UserServiceClient;
+import js.project.account_service.model.UserDirectorySyncState;
+import js.project.account_service.model.dto.UserSummaryDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads the user directory from user-service once, so that users created before the directory
+ * existed, and who have not changed their profile since, can be found by name. Profile events keep
+ * it current afterwards. The load walks user-service's directory pages in id order from the
+ * checkpoint in {@link UserDirectorySyncState} and runs in the background after startup, retrying
+ * every {@code retry-interval} while user-service is unreachable. Instances that start together may
+ * load the same pages twice; writing a page is idempotent.
+ */
+@Service
+@Slf4j
+public class UserDirectoryBackfill {
+
+    private final UserServiceClient userServiceClient;
+    private final UserDirectoryService userDirectoryService;
+    private final int pageSize;
+    private final Duration retryInterval;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-directory-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserDirectoryBackfill(UserServiceClient userServiceClient, UserDirectoryService userDirectoryService,
+                                 @Value("${account.user-directory.backfill.page-size:500}") int pageSize,
+                                 @Value("${account.user-directory.backfill.retry-interval:PT30S}") Duration retryInterval) {
+        this.userServiceClient = userServiceClient;
+        this.userDirectoryService = userDirectoryService;
+        this.pageSize = pageSize;
+        this.retryInterval = retryInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        runner.execute(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    load();
+                    return;
+                } catch (RuntimeException ex) {
+                    log.warn("User directory load failed, retrying in {}: {}", retryInterval, ex.getMessage());
+                }
+                try {
+                    Thread.sleep(retryInterval.toMillis());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+
+    /** Loads every page after the checkpoint; returns at once if the load has already completed. */
+    public void load() {
+        UserDirectorySyncState state = userDirectoryService.syncState();
+        if (state.getCompletedAt() != null) {
+            return;
+        }
+        UUID after = state.getLastUserId();
+        log.info("Loading the user directory from user-service after {}", after);
+        while (true) {
+            LocalDateTime fetchedAt = LocalDateTime.now();
+            List<UserSummaryDto> page = userServiceClient.getUserDirectoryPage(after, pageSize);
+            boolean last = page.size() < pageSize;
+            userDirectoryService.applySnapshot(page, fetchedAt, last);
+            if (last) {
+                return;
+            }
+            after = page.get(page.size() - 1).id();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+}
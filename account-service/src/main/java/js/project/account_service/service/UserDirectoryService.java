@@ -0,0 +1,107 @@
+package js.project.account_service.service;
+
+import js.project.account_service.model.UserDirectoryEntry;
+import js.project.account_service.model.UserDirectorySyncState;
+import js.project.account_service.model.dto.UserSummaryDto;
+import js.project.account_service.repository.UserDirectoryRepository;
+import js.project.account_service.repository.UserDirectorySyncStateRepository;
+import js.project.model.UserProfileChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserDirectoryService {
+
+    static final String SYNC_ID = "user-directory";
+
+    private final UserDirectoryRepository userDirectoryRepository;
+    private final UserDirectorySyncStateRepository syncStateRepository;
+
+    /**
+     * Applies a profile event to the local directory. Events for one user arrive in order on their
+     * partition; the {@code changedAt} check additionally drops a redelivered older event so it
+     * cannot overwrite a newer name.
+     */
+    @Transactional
+    public void apply(UserProfileChangedEvent event) {
+        if (event.isDeleted()) {
+            userDirectoryRepository.deleteById(event.getUserId());
+            log.info("Removed user {} from the user directory", event.getUserId());
+            return;
+        }
+
+        UserDirectoryEntry entry = userDirectoryRepository.findById(event.getUserId())
+                .orElseGet(() -> UserDirectoryEntry.builder().userId(event.getUserId()).build());
+        if (entry.getChangedAt() != null && event.getChangedAt() != null && event.getChangedAt().isBefore(entry.getChangedAt())) {
+            log.info("Ignoring stale profile event for user {}", event.getUserId());
+            return;
+        }
+
+        entry.setFirstName(event.getFirstName());
+        entry.setLastName(event.getLastName());
+        entry.setEmail(event.getEmail());
+        entry.setChangedAt(event.getChangedAt());
+        userDirectoryRepository.save(entry);
+    }
+
+    /** Progress of the initial load, created on first use. */
+    @Transactional
+    public UserDirectorySyncState syncState() {
+        return syncStateRepository.findById(SYNC_ID)
+                .orElseGet(() -> syncStateRepository.save(UserDirectorySyncState.builder().id(SYNC_ID).build()));
+    }
+
+    /**
+     * Writes one page of the initial load and moves the checkpoint past it in the same transaction.
+     * Entries are stamped with {@code fetchedAt}, taken before the page was requested, so a profile
+     * event for a change made after the read is newer and wins whichever is applied first. A user
+     * deleted between the read and this write is written back; the window is one page and the
+     * next profile change corrects it.
+     *
+     * @param last whether this is the final page, which completes the load
+     */
+    @Transactional
+    public void applySnapshot(List<UserSummaryDto> users, LocalDateTime fetchedAt, boolean last) {
+        Map<UUID, UserDirectoryEntry> existing = userDirectoryRepository.findAllById(users.stream().map(UserSummaryDto::id).toList())
+                .stream()
+                .collect(Collectors.toMap(UserDirectoryEntry::getUserId, Function.identity()));
+        List<UserDirectoryEntry> written = new ArrayList<>(users.size());
+        for (UserSummaryDto user : users) {
+            UserDirectoryEntry entry = existing.get(user.id());
+            if (entry != null && entry.getChangedAt() != null && !entry.getChangedAt().isBefore(fetchedAt)) {
+                continue;
+            }
+            if (entry == null) {
+                entry = UserDirectoryEntry.builder().userId(user.id()).build();
+            }
+            entry.setFirstName(user.firstName());
+            entry.setLastName(user.lastName());
+            entry.setEmail(user.email());
+            entry.setChangedAt(fetchedAt);
+            written.add(entry);
+        }
+        userDirectoryRepository.saveAll(written);
+
+        UserDirectorySyncState state = syncState();
+        if (!users.isEmpty()) {
+            state.setLastUserId(users.get(users.size() - 1).id());
+            state.setUsersLoaded(state.getUsersLoaded() + users.size());
+        }
+        if (last) {
+            state.setCompletedAt(LocalDateTime.now());
+            log.info("User directory initial load completed with {} users", state.getUsersLoaded());
+        }
+    }
+}
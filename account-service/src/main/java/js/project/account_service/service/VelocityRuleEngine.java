@@ -0,0 +1,179 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.config.VelocityRuleProperties;
+import js.project.account_service.config.VelocityRuleProperties.Rule;
+import js.project.account_service.model.enums.RiskDecision;
+import js.project.account_service.model.enums.VelocityMeasure;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.enums.VelocityScope;
+import js.project.account_service.util.SlidingWindowCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Checks account operations against the configured velocity rules before they are written. Each
+ * rule keeps a {@link SlidingWindowCounter} per user or account, so a check is a few hash lookups
+ * and compare-and-sets with no lock and no database round trip.
+ * <p>
+ * The operation is recorded first and the totals, which include it, are compared afterwards, so two
+ * racing requests cannot both slip under a limit. A BLOCKed operation does not happen and is taken
+ * back out of the counters straight away; an allowed one assessed inside a transaction is taken back
+ * out if that transaction does not commit, so failed operations do not count against the user.
+ * Counters live in this instance only and start empty after a restart; the rules are a brake on
+ * abuse, not an exact quota. Idle counters are dropped periodically.
+ */
+@Service
+@Slf4j
+@EnableConfigurationProperties(VelocityRuleProperties.class)
+public class VelocityRuleEngine {
+
+    public record Assessment(RiskDecision decision, List<String> rules) {
+
+        public static final Assessment ALLOW = new Assessment(RiskDecision.ALLOW, List.of());
+
+        public boolean blocked() {
+            return decision == RiskDecision.BLOCK;
+        }
+
+        /** Names of the rules that tripped, comma separated; {@code null} when none did. */
+        public String flags() {
+            return rules.isEmpty() ? null : String.join(",", rules);
+        }
+    }
+
+    private final Map<VelocityOperation, List<CompiledRule>> rulesByOperation = new EnumMap<>(VelocityOperation.class);
+    private final ConcurrentMap<CounterKey, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+    private final int buckets;
+    private final Map<RiskDecision, Counter> decisions = new EnumMap<>(RiskDecision.class);
+
+    public VelocityRuleEngine(VelocityRuleProperties properties, MeterRegistry meterRegistry) {
+        this.buckets = properties.buckets();
+        for (VelocityOperation operation : VelocityOperation.values()) {
+            rulesByOperation.put(operation, new ArrayList<>());
+        }
+        List<Rule> rules = properties.rules();
+        for (int i = 0; i < rules.size(); i++) {
+            Rule rule = rules.get(i);
+            validate(rule);
+            rulesByOperation.get(rule.operation()).add(new CompiledRule(i, rule, rule.window().toMillis()));
+        }
+        rulesByOperation.replaceAll((operation, compiled) -> List.copyOf(compiled));
+        for (RiskDecision decision : RiskDecision.values()) {
+            decisions.put(decision, Counter.builder("account.velocity.decisions").tag("decision", decision.name())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("account.velocity.counters", counters, Map::size).register(meterRegistry);
+        log.info("Loaded {} velocity rules", rules.size());
+    }
+
+    /**
+     * Records {@code operation} for {@code userId} and {@code accountId} (either may be null when it
+     * does not apply) and returns the strictest decision among the rules it trips.
+     *
+     * @param amountMinor the amount in minor units, for AMOUNT rules
+     */
+    public Assessment assess(VelocityOperation operation, UUID userId, UUID accountId, long amountMinor) {
+        List<CompiledRule> rules = rulesByOperation.get(operation);
+        if (rules.isEmpty()) {
+            return Assessment.ALLOW;
+        }
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter[] recorded = new SlidingWindowCounter[rules.size()];
+        RiskDecision decision = RiskDecision.ALLOW;
+        List<String> tripped = List.of();
+        for (int i = 0; i < rules.size(); i++) {
+            CompiledRule compiled = rules.get(i);
+            UUID subject = compiled.rule().scope() == VelocityScope.USER ? userId : accountId;
+            if (subject == null) {
+                continue;
+            }
+            SlidingWindowCounter counter = counters.computeIfAbsent(new CounterKey(compiled.index(), subject),
+                    key -> new SlidingWindowCounter(compiled.windowMillis(), buckets));
+            recorded[i] = counter;
+            if (counter.add(now, compiled.delta(amountMinor)) > compiled.rule().threshold()) {
+                if (tripped.isEmpty()) {
+                    tripped = new ArrayList<>(2);
+                }
+                tripped.add(compiled.rule().name());
+                if (compiled.rule().decision().compareTo(decision) > 0) {
+                    decision = compiled.rule().decision();
+                }
+            }
+        }
+        if (decision == RiskDecision.BLOCK) {
+            unrecord(rules, recorded, now, amountMinor);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        unrecord(rules, recorded, now, amountMinor);
+                    }
+                }
+            });
+        }
+        decisions.get(decision).increment();
+        if (decision == RiskDecision.ALLOW) {
+            return Assessment.ALLOW;
+        }
+        log.warn("Velocity rules {} tripped by {} for user {} on account {}: {}", tripped, operation, userId, accountId, decision);
+        return new Assessment(decision, List.copyOf(tripped));
+    }
+
+    // same timestamp as the add, so the delta comes out of the bucket it went into, if still in the window
+    private static void unrecord(List<CompiledRule> rules, SlidingWindowCounter[] recorded, long now, long amountMinor) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (recorded[i] != null) {
+                recorded[i].add(now, -rules.get(i).delta(amountMinor));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${account.velocity.purge-interval:PT5M}",
+            initialDelayString = "${account.velocity.purge-interval:PT5M}")
+    public void purgeIdle() {
+        long now = System.currentTimeMillis();
+        int before = counters.size();
+        counters.values().removeIf(counter -> counter.isIdle(now));
+        log.debug("Purged {} idle velocity counters", before - counters.size());
+    }
+
+    private void validate(Rule rule) {
+        if (rule.name() == null || rule.operation() == null || rule.scope() == null || rule.window() == null
+                || rule.decision() == null) {
+            throw new IllegalArgumentException("Velocity rule " + rule.name() + " needs a name, operation, scope, window and decision");
+        }
+        if (rule.threshold() < 0 || rule.window().toMillis() < buckets) {
+            throw new IllegalArgumentException("Velocity rule " + rule.name() + " needs a threshold >= 0 and a window of at least "
+                    + buckets + " ms");
+        }
+        if (rule.decision() == RiskDecision.ALLOW) {
+            throw new IllegalArgumentException("Velocity rule " + rule.name() + " must REVIEW or BLOCK");
+        }
+    }
+
+    private record CompiledRule(int index, Rule rule, long windowMillis) {
+
+        long delta(long amountMinor) {
+            return rule.measure() == VelocityMeasure.COUNT ? 1 : amountMinor;
+        }
+    }
+
+    private record CounterKey(int rule, UUID subject) {
+    }
+}
@@ -0,0 +1,77 @@
+package js.project.account_service.util;
+
+/**
+ * Layout of an account number: 4-digit branch code, 7-digit zero-padded serial, Luhn check digit.
+ * <p>
+ * Encoding writes straight into a char buffer instead of going through {@code String.format} and
+ * string concatenation; {@link #encode(String, long)} allocates only the 12-char buffer and the
+ * resulting String. Decoding reads the digits in place without substrings.
+ */
+public final class AccountNumberCodec {
+
+    public static final int BRANCH_CODE_LENGTH = 4;
+    public static final int SERIAL_LENGTH = 7;
+    public static final int LENGTH = BRANCH_CODE_LENGTH + SERIAL_LENGTH + 1;
+    public static final long MAX_SERIAL = 9_999_999L;
+
+    public record Parts(String branchCode, long serial) {
+    }
+
+    private AccountNumberCodec() {
+    }
+
+    public static String encode(String branchCode, long serial) {
+        char[] buffer = new char[LENGTH];
+        encodeInto(buffer, 0, branchCode, serial);
+        return new String(buffer);
+    }
+
+    /**
+     * Writes the {@link #LENGTH} characters of the account number into {@code buffer} at
+     * {@code offset}, for callers that reuse one buffer across many numbers.
+     */
+    public static void encodeInto(char[] buffer, int offset, String branchCode, long serial) {
+        if (branchCode == null || branchCode.length() != BRANCH_CODE_LENGTH) {
+            throw new IllegalArgumentException("Branch code must be " + BRANCH_CODE_LENGTH + " digits: " + branchCode);
+        }
+        if (serial < 0 || serial > MAX_SERIAL) {
+            throw new IllegalArgumentException("Serial out of range: " + serial);
+        }
+        branchCode.getChars(0, BRANCH_CODE_LENGTH, buffer, offset);
+        long remaining = serial;
+        for (int i = offset + BRANCH_CODE_LENGTH + SERIAL_LENGTH - 1; i >= offset + BRANCH_CODE_LENGTH; i--) {
+            buffer[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        int checkDigit = LuhnAlgorithm.generateCheckDigit(buffer, offset, LENGTH - 1);
+        buffer[offset + LENGTH - 1] = (char) ('0' + checkDigit);
+    }
+
+    /**
+     * Cheap structural check suitable for rejecting input before any lookup: length, digits only
+     * and a matching check digit.
+     */
+    public static boolean isValid(CharSequence accountNumber) {
+        return accountNumber != null && accountNumber.length() == LENGTH && LuhnAlgorithm.validate(accountNumber);
+    }
+
+    public static long serialOf(CharSequence accountNumber) {
+        requireValid(accountNumber);
+        long serial = 0;
+        for (int i = BRANCH_CODE_LENGTH; i < BRANCH_CODE_LENGTH + SERIAL_LENGTH; i++) {
+            serial = serial * 10 + (accountNumber.charAt(i) - '0');
+        }
+        return serial;
+    }
+
+    public static Parts decode(CharSequence accountNumber) {
+        long serial = serialOf(accountNumber);
+        return new Parts(accountNumber.subSequence(0, BRANCH_CODE_LENGTH).toString(), serial);
+    }
+
+    private static void requireValid(CharSequence accountNumber) {
+        if (!isValid(accountNumber)) {
+            throw new IllegalArgumentException("Invalid account number: " + accountNumber);
+        }
+    }
+}
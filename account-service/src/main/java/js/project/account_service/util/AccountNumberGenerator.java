@@ -1,28 +1,20 @@
 package js.project.account_service.util;
 
-import js.project.account_service.exception.BranchNotFoundException;
-import js.project.account_service.model.BankBranch;
-import js.project.account_service.repository.BankBranchRepository;
-import lombok.RequiredArgsConstructor;
+import js.project.account_service.model.dto.BankBranchDto;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class AccountNumberGenerator {
 
-    private final BankBranchRepository bankBranchRepository;
+    /** 4-digit branch code + 7-digit serial + 1 check digit = 12 characters. */
+    public static final long MAX_SERIAL = AccountNumberCodec.MAX_SERIAL;
 
-    public String generateAccountNumber(String branchCode, long sequentialNumber) {
-        log.info("Generating account number for branch {} and sequential number {}", branchCode, sequentialNumber);
-        BankBranch branch = bankBranchRepository.findByBranchCode(branchCode)
-                .orElseThrow(() -> new BranchNotFoundException("Branch not found with ID: " + branchCode));
-
-        String formattedSerialNumber = String.format("%08d", sequentialNumber);
-        String accountNumberWithoutCheckDigit = branch.getBankCode() + branch.getBranchCode() + formattedSerialNumber;
-        int checkDigit = LuhnAlgorithm.generateCheckDigit(accountNumberWithoutCheckDigit);
-        String accountNumber = accountNumberWithoutCheckDigit + checkDigit;
+    // The caller has already resolved the branch, so there is nothing to look up again here
+    public String generateAccountNumber(BankBranchDto branch, long sequentialNumber) {
+        log.info("Generating account number for branch {} and sequential number {}", branch.branchCode(), sequentialNumber);
+        String accountNumber = AccountNumberCodec.encode(branch.branchCode(), sequentialNumber);
         log.info("Generated account number: {}", accountNumber);
         return accountNumber;
     }
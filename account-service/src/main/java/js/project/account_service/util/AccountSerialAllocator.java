@@ -0,0 +1,103 @@
+package js.project.account_service.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.service.BranchSerialBlockService;
+import js.project.account_service.service.BranchSerialBlockService.SerialBlock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serial numbers for new accounts. Every branch has its own serial space and its own in-memory
+ * allocator, so a burst of openings at one branch neither contends with nor consumes the numbers
+ * of any other branch. Blocks are reserved through {@link BranchSerialBlockService}, which keeps
+ * instances from handing out the same serial.
+ * <p>
+ * Per-branch meters: {@code account.serial.allocated}, {@code account.serial.refills},
+ * {@code account.serial.block.remaining} (reserved here, not yet used) and
+ * {@code account.serial.branch.remaining} (not yet reserved by any instance, as of the last refill).
+ */
+@Component
+@Slf4j
+public class AccountSerialAllocator {
+
+    private final BranchSerialBlockService branchSerialBlockService;
+    private final MeterRegistry meterRegistry;
+    private final int blockSize;
+    private final ConcurrentMap<String, BranchAllocator> allocators = new ConcurrentHashMap<>();
+
+    public AccountSerialAllocator(BranchSerialBlockService branchSerialBlockService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${account.number.sequence.block-size:50}") int blockSize) {
+        this.branchSerialBlockService = branchSerialBlockService;
+        this.meterRegistry = meterRegistry;
+        this.blockSize = blockSize;
+    }
+
+    public long nextSerial(String branchCode) {
+        return allocators.computeIfAbsent(branchCode, this::createAllocator).allocator.next();
+    }
+
+    /**
+     * Serials for a bulk opening, reserved with one database round trip per block the branch can
+     * grant rather than one per account.
+     */
+    public long[] nextSerials(String branchCode, int count) {
+        return allocators.computeIfAbsent(branchCode, this::createAllocator).allocator.next(count);
+    }
+
+    private BranchAllocator createAllocator(String branchCode) {
+        BranchAllocator branch = new BranchAllocator();
+        branch.allocator = new PooledSequenceAllocator(blockSize, size -> reserve(branch, branchCode, size));
+
+        FunctionCounter.builder("account.serial.allocated", branch.allocator, PooledSequenceAllocator::allocatedCount)
+                .tag("branch", branchCode)
+                .description("Account serials handed out by this instance")
+                .register(meterRegistry);
+        FunctionCounter.builder("account.serial.refills", branch.allocator, PooledSequenceAllocator::refillCount)
+                .tag("branch", branchCode)
+                .description("Serial blocks reserved from the database")
+                .register(meterRegistry);
+        Gauge.builder("account.serial.block.remaining", branch.allocator, PooledSequenceAllocator::remainingInBlock)
+                .tag("branch", branchCode)
+                .description("Reserved serials not yet handed out")
+                .register(meterRegistry);
+        Gauge.builder("account.serial.branch.remaining", branch, b -> b.unreserved)
+                .tag("branch", branchCode)
+                .description("Serials left in the branch's serial space")
+                .register(meterRegistry);
+        return branch;
+    }
+
+    private long[] reserve(BranchAllocator branch, String branchCode, int size) {
+        SerialBlock block;
+        try {
+            block = branchSerialBlockService.reserveBlock(branchCode, size);
+        } catch (DataIntegrityViolationException ex) {
+            // another instance created the branch's sequence row first; its row is there now
+            block = branchSerialBlockService.reserveBlock(branchCode, size);
+        }
+
+        branch.unreserved = block.remaining();
+        if (block.remaining() < AccountNumberGenerator.MAX_SERIAL / 10) {
+            log.warn("Branch {} has only {} account serials left", branchCode, block.remaining());
+        }
+
+        long[] values = new long[block.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = block.first() + i;
+        }
+        return values;
+    }
+
+    private static final class BranchAllocator {
+        PooledSequenceAllocator allocator;
+        volatile double unreserved = Double.NaN;
+    }
+}
@@ -0,0 +1,128 @@
+package js.project.account_service.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded least-recently-used map whose entries also expire a fixed time after they were written.
+ * Expired entries are dropped lazily when they are next read.
+ * <p>
+ * A loader can race with an invalidation. It reads the old row, the writer commits and invalidates,
+ * and then the loader stores the old value. To prevent that, a loader takes a {@link #stamp()}
+ * before it reads and stores through {@link #putIfNotInvalidatedSince}. The put is dropped if the
+ * key was invalidated after the stamp was taken. The most recent invalidations are remembered in a
+ * separate bounded map. Once that map overflows, any put whose stamp predates the oldest
+ * remembered invalidation is dropped as well.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private static final int MAX_TRACKED_INVALIDATIONS = 4096;
+
+    private final int capacity;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final LinkedHashMap<K, Long> invalidations;
+
+    private long generation;
+    private long forgottenInvalidation;
+    private long evictions;
+    private long expirations;
+
+    public ExpiringLruCache(int capacity, long ttlNanos, LongSupplier clock) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (ttlNanos <= 0) {
+            throw new IllegalArgumentException("TTL must be positive: " + ttlNanos);
+        }
+        this.capacity = capacity;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > ExpiringLruCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.invalidations = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                if (size() > MAX_TRACKED_INVALIDATIONS) {
+                    forgottenInvalidation = eldest.getValue();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.expiresAt() >= 0) {
+            entries.remove(key);
+            expirations++;
+            return null;
+        }
+        return entry.value();
+    }
+
+    public synchronized long stamp() {
+        return generation;
+    }
+
+    /**
+     * Stores the value unless the key was invalidated after {@code stamp} was taken.
+     *
+     * @return whether the value was stored
+     */
+    public synchronized boolean putIfNotInvalidatedSince(K key, V value, long stamp) {
+        if (stamp < forgottenInvalidation) {
+            return false;
+        }
+        Long invalidatedAt = invalidations.get(key);
+        if (invalidatedAt != null && invalidatedAt > stamp) {
+            return false;
+        }
+        entries.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+        return true;
+    }
+
+    /** Stores the value unconditionally, for callers that never invalidate keys. */
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        invalidations.remove(key);
+        invalidations.put(key, ++generation);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    public synchronized long expirations() {
+        return expirations;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,76 @@
+package js.project.account_service.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: a ring of {@code slotCount} buckets, each covering one tick. An item goes
+ * into the bucket its deadline hashes to, so scheduling is O(1) and advancing the clock only looks
+ * at the buckets whose ticks passed, not at everything pending. Items more than one rotation away
+ * share a bucket with nearer ones and stay put until their own tick comes round.
+ * <p>
+ * Not thread-safe; meant to be driven by a single scheduler thread.
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Entry<T>>[] slots;
+    private long nextTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int slotCount, long startMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("Tick and slot count must be positive: " + tickMillis + ", " + slotCount);
+        }
+        // round up to a power of two so the slot index is a mask instead of a modulo
+        int length = slotCount == 1 ? 1 : Integer.highestOneBit(slotCount - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.mask = length - 1;
+        this.slots = new List[length];
+        for (int i = 0; i < length; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.nextTick = startMillis / tickMillis;
+    }
+
+    /** Deadlines already passed fire in the next tick. */
+    public void schedule(T item, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, nextTick);
+        slots[(int) (tick & mask)].add(new Entry<>(item, tick));
+        size++;
+    }
+
+    /** Hands every item whose deadline is at or before {@code nowMillis} to {@code expired}, oldest tick first. */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        long target = nowMillis / tickMillis;
+        if (target < nextTick) {
+            return;
+        }
+        // after a long pause every bucket is due once; no need to go round more than one rotation
+        long last = Math.min(target, nextTick + mask);
+        for (long tick = nextTick; tick <= last; tick++) {
+            List<Entry<T>> slot = slots[(int) (tick & mask)];
+            if (!slot.isEmpty()) {
+                slot.removeIf(entry -> {
+                    if (entry.tick() > target) {
+                        return false;
+                    }
+                    expired.accept(entry.item());
+                    size--;
+                    return true;
+                });
+            }
+        }
+        nextTick = target + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
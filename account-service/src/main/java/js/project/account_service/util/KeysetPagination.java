@@ -0,0 +1,57 @@
+package js.project.account_service.util;
+
+import js.project.account_service.model.response.CursorPage;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs a Specification as a keyset-paginated query: one {@code LIMIT size + 1} query per page, the
+ * extra row only telling whether there is a next page. No OFFSET and no count query.
+ */
+public final class KeysetPagination {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private KeysetPagination() {
+    }
+
+    public static <T> CursorPage<T> scroll(JpaSpecificationExecutor<T> repository, Specification<T> specification,
+                                           String cursor, int size,
+                                           Function<T, LocalDateTime> createdAt, Function<T, UUID> id) {
+        return scroll((seek, limit) -> repository.findBy(seek, query -> query.sortBy(KeysetCursor.SORT).limit(limit).all()),
+                specification, cursor, size, createdAt, id);
+    }
+
+    /**
+     * Same as above for queries that return something other than the entity, typically a DTO
+     * projection. {@code query} receives the seek specification and the row limit, and must apply
+     * {@link KeysetCursor#SORT}.
+     */
+    public static <E, T> CursorPage<T> scroll(BiFunction<Specification<E>, Integer, List<T>> query,
+                                              Specification<E> specification, String cursor, int size,
+                                              Function<T, LocalDateTime> createdAt, Function<T, UUID> id) {
+        if (size <= 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE + ": " + size);
+        }
+        Specification<E> seek = cursor == null || cursor.isBlank()
+                ? specification
+                : specification.and(KeysetCursor.decode(cursor).after());
+
+        List<T> rows = query.apply(seek, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            T last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(createdAt.apply(last), id.apply(last)).encode();
+        }
+        return new CursorPage<>(List.copyOf(items), size, hasNext, nextCursor);
+    }
+}
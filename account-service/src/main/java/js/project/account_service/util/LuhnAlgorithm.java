@@ -1,20 +1,70 @@
 package js.project.account_service.util;
 
-public class LuhnAlgorithm {
-    public static int generateCheckDigit(String number) {
+/**
+ * Luhn (mod 10) check digits computed with char arithmetic, so neither generation nor validation
+ * allocates.
+ */
+public final class LuhnAlgorithm {
+
+    /** Luhn-doubled value of each digit: 2d, minus 9 when that exceeds 9. */
+    private static final int[] DOUBLED = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+
+    private LuhnAlgorithm() {
+    }
+
+    public static int generateCheckDigit(CharSequence number) {
+        return checkDigit(sum(number, 0, number.length(), true));
+    }
+
+    public static int generateCheckDigit(char[] digits, int offset, int length) {
         int sum = 0;
-        boolean alternate = false;
-        for (int i = number.length() - 1; i >= 0; i--) {
-            int n = Integer.parseInt(number.substring(i, i + 1));
-            if (alternate) {
-                n *= 2;
-                if (n > 9) {
-                    n = (n % 10) + 1;
-                }
+        boolean doubled = true;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            int digit = digitAt(digits[i], i);
+            sum += doubled ? DOUBLED[digit] : digit;
+            doubled = !doubled;
+        }
+        return checkDigit(sum);
+    }
+
+    /**
+     * Returns true when the last character of {@code number} is the Luhn check digit of the rest.
+     * Non-digit input is reported as invalid rather than thrown.
+     */
+    public static boolean validate(CharSequence number) {
+        int length = number.length();
+        if (length < 2) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
             }
-            sum += n;
-            alternate = !alternate;
         }
+        return sum(number, 0, length, false) % 10 == 0;
+    }
+
+    private static int sum(CharSequence number, int from, int to, boolean doubleLast) {
+        int sum = 0;
+        boolean doubled = doubleLast;
+        for (int i = to - 1; i >= from; i--) {
+            int digit = digitAt(number.charAt(i), i);
+            sum += doubled ? DOUBLED[digit] : digit;
+            doubled = !doubled;
+        }
+        return sum;
+    }
+
+    private static int checkDigit(int sum) {
         return (10 - (sum % 10)) % 10;
     }
-}
\ No newline at end of file
+
+    private static int digitAt(char c, int index) {
+        int digit = c - '0';
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("Non-digit character '" + c + "' at position " + index);
+        }
+        return digit;
+    }
+}
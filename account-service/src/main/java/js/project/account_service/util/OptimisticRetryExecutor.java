@@ -0,0 +1,93 @@
+package js.project.account_service.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import js.project.account_service.exception.ConcurrentUpdateException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write in its own transaction and, when the commit loses a {@code @Version}
+ * check against a concurrent writer, runs the whole transaction again on fresh rows. Attempts are
+ * spaced with exponential backoff and full jitter so that contending callers spread out instead of
+ * colliding again in lockstep. Once the attempts are used up the conflict is reported to the caller
+ * as a {@link ConcurrentUpdateException}.
+ * <p>
+ * A transaction that is already open cannot be retried from inside, its persistence context is
+ * spoiled by the failed flush. In that case the action runs once and the conflict propagates to
+ * whoever owns the outer transaction.
+ */
+@Component
+@Slf4j
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Map<String, Counter> retries = new ConcurrentHashMap<>();
+    private final Map<String, Counter> exhausted = new ConcurrentHashMap<>();
+
+    public OptimisticRetryExecutor(TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                                   @Value("${account.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${account.optimistic-retry.initial-backoff:PT0.01S}") Duration initialBackoff,
+                                   @Value("${account.optimistic-retry.max-backoff:PT0.2S}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Optimistic retry attempts must be positive: " + maxAttempts);
+        }
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(maxBackoff.toNanos(), initialBackoffNanos);
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException ex) {
+                if (attempt >= maxAttempts) {
+                    counter(exhausted, "account.optimistic.conflicts", operation).increment();
+                    log.warn("{} lost {} optimistic lock races in a row, giving up", operation, attempt);
+                    throw new ConcurrentUpdateException(operation + " conflicted with concurrent updates, please retry");
+                }
+                counter(retries, "account.optimistic.retries", operation).increment();
+                log.debug("{} hit an optimistic lock conflict on attempt {}, retrying", operation, attempt);
+                backoff(operation, attempt);
+            }
+        }
+    }
+
+    private void backoff(String operation, int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        long nanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentUpdateException(operation + " was interrupted while waiting to retry");
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String operation) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder(name).tag("operation", op).register(meterRegistry));
+    }
+}
@@ -0,0 +1,123 @@
+package js.project.account_service.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * Hands out values from blocks reserved in a single call to a slow source (typically a database
+ * sequence). Within a block, callers claim values with one atomic increment; only the caller that
+ * finds the block exhausted takes the refill lock and goes back to the source, while the others
+ * wait for it instead of issuing their own round trips.
+ * <p>
+ * Values reserved but never handed out (e.g. on shutdown) are lost, so the resulting serials are
+ * unique but not gap-free.
+ */
+public class PooledSequenceAllocator {
+
+    private final IntFunction<long[]> blockSource;
+    private final int blockSize;
+    private final AtomicReference<Block> current = new AtomicReference<>(Block.EMPTY);
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private final LongAdder allocated = new LongAdder();
+    private final LongAdder refills = new LongAdder();
+
+    public PooledSequenceAllocator(int blockSize, IntFunction<long[]> blockSource) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.blockSource = blockSource;
+    }
+
+    public long next() {
+        while (true) {
+            Block block = current.get();
+            int index = block.cursor.getAndIncrement();
+            if (index < block.values.length) {
+                allocated.increment();
+                return block.values[index];
+            }
+            refill(block);
+        }
+    }
+
+    /**
+     * Hands out {@code count} values at once: first whatever is left in the current block, then
+     * the rest straight from the source in as few calls as it allows. The dedicated reservation
+     * does not replace the current block, so concurrent {@link #next()} callers are unaffected.
+     */
+    public long[] next(int count) {
+        long[] result = new long[count];
+        int filled = 0;
+
+        Block block = current.get();
+        int start = block.cursor.getAndAdd(count);
+        if (start < block.values.length) {
+            filled = Math.min(count, block.values.length - start);
+            System.arraycopy(block.values, start, result, 0, filled);
+        }
+
+        while (filled < count) {
+            long[] values = blockSource.apply(count - filled);
+            if (values == null || values.length == 0) {
+                throw new IllegalStateException("Sequence source returned no values");
+            }
+            int taken = Math.min(values.length, count - filled);
+            System.arraycopy(values, 0, result, filled, taken);
+            filled += taken;
+            refills.increment();
+        }
+
+        allocated.add(count);
+        return result;
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    public long allocatedCount() {
+        return allocated.sum();
+    }
+
+    public long refillCount() {
+        return refills.sum();
+    }
+
+    /** Values reserved from the source and not yet handed out. */
+    public int remainingInBlock() {
+        Block block = current.get();
+        return Math.max(block.values.length - block.cursor.get(), 0);
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (current.get() != exhausted) {
+                return;
+            }
+            long[] values = blockSource.apply(blockSize);
+            if (values == null || values.length == 0) {
+                throw new IllegalStateException("Sequence source returned no values");
+            }
+            current.set(new Block(values));
+            refills.increment();
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private static final class Block {
+        static final Block EMPTY = new Block(new long[0]);
+
+        final long[] values;
+        final AtomicInteger cursor = new AtomicInteger();
+
+        Block(long[] values) {
+            this.values = values;
+        }
+    }
+}
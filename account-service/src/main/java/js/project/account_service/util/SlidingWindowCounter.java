@@ -0,0 +1,75 @@
+package js.project.account_service.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Running total over a sliding time window, kept in a ring of {@code bucketCount} buckets of
+ * {@code window / bucketCount} each. A bucket is an immutable (epoch, value) pair swapped in with a
+ * compare-and-set, so concurrent writers never block each other and never lose an update: a writer
+ * that finds a bucket left over from an earlier rotation replaces it instead of adding to it.
+ * <p>
+ * The window slides a bucket at a time: the total covers the current, partly elapsed bucket and the
+ * {@code bucketCount - 1} before it.
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+        if (bucketCount <= 0 || windowMillis < bucketCount) {
+            throw new IllegalArgumentException("Window of " + windowMillis + " ms cannot be split into " + bucketCount + " buckets");
+        }
+        this.bucketMillis = windowMillis / bucketCount;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    /** Adds {@code delta} at {@code nowMillis} and returns the window total including it. */
+    public long add(long nowMillis, long delta) {
+        long epoch = nowMillis / bucketMillis;
+        int slot = (int) Math.floorMod(epoch, (long) buckets.length());
+        while (true) {
+            Bucket current = buckets.get(slot);
+            Bucket next;
+            if (current == null || current.epoch() < epoch) {
+                next = new Bucket(epoch, delta);
+            } else if (current.epoch() == epoch) {
+                next = new Bucket(epoch, current.value() + delta);
+            } else {
+                break; // a writer with a later clock already reused the slot; this event has left the window
+            }
+            if (buckets.compareAndSet(slot, current, next)) {
+                break;
+            }
+        }
+        return total(nowMillis);
+    }
+
+    public long total(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        long oldest = epoch - buckets.length() + 1;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch() >= oldest && bucket.epoch() <= epoch) {
+                total += bucket.value();
+            }
+        }
+        return total;
+    }
+
+    /** True once nothing recorded is inside the window any more. */
+    public boolean isIdle(long nowMillis) {
+        long oldest = nowMillis / bucketMillis - buckets.length() + 1;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch() >= oldest) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Bucket(long epoch, long value) {
+    }
+}
@@ -0,0 +1,75 @@
+package js.project.account_service.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of locks shared by all accounts. An account id always hashes to the same stripe, so
+ * postings against unrelated accounts proceed in parallel while postings against the same account
+ * are serialized. Multi-account operations acquire their stripes in ascending stripe index, which
+ * gives every thread the same global order and rules out lock-order deadlocks.
+ */
+@Component
+public class StripedAccountLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public StripedAccountLock(@Value("${account.ledger.lock-stripes:256}") int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Lock stripe count must be positive: " + stripeCount);
+        }
+        // round up to a power of two so the stripe index is a mask instead of a modulo
+        int size = stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    public int stripeFor(UUID accountId) {
+        int h = accountId.hashCode();
+        h ^= (h >>> 16);
+        return h & mask;
+    }
+
+    public <T> T withLock(UUID accountId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeFor(accountId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T withLocks(UUID first, UUID second, Supplier<T> action) {
+        int a = stripeFor(first);
+        int b = stripeFor(second);
+        if (a == b) {
+            return withLock(first, action);
+        }
+        ReentrantLock lower = stripes[Math.min(a, b)];
+        ReentrantLock upper = stripes[Math.max(a, b)];
+        lower.lock();
+        try {
+            upper.lock();
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+}
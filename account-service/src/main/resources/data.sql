@@ -1 +0,0 @@
-CREATE SEQUENCE account_serial_number_sequence START WITH 1 INCREMENT BY 1 MINVALUE 1 MAXVALUE 99999999 CYCLE;
\ No newline at end of file
@@ -0,0 +1,113 @@
+package js.project.account_service.benchmark;
+
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.AccountSpecifications;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.benchmark.BenchmarkJpaConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 1,000-row account search page, loaded the old way (Account entities copied into AccountDto)
+ * and through the constructor projection. Both run inside a read-only transaction, as the service
+ * does, against an in-memory H2 database in a minimal Spring context. Allocation is the figure of
+ * interest, so run it with the GC profiler and compare {@code gc.alloc.rate.norm}:
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main AccountListingBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+UseParallelGC", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class AccountListingBenchmark {
+
+    @Param({"1000"})
+    public int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private AccountRepository accountRepository;
+    private TransactionTemplate readOnly;
+    private Specification<Account> specification;
+    private Pageable pageable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkJpaConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:listing;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration",
+                        "--spring.cloud.discovery.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        accountRepository = context.getBean(AccountRepository.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            BankBranch branch = context.getBean(BankBranchRepository.class)
+                    .save(BankBranch.builder().branchCode("1234").branchName("Benchmark").build());
+            List<Account> accounts = new ArrayList<>();
+            for (int i = 0; i < pageSize * 2; i++) {
+                accounts.add(Account.builder()
+                        .userId(UUID.randomUUID())
+                        .accountNumber(String.format("1234%08d", i))
+                        .accountType(i % 2 == 0 ? AccountType.SAVINGS : AccountType.CHECKING)
+                        .bankBranch(branch)
+                        .balance(Money.ofMinor(i * 100L, "USD"))
+                        .status(AccountStatus.ACTIVE)
+                        .build());
+            }
+            accountRepository.saveAll(accounts);
+        });
+
+        specification = AccountSpecifications.search(null, null, AccountStatus.ACTIVE);
+        pageable = PageRequest.of(0, pageSize, Sort.by("id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entityPage(Blackhole blackhole) {
+        Page<AccountDto> page = readOnly.execute(status -> accountRepository.findAll(specification, pageable).map(AccountDto::new));
+        blackhole.consume(page);
+    }
+
+    @Benchmark
+    public void projectionPage(Blackhole blackhole) {
+        Page<AccountDto> page = readOnly.execute(status -> accountRepository.findDtos(specification, pageable));
+        blackhole.consume(page);
+    }
+}
@@ -0,0 +1,87 @@
+package js.project.account_service.benchmark;
+
+import js.project.account_service.util.AccountNumberCodec;
+import js.project.account_service.util.LuhnAlgorithm;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account-number generation and validation: the previous {@code String.format} + substring/parseInt
+ * Luhn against {@link AccountNumberCodec}. Run with {@code -prof gc} to compare allocation per
+ * operation as well as time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class AccountNumberBenchmark {
+
+    private static final int MASK = 1023;
+
+    private long[] serials;
+    private String[] accountNumbers;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        serials = new long[MASK + 1];
+        accountNumbers = new String[MASK + 1];
+        for (int i = 0; i <= MASK; i++) {
+            serials[i] = (i * 7_919L) % AccountNumberCodec.MAX_SERIAL;
+            accountNumbers[i] = AccountNumberCodec.encode("1234", serials[i]);
+        }
+    }
+
+    @Benchmark
+    public String generateLegacy() {
+        String payload = "1234" + String.format("%07d", serials[next()]);
+        return payload + legacyCheckDigit(payload);
+    }
+
+    @Benchmark
+    public String generateCodec() {
+        return AccountNumberCodec.encode("1234", serials[next()]);
+    }
+
+    @Benchmark
+    public boolean validateLegacy() {
+        String accountNumber = accountNumbers[next()];
+        String payload = accountNumber.substring(0, accountNumber.length() - 1);
+        return Integer.parseInt(accountNumber.substring(accountNumber.length() - 1)) == legacyCheckDigit(payload);
+    }
+
+    @Benchmark
+    public boolean validateCodec() {
+        return AccountNumberCodec.isValid(accountNumbers[next()]);
+    }
+
+    @Benchmark
+    public boolean validateLuhn() {
+        return LuhnAlgorithm.validate(accountNumbers[next()]);
+    }
+
+    private int next() {
+        return cursor++ & MASK;
+    }
+
+    /** The check digit computation as it was before the codec. */
+    private static int legacyCheckDigit(String number) {
+        int sum = 0;
+        boolean alternate = false;
+        for (int i = number.length() - 1; i >= 0; i--) {
+            int n = Integer.parseInt(number.substring(i, i + 1));
+            if (alternate) {
+                n *= 2;
+                if (n > 9) {
+                    n = (n % 10) + 1;
+                }
+            }
+            sum += n;
+            alternate = !alternate;
+        }
+        return (10 - (sum % 10)) % 10;
+    }
+}
@@ -0,0 +1,160 @@
+package js.project.account_service.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.dto.AccrualRunDto;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.AccrualPartitionRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import js.project.account_service.service.AccountDetailsCache;
+import js.project.account_service.service.InterestAccrualService;
+import js.project.benchmark.BenchmarkJpaConfig;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full nightly accrual runs over a synthetic book of ACTIVE savings and fixed-deposit accounts, at
+ * 1, 4 and 16 workers. Each measured op is one complete run for a new date, so the score is seconds
+ * per run; {@code main} turns it into accounts/sec. The accounts live in a file-backed H2 database
+ * under {@code target/} that is seeded once and reused by every fork (ten million accounts take a
+ * few GB of disk and several minutes to seed); the ledger is emptied between iterations. Point
+ * {@code -Dbenchmark.datasource.url} (plus {@code .driver}, {@code .username} and {@code .password}) at PostgreSQL for
+ * production-like numbers:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=js.project.account_service.benchmark.InterestAccrualBenchmark
+ * </pre>
+ * Pass {@code -Dbenchmark.accounts=100000} for a quick run.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+UseParallelGC", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class InterestAccrualBenchmark {
+
+    private static final int SEED_BATCH = 10_000;
+
+    @Param({"10000000"})
+    public int accounts;
+
+    @Param({"1", "4", "16"})
+    public int workers;
+
+    private ConfigurableApplicationContext context;
+    private InterestAccrualService accrualService;
+    private JdbcTemplate jdbcTemplate;
+    private LocalDate runDate = LocalDate.of(2000, 1, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BenchmarkJpaConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + System.getProperty("benchmark.datasource.url",
+                                "jdbc:h2:file:./target/accrual-benchmark;DB_CLOSE_ON_EXIT=FALSE"),
+                        "--spring.datasource.driver-class-name=" + System.getProperty("benchmark.datasource.driver", "org.h2.Driver"),
+                        "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "sa"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", ""),
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.jpa.properties.hibernate.order_updates=true",
+                        "--spring.datasource.hikari.maximum-pool-size=" + (workers + 2),
+                        "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration",
+                        "--spring.cloud.discovery.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        accrualService = new InterestAccrualService(context.getBean(AccrualPartitionRepository.class),
+                context.getBean(AccountRepository.class), context.getBean(LedgerEntryRepository.class),
+                Mockito.mock(AccountDetailsCache.class), transactionTemplate, new SimpleMeterRegistry(),
+                new BigDecimal("0.035"), new BigDecimal("0.065"), 64, workers, 500, Duration.ofMinutes(5));
+        // dates already accrued by earlier forks would credit nothing
+        LocalDate last = jdbcTemplate.queryForObject("SELECT MAX(run_date) FROM account_service_accrual_partition", LocalDate.class);
+        if (last != null) {
+            runDate = last;
+        }
+    }
+
+    private void seed() {
+        long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account_service_account", Long.class);
+        if (existing >= accounts) {
+            return;
+        }
+        BankBranch branch = context.getBean(BankBranchRepository.class).findByBranchCode("9999")
+                .orElseGet(() -> context.getBean(BankBranchRepository.class)
+                        .save(BankBranch.builder().branchCode("9999").branchName("Benchmark").build()));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (long from = existing; from < accounts; from += SEED_BATCH) {
+            List<Object[]> rows = new ArrayList<>(SEED_BATCH);
+            for (long i = from; i < Math.min(from + SEED_BATCH, accounts); i++) {
+                rows.add(new Object[]{UUID.randomUUID(), UUID.randomUUID(), String.format("9999%08d", i),
+                        i % 4 == 0 ? "FIXED_DEPOSIT" : "SAVINGS", branch.getId(), 1_000_000L + i % 1_000, now});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO account_service_account (account_id, user_id, account_number, account_type, " +
+                    "branch_id, balance_minor, currency, status, created_at, version) VALUES (?, ?, ?, ?, ?, ?, 'USD', 'ACTIVE', ?, 0)", rows);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void emptyLedger() {
+        jdbcTemplate.execute("TRUNCATE TABLE account_service_ledger_entry");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public AccrualRunDto accrue() {
+        runDate = runDate.plusDays(1);
+        AccrualRunDto run = accrualService.accrue(runDate, workers);
+        if (!run.complete()) {
+            throw new IllegalStateException("Accrual for " + runDate + " did not complete");
+        }
+        return run;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String accounts = System.getProperty("benchmark.accounts", "10000000");
+        Options options = new OptionsBuilder()
+                .include(InterestAccrualBenchmark.class.getSimpleName())
+                .param("accounts", accounts)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        for (RunResult result : results) {
+            double secondsPerRun = result.getPrimaryResult().getScore();
+            System.out.printf("%2s workers: %,.0f accounts/s%n",
+                    result.getParams().getParam("workers"), Long.parseLong(accounts) / secondsPerRun);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package js.project.account_service.benchmark;
+
+import js.project.account_service.model.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal vs Money for the arithmetic a transfer does: check funds, debit, credit, then render the
+ * resulting balance once for the response. Each invocation runs a batch of {@code transfers} so the
+ * per-operation cost dominates the harness overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    @Param({"1000"})
+    public int transfers;
+
+    private BigDecimal[] decimalAmounts;
+    private Money[] moneyAmounts;
+
+    @Setup
+    public void setUp() {
+        decimalAmounts = new BigDecimal[transfers];
+        moneyAmounts = new Money[transfers];
+        for (int i = 0; i < transfers; i++) {
+            BigDecimal amount = BigDecimal.valueOf(100 + (i * 37L) % 10_000, 2);
+            decimalAmounts[i] = amount;
+            moneyAmounts[i] = Money.of(amount, "USD");
+        }
+    }
+
+    @Benchmark
+    public void bigDecimalTransfers(Blackhole blackhole) {
+        BigDecimal from = new BigDecimal("1000000.00");
+        BigDecimal to = BigDecimal.ZERO.setScale(2);
+        for (BigDecimal amount : decimalAmounts) {
+            if (from.compareTo(amount) >= 0) {
+                from = from.subtract(amount);
+                to = to.add(amount);
+            }
+        }
+        blackhole.consume(from.compareTo(BigDecimal.ZERO) != 0);
+        blackhole.consume(to);
+    }
+
+    @Benchmark
+    public void moneyTransfers(Blackhole blackhole) {
+        Money from = Money.ofMinor(100_000_000L, "USD");
+        Money to = Money.zero("USD");
+        for (Money amount : moneyAmounts) {
+            if (!from.isLessThan(amount)) {
+                from = from.minus(amount);
+                to = to.plus(amount);
+            }
+        }
+        blackhole.consume(from.isZero());
+        blackhole.consume(to);
+    }
+
+    @Benchmark
+    public String bigDecimalFormat() {
+        return decimalAmounts[transfers / 2].toPlainString();
+    }
+
+    @Benchmark
+    public String moneyFormat() {
+        return moneyAmounts[transfers / 2].toPlainString();
+    }
+}
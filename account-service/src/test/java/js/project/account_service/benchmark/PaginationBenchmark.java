@@ -0,0 +1,138 @@
+package js.project.account_service.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OFFSET + count(*) pagination (what Spring's {@code Page} issues) against keyset pagination on the
+ * approvals table shape, in an in-memory H2 database with the same
+ * {@code (status, created_at DESC, id DESC)} index and seek predicate the entity and
+ * {@code KeysetCursor} use. The keyset cursor for the requested page is resolved in setup, as a
+ * client walking the pages would already hold it. H2's reuse of the previous result for identical
+ * parameters is switched off so every invocation runs the query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-XX:+UseParallelGC", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class PaginationBenchmark {
+
+    private static final String FILTER = "status = 'PENDING'";
+    // status is fixed by FILTER, so this is the API order; H2 only reads the index in order when the
+    // equality column is named too (Postgres does not need it)
+    private static final String ORDER = " ORDER BY status, created_at DESC, approval_id DESC";
+
+    @Param({"1000000"})
+    public int rows;
+
+    @Param({"1", "5000"})
+    public int page;
+
+    @Param({"20"})
+    public int size;
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement countQuery;
+    private PreparedStatement keysetQuery;
+    private Timestamp cursorCreatedAt;
+    private UUID cursorId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:pagination;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS approval");
+            statement.execute("CREATE TABLE approval (approval_id UUID PRIMARY KEY, account_id UUID NOT NULL, " +
+                    "status VARCHAR(16) NOT NULL, created_at TIMESTAMP NOT NULL)");
+        }
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO approval VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                insert.setObject(1, UUID.randomUUID());
+                insert.setObject(2, UUID.randomUUID());
+                insert.setString(3, i % 10 == 0 ? "APPROVED" : "PENDING");
+                insert.setTimestamp(4, Timestamp.valueOf(start.plusSeconds(i / 4)));
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_approval_status_keyset ON approval (status, created_at DESC, approval_id DESC)");
+            statement.execute("ANALYZE");
+        }
+
+        offsetQuery = connection.prepareStatement("SELECT * FROM approval WHERE " + FILTER + ORDER + " LIMIT ? OFFSET ?");
+        countQuery = connection.prepareStatement("SELECT count(*) FROM approval WHERE " + FILTER);
+        keysetQuery = connection.prepareStatement("SELECT * FROM approval WHERE " + FILTER +
+                " AND created_at <= ? AND (created_at < ? OR approval_id < ?)" + ORDER + " LIMIT ?");
+
+        if (page > 1) {
+            try (PreparedStatement cursorQuery = connection.prepareStatement(
+                    "SELECT created_at, approval_id FROM approval WHERE " + FILTER + ORDER + " LIMIT 1 OFFSET ?")) {
+                cursorQuery.setInt(1, (page - 1) * size - 1);
+                try (ResultSet resultSet = cursorQuery.executeQuery()) {
+                    resultSet.next();
+                    cursorCreatedAt = resultSet.getTimestamp(1);
+                    cursorId = resultSet.getObject(2, UUID.class);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE approval");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void offsetWithCount(Blackhole blackhole) throws SQLException {
+        offsetQuery.setInt(1, size);
+        offsetQuery.setInt(2, (page - 1) * size);
+        consume(offsetQuery, blackhole);
+        consume(countQuery, blackhole);
+    }
+
+    @Benchmark
+    public void offsetOnly(Blackhole blackhole) throws SQLException {
+        offsetQuery.setInt(1, size);
+        offsetQuery.setInt(2, (page - 1) * size);
+        consume(offsetQuery, blackhole);
+    }
+
+    @Benchmark
+    public void keyset(Blackhole blackhole) throws SQLException {
+        if (cursorId == null) {
+            offsetQuery.setInt(1, size + 1);
+            offsetQuery.setInt(2, 0);
+            consume(offsetQuery, blackhole);
+            return;
+        }
+        keysetQuery.setTimestamp(1, cursorCreatedAt);
+        keysetQuery.setTimestamp(2, cursorCreatedAt);
+        keysetQuery.setObject(3, cursorId);
+        keysetQuery.setInt(4, size + 1);
+        consume(keysetQuery, blackhole);
+    }
+
+    private static void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getObject(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package js.project.account_service.benchmark;
+
+import js.project.account_service.util.StripedAccountLock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sustained transfers/sec between a fixed set of hot accounts, striped locking vs a single global
+ * lock. The posting itself is simulated in memory so the numbers isolate lock contention from the
+ * database. Run with {@code main} to sweep 1..N threads, where N is the number of available cores:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=js.project.account_service.benchmark.TransferThroughputBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferThroughputBenchmark {
+
+    @Param({"16", "128"})
+    public int hotAccounts;
+
+    // CPU tokens burned while the locks are held, standing in for the row-lock + UPDATE round trip
+    @Param({"0", "500"})
+    public int postingWork;
+
+    private UUID[] accountIds;
+    private long[] balances;
+    private StripedAccountLock stripedLock;
+    private StripedAccountLock globalLock;
+
+    @Setup
+    public void setUp() {
+        accountIds = new UUID[hotAccounts];
+        balances = new long[hotAccounts];
+        for (int i = 0; i < hotAccounts; i++) {
+            accountIds[i] = UUID.randomUUID();
+            balances[i] = Long.MAX_VALUE / 2;
+        }
+        stripedLock = new StripedAccountLock(256);
+        globalLock = new StripedAccountLock(1);
+    }
+
+    @Benchmark
+    public void stripedTransfer(Blackhole blackhole) {
+        blackhole.consume(transfer(stripedLock));
+    }
+
+    @Benchmark
+    public void globalLockTransfer(Blackhole blackhole) {
+        blackhole.consume(transfer(globalLock));
+    }
+
+    private long transfer(StripedAccountLock lock) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(hotAccounts);
+        int to = (from + 1 + random.nextInt(hotAccounts - 1)) % hotAccounts;
+        return lock.withLocks(accountIds[from], accountIds[to], () -> {
+            Blackhole.consumeCPU(postingWork);
+            if (balances[from] <= 0) {
+                return -1L;
+            }
+            balances[from] -= 1;
+            balances[to] += 1;
+            return balances[to];
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            Options options = new OptionsBuilder()
+                    .include(TransferThroughputBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+            if (threads == cores) {
+                break;
+            }
+        }
+    }
+}
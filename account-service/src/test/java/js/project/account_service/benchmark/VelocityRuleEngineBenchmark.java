@@ -0,0 +1,69 @@
+package js.project.account_service.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.config.VelocityRuleProperties;
+import js.project.account_service.config.VelocityRuleProperties.Rule;
+import js.project.account_service.model.enums.RiskDecision;
+import js.project.account_service.model.enums.VelocityMeasure;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.enums.VelocityScope;
+import js.project.account_service.service.VelocityRuleEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one transfer check against a count rule and an amount rule, alone and with eight threads
+ * checking at once. With {@code accounts = 1} every thread lands on the same counters, the worst case
+ * for the compare-and-set loops; with 10000 they are spread out as in real traffic. Thresholds are out
+ * of reach so every check is ALLOW and nothing is rolled back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Benchmark)
+public class VelocityRuleEngineBenchmark {
+
+    @Param({"1", "10000"})
+    public int accounts;
+
+    private VelocityRuleEngine engine;
+    private UUID[] accountIds;
+    private final UUID userId = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        engine = new VelocityRuleEngine(new VelocityRuleProperties(60, List.of(
+                new Rule("transfer-burst", VelocityOperation.TRANSFER, VelocityScope.ACCOUNT, VelocityMeasure.COUNT,
+                        Duration.ofMinutes(1), Long.MAX_VALUE, RiskDecision.BLOCK),
+                new Rule("large-daily-outflow", VelocityOperation.TRANSFER, VelocityScope.ACCOUNT, VelocityMeasure.AMOUNT,
+                        Duration.ofDays(1), Long.MAX_VALUE, RiskDecision.REVIEW))), new SimpleMeterRegistry());
+        accountIds = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = UUID.randomUUID();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public VelocityRuleEngine.Assessment uncontended() {
+        return assess();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public VelocityRuleEngine.Assessment contended() {
+        return assess();
+    }
+
+    private VelocityRuleEngine.Assessment assess() {
+        UUID accountId = accountIds[ThreadLocalRandom.current().nextInt(accounts)];
+        return engine.assess(VelocityOperation.TRANSFER, userId, accountId, 100);
+    }
+}
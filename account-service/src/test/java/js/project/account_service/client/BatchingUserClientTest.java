@@ -0,0 +1,161 @@
+package js.project.account_service.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.model.dto.UserSummaryDto;
+import js.project.account_service.model.request.UserBatchRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchingUserClientTest {
+
+    private final StubUserService userService = new StubUserService();
+    private BatchingUserClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    @Test
+    void concurrentLookupsCollapseIntoFewBatchCalls() throws Exception {
+        client = new BatchingUserClient(userService, new SimpleMeterRegistry(), 20, 100);
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            userIds.add(userService.register("User" + i));
+        }
+
+        int threads = 16;
+        int lookupsPerThread = 25;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            results.add(pool.submit(() -> {
+                start.await();
+                List<CompletableFuture<UserSummaryDto>> futures = new ArrayList<>();
+                for (int i = 0; i < lookupsPerThread; i++) {
+                    futures.add(client.lookup(userIds.get((offset + i) % userIds.size())));
+                }
+                int resolved = 0;
+                for (int i = 0; i < futures.size(); i++) {
+                    UserSummaryDto user = futures.get(i).get(5, TimeUnit.SECONDS);
+                    assertThat(user.id()).isEqualTo(userIds.get((offset + i) % userIds.size()));
+                    resolved++;
+                }
+                return resolved;
+            }));
+        }
+        start.countDown();
+        int resolved = 0;
+        for (Future<Integer> result : results) {
+            resolved += result.get(10, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertThat(resolved).isEqualTo(threads * lookupsPerThread);
+        // 400 lookups of 50 distinct users: each window carries many of them, duplicates share a slot
+        assertThat(userService.calls.get()).isLessThanOrEqualTo(10);
+        assertThat(userService.batchSizes).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(100));
+    }
+
+    @Test
+    void fullWindowIsFlushedWithoutWaiting() {
+        client = new BatchingUserClient(userService, new SimpleMeterRegistry(), 60_000, 10);
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            userIds.add(userService.register("User" + i));
+        }
+
+        List<CompletableFuture<UserSummaryDto>> futures = userIds.stream().map(client::lookup).toList();
+
+        // the first 20 fill two batches; the remaining 5 sit in a window that would wait a minute
+        CompletableFuture.allOf(futures.subList(0, 20).toArray(CompletableFuture[]::new)).join();
+        assertThat(userService.batchSizes).containsExactly(10, 10);
+        assertThat(futures.get(24)).isNotDone();
+
+        client.flush();
+        assertThat(futures.get(24).join().firstName()).isEqualTo("User24");
+        assertThat(userService.batchSizes).containsExactly(10, 10, 5);
+    }
+
+    @Test
+    void lookupAllReturnsKnownUsersOnly() {
+        client = new BatchingUserClient(userService, new SimpleMeterRegistry(), 5, 100);
+        UUID known = userService.register("Alice");
+        UUID unknown = UUID.randomUUID();
+
+        Map<UUID, UserSummaryDto> users = client.lookupAll(List.of(known, unknown, known));
+
+        assertThat(users).containsOnlyKeys(known);
+        assertThat(userService.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void failedCallFailsEveryLookupInTheBatch() {
+        client = new BatchingUserClient(userService, new SimpleMeterRegistry(), 5, 100);
+        userService.failing = true;
+
+        CompletableFuture<UserSummaryDto> first = client.lookup(UUID.randomUUID());
+        CompletableFuture<UserSummaryDto> second = client.lookup(UUID.randomUUID());
+
+        assertThatThrownBy(first::join).hasRootCauseMessage("user-service unavailable");
+        assertThatThrownBy(second::join).hasRootCauseMessage("user-service unavailable");
+        assertThat(userService.calls.get()).isEqualTo(1);
+    }
+
+    /**
+     * Local stand-in for user-service: answers the batch endpoint from a map after a short delay,
+     * like a remote call would, and records every request it receives.
+     */
+    private static class StubUserService implements UserServiceClient {
+
+        private final Map<UUID, UserSummaryDto> users = new ConcurrentHashMap<>();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        UUID register(String firstName) {
+            UUID userId = UUID.randomUUID();
+            users.put(userId, new UserSummaryDto(userId, firstName, "Doe", firstName.toLowerCase() + "@example.com"));
+            return userId;
+        }
+
+        @Override
+        public List<UserSummaryDto> getUsersByIds(UserBatchRequest request) {
+            calls.incrementAndGet();
+            batchSizes.add(request.userIds().size());
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("user-service unavailable");
+            }
+            return request.userIds().stream().map(users::get).filter(user -> user != null).toList();
+        }
+
+        @Override
+        public List<UserSummaryDto> getUserDirectoryPage(UUID after, int size) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package js.project.account_service.client;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.UserServiceUnavailableException;
+import js.project.account_service.model.dto.UserSummaryDto;
+import js.project.account_service.model.request.UserBatchRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientUserClientTest {
+
+    private final StubUserService userService = new StubUserService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong();
+
+    private ResilientUserClient client(int maxConcurrentCalls, Duration slowCallThreshold) {
+        return new ResilientUserClient(userService, meterRegistry, maxConcurrentCalls, 50f, slowCallThreshold,
+                Duration.ofMinutes(1), 100, Duration.ofSeconds(30), Duration.ofMinutes(10), clock::get);
+    }
+
+    @Test
+    void failuresOpenTheCircuitAndLaterCallsFailFast() {
+        ResilientUserClient client = client(10, Duration.ofSeconds(1));
+        userService.failing = true;
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> client.getUsersByIds(batchOf(UUID.randomUUID())))
+                    .isInstanceOf(UserServiceUnavailableException.class);
+        }
+        assertThat(client.state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        int callsBefore = userService.calls.get();
+        assertThatThrownBy(() -> client.getUsersByIds(batchOf(UUID.randomUUID())))
+                .isInstanceOf(UserServiceUnavailableException.class)
+                .hasMessageContaining("open");
+        assertThat(userService.calls.get()).isEqualTo(callsBefore);
+        assertThat(meterRegistry.counter("user.client.rejected", "reason", "circuit-open").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("resilience4j.circuitbreaker.state").tag("state", "open").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void slowCallsOpenTheCircuit() {
+        ResilientUserClient client = client(10, Duration.ofMillis(10));
+        userService.latencyMillis = 25;
+
+        for (int i = 0; i < 10; i++) {
+            client.getUsersByIds(batchOf(UUID.randomUUID()));
+        }
+
+        assertThat(client.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void freshUsersAreServedFromCacheAndOnlyTheRestAreFetched() {
+        ResilientUserClient client = client(10, Duration.ofSeconds(1));
+        UserSummaryDto alice = userService.register("Alice");
+        UserSummaryDto bob = userService.register("Bob");
+        UUID unknown = UUID.randomUUID();
+
+        client.getUsersByIds(new UserBatchRequest(List.of(alice.id(), unknown)));
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(client.getUsersByIds(new UserBatchRequest(List.of(alice.id(), unknown, bob.id()))))
+                .containsExactlyInAnyOrder(alice, bob);
+        assertThat(userService.requested).containsExactly(List.of(alice.id(), unknown), List.of(bob.id()));
+        assertThat(meterRegistry.counter("user.client.user.cache", "result", "hit").count()).isEqualTo(2);
+    }
+
+    @Test
+    void staleUsersAreServedDuringAnOutageUntilTheyExpire() {
+        ResilientUserClient client = client(10, Duration.ofSeconds(1));
+        UserSummaryDto alice = userService.register("Alice");
+        UUID unknown = UUID.randomUUID();
+        client.getUsersByIds(new UserBatchRequest(List.of(alice.id(), unknown)));
+
+        userService.failing = true;
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+        assertThat(client.getUsersByIds(new UserBatchRequest(List.of(alice.id(), unknown)))).containsExactly(alice);
+        assertThat(meterRegistry.counter("user.client.user.cache", "result", "stale").count()).isEqualTo(2);
+        // one id never seen before: a partial answer would read as "no such user"
+        assertThatThrownBy(() -> client.getUsersByIds(new UserBatchRequest(List.of(alice.id(), UUID.randomUUID()))))
+                .isInstanceOf(UserServiceUnavailableException.class);
+
+        clock.addAndGet(Duration.ofMinutes(6).toNanos());
+        assertThatThrownBy(() -> client.getUsersByIds(batchOf(alice.id()))).isInstanceOf(UserServiceUnavailableException.class);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheConcurrencyLimit() throws Exception {
+        ResilientUserClient client = client(2, Duration.ofSeconds(5));
+        userService.gate = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = pool.submit(() -> client.getUsersByIds(batchOf(UUID.randomUUID())));
+            Future<?> second = pool.submit(() -> client.getUsersByIds(batchOf(UUID.randomUUID())));
+            assertThat(userService.entered.tryAcquire(2, 5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> client.getUsersByIds(batchOf(UUID.randomUUID())))
+                    .isInstanceOf(UserServiceUnavailableException.class)
+                    .hasMessageContaining("concurrent");
+
+            userService.gate.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(userService.calls.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("user.client.rejected", "reason", "bulkhead").count()).isEqualTo(1);
+    }
+
+    private static UserBatchRequest batchOf(UUID userId) {
+        return new UserBatchRequest(List.of(userId));
+    }
+
+    /**
+     * Local stand-in for user-service that can be made slow, failing, or held at a gate.
+     */
+    private static class StubUserService implements UserServiceClient {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private final Semaphore entered = new Semaphore(0);
+        private volatile boolean failing;
+        private volatile long latencyMillis;
+        private volatile CountDownLatch gate;
+        private final Map<UUID, UserSummaryDto> users = new ConcurrentHashMap<>();
+        private final List<List<UUID>> requested = new CopyOnWriteArrayList<>();
+
+        UserSummaryDto register(String firstName) {
+            UserSummaryDto user = new UserSummaryDto(UUID.randomUUID(), firstName, "Doe", firstName.toLowerCase() + "@example.com");
+            users.put(user.id(), user);
+            return user;
+        }
+
+        @Override
+        public List<UserSummaryDto> getUsersByIds(UserBatchRequest request) {
+            requested.add(request.userIds());
+            respond();
+            return request.userIds().stream().map(users::get).filter(user -> user != null).toList();
+        }
+
+        @Override
+        public List<UserSummaryDto> getUserDirectoryPage(UUID after, int size) {
+            respond();
+            return List.of();
+        }
+
+        private void respond() {
+            calls.incrementAndGet();
+            entered.release();
+            try {
+                if (gate != null) {
+                    gate.await(5, TimeUnit.SECONDS);
+                }
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing) {
+                throw new IllegalStateException("Connection refused");
+            }
+        }
+    }
+}
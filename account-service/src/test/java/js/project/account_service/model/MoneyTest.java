@@ -0,0 +1,72 @@
+package js.project.account_service.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MoneyTest {
+
+    @Test
+    void of_usesCurrencyScale() {
+        assertThat(Money.of(new BigDecimal("12.34"), "USD").minorUnits()).isEqualTo(1234);
+        assertThat(Money.of(new BigDecimal("12.3"), "USD").minorUnits()).isEqualTo(1230);
+        assertThat(Money.of(new BigDecimal("500"), "JPY").minorUnits()).isEqualTo(500);
+        assertThat(Money.of(new BigDecimal("1.005"), "KWD").minorUnits()).isEqualTo(1005);
+    }
+
+    @Test
+    void of_tooManyDecimals_throws() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"), "USD"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.5"), "JPY"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void of_unknownCurrency_throws() {
+        assertThatThrownBy(() -> Money.of(BigDecimal.ONE, "ZZZ"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void arithmeticAndComparison() {
+        Money ten = Money.ofMinor(1000, "USD");
+        Money three = Money.ofMinor(300, "USD");
+
+        assertThat(ten.minus(three)).isEqualTo(Money.ofMinor(700, "USD"));
+        assertThat(ten.plus(three)).isEqualTo(Money.ofMinor(1300, "USD"));
+        assertThat(three.isLessThan(ten)).isTrue();
+        assertThat(three.minus(ten).isNegative()).isTrue();
+        assertThat(ten.minus(ten).isZero()).isTrue();
+    }
+
+    @Test
+    void arithmetic_differentCurrencies_throws() {
+        assertThatThrownBy(() -> Money.ofMinor(1, "USD").plus(Money.ofMinor(1, "EUR")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void toPlainString_matchesBigDecimal() {
+        long[] samples = {0, 5, -5, 10, 99, 100, 105, -105, 123456789, -100000};
+        for (long sample : samples) {
+            Money usd = Money.ofMinor(sample, "USD");
+            assertThat(usd.toPlainString()).isEqualTo(usd.toBigDecimal().toPlainString());
+            Money kwd = Money.ofMinor(sample, "KWD");
+            assertThat(kwd.toPlainString()).isEqualTo(kwd.toBigDecimal().toPlainString());
+            Money jpy = Money.ofMinor(sample, "JPY");
+            assertThat(jpy.toPlainString()).isEqualTo(jpy.toBigDecimal().toPlainString());
+        }
+    }
+
+    @Test
+    void serializesAsPlainNumber() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(Map.of("balance", Money.ofMinor(1250, "USD")));
+        assertThat(json).isEqualTo("{\"balance\":12.50}");
+    }
+}
@@ -0,0 +1,148 @@
+package js.project.account_service.repository;
+
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.model.dto.AccountReferenceDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.TransactionType;
+import js.project.account_service.util.KeysetCursor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class AccountRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Test
+    void save_accountBalance_roundTripsAsMinorUnits() {
+        Account account = persistAccount(Money.ofMinor(12_345, "USD"));
+        entityManager.clear();
+
+        Account found = accountRepository.findById(account.getId()).orElseThrow();
+
+        assertThat(found.getBalance()).isEqualTo(Money.ofMinor(12_345, "USD"));
+        assertThat(found.getCurrency()).isEqualTo("USD");
+    }
+
+    @Test
+    void findAllByIdForUpdate_returnsRequestedAccounts() {
+        Account first = persistAccount(Money.zero("EUR"));
+        Account second = persistAccount(Money.zero("EUR"));
+        persistAccount(Money.zero("EUR"));
+
+        List<Account> locked = accountRepository.findAllByIdForUpdate(List.of(first.getId(), second.getId()));
+
+        assertThat(locked).extracting(Account::getId).containsExactlyInAnyOrder(first.getId(), second.getId());
+    }
+
+    @Test
+    void findReferenceByAccountNumber_projectsImmutableFields() {
+        Account account = persistAccount(Money.ofMinor(100, "GBP"));
+        entityManager.clear();
+
+        AccountReferenceDto reference = accountRepository.findReferenceByAccountNumber(account.getAccountNumber()).orElseThrow();
+
+        assertThat(reference).isEqualTo(new AccountReferenceDto(account.getId(), account.getAccountNumber(),
+                account.getUserId(), AccountType.SAVINGS, "GBP"));
+        assertThat(accountRepository.findReferenceByAccountNumber("000000000000")).isEmpty();
+    }
+
+    @Test
+    void findDtosByUserId_projectsRowsWithoutManagingEntities() {
+        Account account = persistAccount(Money.ofMinor(4_200, "EUR"));
+        persistAccount(Money.zero("EUR"));
+        entityManager.clear();
+
+        Page<AccountDto> page = accountRepository.findDtosByUserId(account.getUserId(), PageRequest.of(0, 10, Sort.by("createdAt")));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        AccountDto dto = page.getContent().get(0);
+        assertThat(dto.getId()).isEqualTo(account.getId());
+        assertThat(dto.getBalance()).isEqualTo(Money.ofMinor(4_200, "EUR"));
+        assertThat(dto.getCurrency()).isEqualTo("EUR");
+        assertThat(dto.getStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(managedEntities()).isZero();
+    }
+
+    @Test
+    void findDtos_appliesSpecificationSortAndLimit() {
+        persistAccount(Money.zero("USD"));
+        persistAccount(Money.zero("USD"));
+        Account frozen = persistAccount(Money.zero("USD"));
+        frozen.setStatus(AccountStatus.FROZEN);
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<AccountDto> active = accountRepository.findDtos(AccountSpecifications.search(null, null, AccountStatus.ACTIVE),
+                PageRequest.of(0, 1, Sort.by("accountNumber")));
+        List<AccountDto> newestFirst = accountRepository.findDtos(AccountSpecifications.search(null, AccountType.SAVINGS, null),
+                KeysetCursor.SORT, 2);
+
+        assertThat(active.getTotalElements()).isGreaterThanOrEqualTo(2);
+        assertThat(active.getContent()).hasSize(1);
+        assertThat(active.getContent().get(0).getStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(newestFirst).hasSize(2)
+                .isSortedAccordingTo(Comparator.comparing(AccountDto::getCreatedAt).reversed());
+        assertThat(managedEntities()).isZero();
+    }
+
+    @Test
+    void save_ledgerEntryWithoutBalanceAfter_readsBackNull() {
+        LedgerEntry entry = LedgerEntry.builder()
+                .transactionId(UUID.randomUUID())
+                .accountId(UUID.randomUUID())
+                .entryType(EntryType.DEBIT)
+                .transactionType(TransactionType.DEPOSIT)
+                .amount(Money.ofMinor(500, "JPY"))
+                .build();
+        ledgerEntryRepository.saveAndFlush(entry);
+        entityManager.clear();
+
+        LedgerEntry found = ledgerEntryRepository.findById(entry.getId()).orElseThrow();
+
+        assertThat(found.getAmount()).isEqualTo(Money.ofMinor(500, "JPY"));
+        assertThat(found.getBalanceAfter()).isNull();
+    }
+
+    private int managedEntities() {
+        return entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount();
+    }
+
+    private Account persistAccount(Money balance) {
+        BankBranch branch = entityManager.persist(BankBranch.builder().branchCode("1234").branchName("Test").build());
+        Account account = Account.builder()
+                .userId(UUID.randomUUID())
+                .accountNumber(UUID.randomUUID().toString().substring(0, 12))
+                .accountType(AccountType.SAVINGS)
+                .bankBranch(branch)
+                .balance(balance)
+                .status(AccountStatus.ACTIVE)
+                .build();
+        return entityManager.persistAndFlush(account);
+    }
+}
@@ -0,0 +1,201 @@
+package js.project.account_service.service;
+
+import js.project.account_service.exception.InvalidApprovalStatusException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.AccountApproval;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.BulkReviewResultDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.ApprovalStatus;
+import js.project.account_service.model.event.AccountStatusChangedEvent;
+import js.project.account_service.model.request.BulkApprovalRequest;
+import js.project.account_service.model.response.CursorPage;
+import js.project.account_service.repository.AccountApprovalRepository;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.util.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Import({AccountApprovalService.class, AccountStatusMachine.class})
+@RecordApplicationEvents
+public class AccountApprovalServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AccountApprovalService accountApprovalService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountApprovalRepository accountApprovalRepository;
+
+    @MockitoBean
+    private AccountDetailsCache accountDetailsCache;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private BankBranch branch;
+
+    @BeforeEach
+    void setUp() {
+        branch = entityManager.persist(BankBranch.builder().branchCode("4321").branchName("Review").build());
+    }
+
+    @Test
+    void reviewApprovals_approvesPendingAndReportsTheRest() {
+        AccountApproval first = persistApproval(AccountStatus.PENDING_APPROVAL, ApprovalStatus.PENDING);
+        AccountApproval second = persistApproval(AccountStatus.PENDING_APPROVAL, ApprovalStatus.PENDING);
+        AccountApproval rejected = persistApproval(AccountStatus.REJECTED, ApprovalStatus.REJECTED);
+        UUID missing = UUID.randomUUID();
+        UUID adminId = UUID.randomUUID();
+
+        BulkReviewResultDto result = accountApprovalService.reviewApprovals(adminId,
+                request(ApprovalStatus.APPROVED, first.getId(), rejected.getId(), missing, second.getId(), first.getId()));
+
+        assertThat(result.getReviewed()).containsExactly(first.getId(), second.getId());
+        assertThat(result.getAlreadyReviewed()).containsExactly(rejected.getId());
+        assertThat(result.getNotFound()).containsExactly(missing);
+
+        AccountApproval reloaded = accountApprovalRepository.findById(first.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(ApprovalStatus.APPROVED);
+        assertThat(reloaded.getReviewedBy()).isEqualTo(adminId);
+        assertThat(reloaded.getComments()).isEqualTo("campaign");
+        assertThat(accountRepository.findById(first.getAccountId()).orElseThrow().getStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(accountRepository.findById(second.getAccountId()).orElseThrow().getStatus()).isEqualTo(AccountStatus.ACTIVE);
+        assertThat(accountRepository.findById(rejected.getAccountId()).orElseThrow().getStatus()).isEqualTo(AccountStatus.REJECTED);
+        verify(accountDetailsCache).invalidateAfterCommit(argThat((Collection<UUID> ids) ->
+                ids.size() == 2 && ids.containsAll(List.of(first.getAccountId(), second.getAccountId()))));
+        assertThat(applicationEvents.stream(AccountStatusChangedEvent.class))
+                .allMatch(event -> event.previousStatus() == AccountStatus.PENDING_APPROVAL && event.newStatus() == AccountStatus.ACTIVE)
+                .extracting(AccountStatusChangedEvent::accountId)
+                .containsExactlyInAnyOrder(first.getAccountId(), second.getAccountId());
+    }
+
+    @Test
+    void reviewApprovals_secondPassReportsAlreadyReviewed() {
+        AccountApproval approval = persistApproval(AccountStatus.PENDING_APPROVAL, ApprovalStatus.PENDING);
+
+        accountApprovalService.reviewApprovals(UUID.randomUUID(), request(ApprovalStatus.REJECTED, approval.getId()));
+        BulkReviewResultDto second = accountApprovalService.reviewApprovals(UUID.randomUUID(),
+                request(ApprovalStatus.APPROVED, approval.getId()));
+
+        assertThat(second.getReviewed()).isEmpty();
+        assertThat(second.getAlreadyReviewed()).containsExactly(approval.getId());
+        assertThat(accountRepository.findById(approval.getAccountId()).orElseThrow().getStatus()).isEqualTo(AccountStatus.REJECTED);
+    }
+
+    @Test
+    void reviewApprovals_skipsApprovalsClaimedByOthersOrWhoseAccountMovedOn() {
+        UUID adminId = UUID.randomUUID();
+        AccountApproval mine = persistApproval(AccountStatus.PENDING_APPROVAL, ApprovalStatus.PENDING);
+        AccountApproval theirs = persistApproval(AccountStatus.PENDING_APPROVAL, ApprovalStatus.PENDING);
+        AccountApproval lapsed = persistApproval(AccountStatus.PENDING_APPROVAL, ApprovalStatus.PENDING);
+        AccountApproval closed = persistApproval(AccountStatus.CLOSED, ApprovalStatus.PENDING);
+        claim(mine, adminId, LocalDateTime.now().plusMinutes(10));
+        claim(theirs, UUID.randomUUID(), LocalDateTime.now().plusMinutes(10));
+        claim(lapsed, UUID.randomUUID(), LocalDateTime.now().minusMinutes(1));
+
+        BulkReviewResultDto result = accountApprovalService.reviewApprovals(adminId,
+                request(ApprovalStatus.APPROVED, mine.getId(), theirs.getId(), lapsed.getId(), closed.getId()));
+
+        assertThat(result.getReviewed()).containsExactly(mine.getId(), lapsed.getId());
+        assertThat(result.getClaimedByOthers()).containsExactly(theirs.getId());
+        assertThat(result.getAccountNotPending()).containsExactly(closed.getId());
+        assertThat(result.getAlreadyReviewed()).isEmpty();
+        assertThat(accountApprovalRepository.findById(theirs.getId()).orElseThrow().getStatus()).isEqualTo(ApprovalStatus.PENDING);
+        assertThat(accountApprovalRepository.findById(closed.getId()).orElseThrow().getStatus()).isEqualTo(ApprovalStatus.PENDING);
+        assertThat(accountRepository.findById(theirs.getAccountId()).orElseThrow().getStatus()).isEqualTo(AccountStatus.PENDING_APPROVAL);
+        assertThat(accountRepository.findById(closed.getAccountId()).orElseThrow().getStatus()).isEqualTo(AccountStatus.CLOSED);
+    }
+
+    @Test
+    void reviewApprovals_pendingDecision_throwsInvalidApprovalStatusException() {
+        assertThatThrownBy(() -> accountApprovalService.reviewApprovals(UUID.randomUUID(),
+                request(ApprovalStatus.PENDING, UUID.randomUUID())))
+                .isInstanceOf(InvalidApprovalStatusException.class);
+    }
+
+    @Test
+    void scrollAccountApprovals_walksEveryRowOnceInKeysetOrder() {
+        for (int i = 0; i < 7; i++) {
+            persistApproval(AccountStatus.PENDING_APPROVAL, ApprovalStatus.PENDING);
+        }
+        persistApproval(AccountStatus.ACTIVE, ApprovalStatus.APPROVED);
+        // identical timestamps force the id tie-breaker to do the work
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        entityManager.getEntityManager().createQuery("UPDATE AccountApproval a SET a.createdAt = :createdAt")
+                .setParameter("createdAt", createdAt)
+                .executeUpdate();
+        entityManager.clear();
+
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<AccountApproval> page = accountApprovalService.scrollAccountApprovals(List.of(ApprovalStatus.PENDING), cursor, 3);
+            page.items().forEach(approval -> seen.add(approval.getId()));
+            cursor = page.nextCursor();
+            assertThat(page.hasNext()).isEqualTo(cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+        List<UUID> expected = accountApprovalRepository.findAll(KeysetCursor.SORT).stream()
+                .filter(approval -> approval.getStatus() == ApprovalStatus.PENDING)
+                .map(AccountApproval::getId)
+                .toList();
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    private void claim(AccountApproval approval, UUID reviewerId, LocalDateTime expiresAt) {
+        approval.setClaimedBy(reviewerId);
+        approval.setClaimExpiresAt(expiresAt);
+        entityManager.persistAndFlush(entityManager.merge(approval));
+    }
+
+    private BulkApprovalRequest request(ApprovalStatus status, UUID... approvalIds) {
+        return BulkApprovalRequest.builder().approvalIds(List.of(approvalIds)).status(status).comments("campaign").build();
+    }
+
+    private AccountApproval persistApproval(AccountStatus accountStatus, ApprovalStatus approvalStatus) {
+        Account account = entityManager.persist(Account.builder()
+                .userId(UUID.randomUUID())
+                .accountNumber(UUID.randomUUID().toString().substring(0, 12))
+                .accountType(AccountType.SAVINGS)
+                .bankBranch(branch)
+                .balance(Money.zero("USD"))
+                .status(accountStatus)
+                .build());
+        return entityManager.persistAndFlush(AccountApproval.builder()
+                .accountId(account.getId())
+                .status(approvalStatus)
+                .requestedBy(account.getUserId())
+                .build());
+    }
+}
@@ -0,0 +1,88 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.model.dto.AccountDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountDetailsCacheTest {
+
+    @Mock
+    private AccountCacheInvalidationPublisher invalidationPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final UUID accountId = UUID.randomUUID();
+
+    private AccountDetailsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AccountDetailsCache(invalidationPublisher, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void repeatedReadsLoadOnce() {
+        cache.get(accountId, this::load);
+        cache.get(accountId, this::load);
+        cache.get(accountId, this::load);
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("account.details.cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+    }
+
+    @Test
+    void invalidationWaitsForCommitAndIsBroadcast() {
+        cache.get(accountId, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidateAfterCommit(accountId);
+        cache.get(accountId, this::load);
+        assertThat(loads.get()).isEqualTo(1);
+        verify(invalidationPublisher, never()).publish(List.of(accountId));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get(accountId, this::load);
+        assertThat(loads.get()).isEqualTo(2);
+        verify(invalidationPublisher).publish(List.of(accountId));
+    }
+
+    @Test
+    void remoteEvictionIsNotRebroadcast() {
+        cache.get(accountId, this::load);
+
+        cache.evict(accountId);
+        cache.get(accountId, this::load);
+
+        assertThat(loads.get()).isEqualTo(2);
+        verify(invalidationPublisher, never()).publish(List.of(accountId));
+    }
+
+    private AccountDto load() {
+        loads.incrementAndGet();
+        return AccountDto.builder().id(accountId).build();
+    }
+}
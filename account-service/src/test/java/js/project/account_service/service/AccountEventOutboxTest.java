@@ -0,0 +1,199 @@
+package js.project.account_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.OutboxEvent;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.repository.OutboxEventRepository;
+import js.project.model.AccountLifecycleEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "account.outbox.batch-size=2")
+@Import({AccountStatusMachine.class, AccountEventOutbox.class, OutboxRelay.class, AccountEventOutboxTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountEventOutboxTest {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    @Autowired
+    private AccountStatusMachine statusMachine;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BankBranchRepository bankBranchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private BankBranch branch;
+
+    @BeforeEach
+    void setUp() {
+        branch = bankBranchRepository.save(BankBranch.builder().branchCode("5678").branchName("Outbox").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventRepository.deleteAll();
+        accountRepository.deleteAll();
+        bankBranchRepository.deleteAll();
+    }
+
+    @Test
+    void statusChange_isQueuedOnlyWhenItsTransactionCommits() throws Exception {
+        Account account = account("567800000017");
+        UUID adminId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            changeStatus(account.getId(), AccountStatus.FROZEN, adminId);
+            status.setRollbackOnly();
+        });
+        assertThat(outboxEventRepository.count()).isZero();
+
+        transactionTemplate.executeWithoutResult(status -> changeStatus(account.getId(), AccountStatus.FROZEN, adminId));
+
+        OutboxEvent queued = outboxEventRepository.findAll().get(0);
+        assertThat(queued.getAggregateId()).isEqualTo(account.getId());
+        AccountLifecycleEvent event = objectMapper.readValue(queued.getPayload(), AccountLifecycleEvent.class);
+        assertThat(event.getEventType()).isEqualTo(AccountLifecycleEvent.ACCOUNT_STATUS_CHANGED);
+        assertThat(event.getUserId()).isEqualTo(account.getUserId());
+        assertThat(event.getPreviousStatus()).isEqualTo("ACTIVE");
+        assertThat(event.getStatus()).isEqualTo("FROZEN");
+        assertThat(event.getChangedBy()).isEqualTo(adminId);
+    }
+
+    @Test
+    void statusChange_outsideATransaction_isRejected() {
+        Account account = account("567800000025");
+
+        assertThatThrownBy(() -> statusMachine.transition(account, AccountStatus.FROZEN, UUID.randomUUID(), "no transaction"))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void relay_publishesInOutboxOrderKeyedByAccountAndRemovesWhatWasSent() throws Exception {
+        Account first = account("567800000033");
+        Account second = account("567800000041");
+        UUID adminId = UUID.randomUUID();
+        for (AccountStatus target : List.of(AccountStatus.FROZEN, AccountStatus.ACTIVE, AccountStatus.FROZEN)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                changeStatus(first.getId(), target, adminId);
+                changeStatus(second.getId(), target, adminId);
+            });
+        }
+        when(kafkaTemplate.send(anyString(), anyString(), anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> payloads = ArgumentCaptor.forClass(String.class);
+        verify(kafkaTemplate, times(6)).send(eq("account-events"), keys.capture(), payloads.capture());
+        List<String> firstStatuses = statusesSentFor(first, keys.getAllValues(), payloads.getAllValues());
+        List<String> secondStatuses = statusesSentFor(second, keys.getAllValues(), payloads.getAllValues());
+        assertThat(firstStatuses).containsExactly("FROZEN", "ACTIVE", "FROZEN");
+        assertThat(secondStatuses).containsExactly("FROZEN", "ACTIVE", "FROZEN");
+        assertThat(outboxEventRepository.count()).isZero();
+        assertThat(meterRegistry.get("account.outbox.published").counter().count()).isEqualTo(6);
+    }
+
+    @Test
+    void relay_failedSend_keepsTheBatchForTheNextPoll() {
+        Account account = account("567800000058");
+        transactionTemplate.executeWithoutResult(status -> changeStatus(account.getId(), AccountStatus.FROZEN, UUID.randomUUID()));
+        when(kafkaTemplate.send(anyString(), anyString(), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+        outboxRelay.relay();
+
+        assertThat(outboxEventRepository.count()).isEqualTo(1);
+        assertThat(meterRegistry.get("account.outbox.failures").counter().count()).isEqualTo(1);
+    }
+
+    private void changeStatus(UUID accountId, AccountStatus target, UUID adminId) {
+        Account managed = accountRepository.findById(accountId).orElseThrow();
+        statusMachine.transition(managed, target, adminId, "outbox test");
+    }
+
+    private List<String> statusesSentFor(Account account, List<String> keys, List<String> payloads) throws Exception {
+        List<String> statuses = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i).equals(account.getId().toString())) {
+                statuses.add(objectMapper.readValue(payloads.get(i), AccountLifecycleEvent.class).getStatus());
+            }
+        }
+        return statuses;
+    }
+
+    private Account account(String accountNumber) {
+        return accountRepository.save(Account.builder()
+                .userId(UUID.randomUUID())
+                .accountNumber(accountNumber)
+                .accountType(AccountType.SAVINGS)
+                .bankBranch(branch)
+                .balance(Money.zero("USD"))
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+}
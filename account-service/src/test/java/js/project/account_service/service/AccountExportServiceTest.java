@@ -0,0 +1,211 @@
+package js.project.account_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.ExportCapacityExceededException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.ExportFormat;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {"account.export.fetch-size=50", "account.export.max-concurrent=1"})
+@Import({AccountExportService.class, AccountExportServiceTest.Config.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountExportServiceTest {
+
+    private static final int ACCOUNTS = 1200;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+    }
+
+    @Autowired
+    private AccountExportService exportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BankBranchRepository bankBranchRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        BankBranch branch = bankBranchRepository.save(BankBranch.builder().branchCode("6789").branchName("Export").build());
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(Account.builder()
+                    .userId(i % 3 == 0 ? UUID.randomUUID() : userId)
+                    .accountNumber(String.format("6789%08d", i))
+                    .accountType(AccountType.SAVINGS)
+                    .bankBranch(branch)
+                    .balance(Money.ofMinor(i, "USD"))
+                    .status(i % 2 == 0 ? AccountStatus.ACTIVE : AccountStatus.FROZEN)
+                    .build());
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+        bankBranchRepository.deleteAll();
+    }
+
+    @Test
+    void exportByUserId_csv_writesHeaderAndEveryMatchingRowInIdOrder() throws IOException {
+        String csv = run(exportService.exportByUserId(userId, ExportFormat.CSV));
+
+        String[] lines = csv.split("\n");
+        assertThat(lines[0]).isEqualTo("id,accountNumber,userId,accountType,balance,currency,status,createdAt,updatedAt");
+        assertThat(lines).hasSize(1 + ACCOUNTS - (ACCOUNTS + 2) / 3);
+        List<String> ids = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            String[] columns = lines[i].split(",", -1);
+            assertThat(columns).hasSize(9);
+            assertThat(columns[2]).isEqualTo(userId.toString());
+            ids.add(columns[0]);
+        }
+        // the database orders uuids byte by byte, which is the order of their text form
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(csv).contains(",6789" + String.format("%08d", 1) + "," + userId + ",SAVINGS,0.01,USD,FROZEN,");
+    }
+
+    @Test
+    void exportSearch_ndjson_writesOneAccountPerLine() throws IOException {
+        String ndjson = run(exportService.exportSearch(null, AccountType.SAVINGS, AccountStatus.ACTIVE, ExportFormat.NDJSON));
+
+        assertThat(ndjson).endsWith("\n");
+        String[] lines = ndjson.split("\n");
+        assertThat(lines).hasSize(ACCOUNTS / 2);
+        for (String line : lines) {
+            JsonNode account = objectMapper.readTree(line);
+            assertThat(account.get("status").asText()).isEqualTo("ACTIVE");
+            assertThat(account.get("accountNumber").asText()).startsWith("6789");
+        }
+    }
+
+    @Test
+    void export_overCapacity_isRejectedUntilTheRunningOneFinishes() throws IOException {
+        StreamingResponseBody first = exportService.exportByUserId(userId, ExportFormat.CSV);
+
+        assertThatThrownBy(() -> exportService.exportByUserId(userId, ExportFormat.CSV))
+                .isInstanceOf(ExportCapacityExceededException.class);
+
+        run(first);
+        assertThat(run(exportService.exportByUserId(userId, ExportFormat.CSV))).isNotEmpty();
+    }
+
+    @Test
+    void export_clientGoneMidway_releasesTheSlot() throws IOException {
+        OutputStream disconnected = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++written > 1000) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        assertThatThrownBy(() -> exportService.exportByUserId(userId, ExportFormat.CSV).writeTo(disconnected))
+                .isInstanceOf(IOException.class);
+
+        assertThat(run(exportService.exportByUserId(userId, ExportFormat.CSV))).isNotEmpty();
+    }
+
+    @Test
+    void export_bodyNeverRun_releasesTheSlotWhenTheRequestCompletes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        try {
+            StreamingResponseBody neverRun = exportService.exportByUserId(userId, ExportFormat.CSV);
+            WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+            asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, response));
+            asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor() {
+                @Override
+                public Future<?> submit(Runnable task) {
+                    throw new TaskRejectedException("Export executor saturated");
+                }
+
+                @Override
+                public <T> Future<T> submit(Callable<T> task) {
+                    throw new TaskRejectedException("Export executor saturated");
+                }
+            });
+            asyncManager.startCallableProcessing(() -> {
+                neverRun.writeTo(OutputStream.nullOutputStream());
+                return null;
+            });
+            assertThatThrownBy(() -> exportService.exportByUserId(userId, ExportFormat.CSV))
+                    .isInstanceOf(ExportCapacityExceededException.class);
+
+            request.getAsyncContext().complete();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        assertThat(run(exportService.exportByUserId(userId, ExportFormat.CSV))).isNotEmpty();
+    }
+
+    private static String run(StreamingResponseBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
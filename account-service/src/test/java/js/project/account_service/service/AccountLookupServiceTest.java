@@ -0,0 +1,104 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.AccountNotFoundException;
+import js.project.account_service.exception.InvalidAccountNumberException;
+import js.project.account_service.model.dto.AccountReferenceDto;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.util.AccountNumberCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountLookupServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AccountLookupService accountLookupService;
+
+    @BeforeEach
+    void setUp() {
+        accountLookupService = new AccountLookupService(accountRepository, meterRegistry, 2);
+    }
+
+    @Test
+    void findByAccountNumber_malformedOrBadCheckDigit_neverQueries() {
+        String valid = AccountNumberCodec.encode("1234", 77);
+        String badCheckDigit = valid.substring(0, 11) + (char) ('0' + (valid.charAt(11) - '0' + 1) % 10);
+
+        for (String number : new String[]{"12345", "12345678901a", badCheckDigit}) {
+            assertThatThrownBy(() -> accountLookupService.findByAccountNumber(number))
+                    .isInstanceOf(InvalidAccountNumberException.class);
+        }
+
+        verify(accountRepository, never()).findReferenceByAccountNumber(anyString());
+        assertThat(meterRegistry.get("account.lookup.rejected").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void findByAccountNumber_repeatedLookup_servedFromCache() {
+        AccountReferenceDto account = reference(AccountNumberCodec.encode("1234", 1));
+        when(accountRepository.findReferenceByAccountNumber(account.accountNumber())).thenReturn(Optional.of(account));
+
+        assertThat(accountLookupService.findByAccountNumber(account.accountNumber())).isEqualTo(account);
+        assertThat(accountLookupService.findByAccountNumber(account.accountNumber())).isEqualTo(account);
+
+        verify(accountRepository, times(1)).findReferenceByAccountNumber(account.accountNumber());
+        assertThat(meterRegistry.get("account.lookup.cache.hits").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findByAccountNumber_beyondCapacity_evictsLeastRecentlyUsed() {
+        AccountReferenceDto first = reference(AccountNumberCodec.encode("1234", 1));
+        AccountReferenceDto second = reference(AccountNumberCodec.encode("1234", 2));
+        AccountReferenceDto third = reference(AccountNumberCodec.encode("1234", 3));
+        for (AccountReferenceDto account : new AccountReferenceDto[]{first, second, third}) {
+            when(accountRepository.findReferenceByAccountNumber(account.accountNumber())).thenReturn(Optional.of(account));
+        }
+
+        accountLookupService.findByAccountNumber(first.accountNumber());
+        accountLookupService.findByAccountNumber(second.accountNumber());
+        accountLookupService.findByAccountNumber(first.accountNumber());
+        accountLookupService.findByAccountNumber(third.accountNumber());
+        accountLookupService.findByAccountNumber(first.accountNumber());
+        accountLookupService.findByAccountNumber(second.accountNumber());
+
+        verify(accountRepository, times(1)).findReferenceByAccountNumber(first.accountNumber());
+        verify(accountRepository, times(2)).findReferenceByAccountNumber(second.accountNumber());
+        assertThat(meterRegistry.get("account.lookup.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void findByAccountNumber_unknownNumber_throwsAndIsNotCached() {
+        String number = AccountNumberCodec.encode("1234", 9);
+        when(accountRepository.findReferenceByAccountNumber(number)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> accountLookupService.findByAccountNumber(number)).isInstanceOf(AccountNotFoundException.class);
+        assertThatThrownBy(() -> accountLookupService.findByAccountNumber(number)).isInstanceOf(AccountNotFoundException.class);
+
+        verify(accountRepository, times(2)).findReferenceByAccountNumber(number);
+    }
+
+    private AccountReferenceDto reference(String accountNumber) {
+        return new AccountReferenceDto(UUID.randomUUID(), accountNumber, UUID.randomUUID(), AccountType.SAVINGS, "USD");
+    }
+}
@@ -0,0 +1,64 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.client.BatchingUserClient;
+import js.project.account_service.client.UserServiceClient;
+import js.project.account_service.exception.UserServiceUnavailableException;
+import js.project.account_service.model.dto.AccountDto;
+import js.project.account_service.model.dto.UserSummaryDto;
+import js.project.account_service.model.request.UserBatchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountOwnerServiceTest {
+
+    private final UserServiceClient userServiceClient = mock(UserServiceClient.class);
+    private AccountOwnerService accountOwnerService;
+
+    @BeforeEach
+    void setUp() {
+        accountOwnerService = new AccountOwnerService(
+                new BatchingUserClient(userServiceClient, new SimpleMeterRegistry(), 5, 100));
+    }
+
+    @Test
+    void fillOwners_resolvesEveryOwnerOnThePageInOneCall() {
+        UserSummaryDto alice = new UserSummaryDto(UUID.randomUUID(), "Alice", "Smith", "alice@example.com");
+        UserSummaryDto bob = new UserSummaryDto(UUID.randomUUID(), "Bob", "Jones", "bob@example.com");
+        UUID unknown = UUID.randomUUID();
+        when(userServiceClient.getUsersByIds(any())).thenReturn(List.of(alice, bob));
+        List<AccountDto> page = List.of(account(alice.id()), account(bob.id()), account(alice.id()), account(unknown));
+
+        accountOwnerService.fillOwners(page);
+
+        assertThat(page).extracting(AccountDto::getOwner).containsExactly(alice, bob, alice, null);
+        ArgumentCaptor<UserBatchRequest> request = ArgumentCaptor.forClass(UserBatchRequest.class);
+        verify(userServiceClient, times(1)).getUsersByIds(request.capture());
+        assertThat(request.getValue().userIds()).containsExactlyInAnyOrder(alice.id(), bob.id(), unknown);
+    }
+
+    @Test
+    void fillOwners_userServiceUnavailable_leavesOwnersOut() {
+        when(userServiceClient.getUsersByIds(any())).thenThrow(new UserServiceUnavailableException("Circuit breaker for user-service is open"));
+        List<AccountDto> page = List.of(account(UUID.randomUUID()), account(UUID.randomUUID()));
+
+        accountOwnerService.fillOwners(page);
+
+        assertThat(page).extracting(AccountDto::getOwner).containsOnlyNulls();
+    }
+
+    private static AccountDto account(UUID userId) {
+        return AccountDto.builder().id(UUID.randomUUID()).userId(userId).build();
+    }
+}
@@ -0,0 +1,214 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.config.VelocityRuleProperties;
+import js.project.account_service.exception.BranchNotFoundException;
+import js.project.account_service.exception.VelocityLimitExceededException;
+import js.project.account_service.model.AccountApproval;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AccountSummaryDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.RiskDecision;
+import js.project.account_service.model.enums.VelocityMeasure;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.enums.VelocityScope;
+import js.project.account_service.model.request.CreateAccountRequest;
+import js.project.account_service.repository.AccountApprovalRepository;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import js.project.account_service.util.AccountNumberGenerator;
+import js.project.account_service.util.AccountSerialAllocator;
+import js.project.account_service.util.OptimisticRetryExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AccountServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountApprovalRepository accountApprovalRepository;
+
+    @Mock
+    private BankBranchRepository bankBranchRepository;
+
+
+    @Mock
+    private BranchSerialBlockService branchSerialBlockService;
+
+    @Mock
+    private AccountDetailsCache accountDetailsCache;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private BranchDirectory branchDirectory;
+
+    private AccountService accountService;
+
+    @BeforeEach
+    void setUp() {
+        BankBranch branch = BankBranch.builder().id(UUID.randomUUID()).branchCode("1234").build();
+        when(bankBranchRepository.findAll()).thenReturn(List.of(branch));
+        when(bankBranchRepository.getReferenceById(branch.getId())).thenReturn(branch);
+        when(branchSerialBlockService.reserveBlock(anyString(), anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(1);
+            long start = sequence.getAndAdd(count);
+            return new BranchSerialBlockService.SerialBlock(start + 1, count, AccountNumberGenerator.MAX_SERIAL - start - count);
+        });
+        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        branchDirectory = new BranchDirectory(bankBranchRepository, meterRegistry, Duration.ofSeconds(30));
+        branchDirectory.refresh();
+        accountService = new AccountService(accountRepository, accountApprovalRepository, bankBranchRepository,
+                new AccountNumberGenerator(), new AccountSerialAllocator(branchSerialBlockService, meterRegistry, 20),
+                branchDirectory, accountDetailsCache,
+                new OptimisticRetryExecutor(transactionTemplate, meterRegistry, 3, Duration.ZERO, Duration.ZERO),
+                new AccountStatusMachine(event -> {}), event -> {},
+                new VelocityRuleEngine(new VelocityRuleProperties(60, List.of(
+                        new VelocityRuleProperties.Rule("many-openings", VelocityOperation.ACCOUNT_OPEN, VelocityScope.USER,
+                                VelocityMeasure.COUNT, Duration.ofDays(1), 2, RiskDecision.REVIEW),
+                        new VelocityRuleProperties.Rule("opening-burst", VelocityOperation.ACCOUNT_OPEN, VelocityScope.USER,
+                                VelocityMeasure.COUNT, Duration.ofHours(1), 3, RiskDecision.BLOCK))), meterRegistry),
+                ledgerEntryRepository);
+    }
+
+    @Test
+    void createAccount_validRequest_createsPendingAccount() {
+        AccountSummaryDto account = accountService.createAccount(UUID.randomUUID(), request());
+
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.PENDING_APPROVAL);
+        assertThat(account.getAccountNumber()).startsWith("1234").hasSize(12);
+    }
+
+    @Test
+    void createAccount_openingBalance_isPostedAsBalancedEntries() {
+        accountService.createAccount(UUID.randomUUID(), request());
+
+        ArgumentCaptor<List<LedgerEntry>> entries = ArgumentCaptor.forClass(List.class);
+        verify(ledgerEntryRepository).saveAll(entries.capture());
+        assertThat(entries.getValue()).extracting(LedgerEntry::getEntryType).containsExactly(EntryType.CREDIT, EntryType.DEBIT);
+        assertThat(entries.getValue()).extracting(LedgerEntry::getAmount).containsOnly(Money.ofMinor(10_000, "USD"));
+        assertThat(entries.getValue().get(1).getAccountId()).isEqualTo(LedgerService.EXTERNAL_ACCOUNT_ID);
+    }
+
+    @Test
+    void createAccount_warmDirectory_issuesNoBranchQueries() {
+        for (int i = 0; i < 5; i++) {
+            accountService.createAccount(UUID.randomUUID(), request());
+        }
+
+        verify(bankBranchRepository, times(1)).findAll();
+        verify(bankBranchRepository, never()).findByBranchCode(anyString());
+        verify(bankBranchRepository, never()).findById(any());
+    }
+
+    @Test
+    void createAccount_unknownBranch_throwsBranchNotFoundException() {
+        when(bankBranchRepository.findByBranchCode("9999")).thenReturn(Optional.empty());
+        CreateAccountRequest request = request();
+        request.setBranchCode("9999");
+
+        assertThatThrownBy(() -> accountService.createAccount(UUID.randomUUID(), request))
+                .isInstanceOf(BranchNotFoundException.class);
+    }
+
+    @Test
+    void createAccount_manyThreads_uniqueAccountNumbersFromFewSequenceCalls() throws Exception {
+        int threads = 12;
+        int perThread = 100;
+        Set<String> accountNumbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        accountNumbers.add(accountService.createAccount(UUID.randomUUID(), request()).getAccountNumber());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(accountNumbers).hasSize(threads * perThread);
+        assertThat(sequence.get()).isEqualTo(threads * perThread);
+    }
+
+    @Test
+    void createAccount_repeatedOpenings_flaggedForReviewThenBlocked() {
+        UUID userId = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            accountService.createAccount(userId, request());
+        }
+
+        assertThatThrownBy(() -> accountService.createAccount(userId, request()))
+                .isInstanceOf(VelocityLimitExceededException.class);
+
+        ArgumentCaptor<AccountApproval> approvals = ArgumentCaptor.forClass(AccountApproval.class);
+        verify(accountApprovalRepository, times(3)).save(approvals.capture());
+        assertThat(approvals.getAllValues()).extracting(AccountApproval::getRiskDecision)
+                .containsExactly(RiskDecision.ALLOW, RiskDecision.ALLOW, RiskDecision.REVIEW);
+        assertThat(approvals.getAllValues().get(2).getRiskFlags()).isEqualTo("many-openings");
+        assertThat(sequence.get()).isEqualTo(20);
+    }
+
+    private CreateAccountRequest request() {
+        return CreateAccountRequest.builder()
+                .accountType(AccountType.SAVINGS)
+                .branchCode("1234")
+                .balance(new BigDecimal("100.00"))
+                .currency("USD")
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.ConcurrentUpdateException;
+import js.project.account_service.exception.InvalidAccountStatusException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.request.StatusUpdateRequest;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.util.AccountNumberGenerator;
+import js.project.account_service.util.AccountSerialAllocator;
+import js.project.account_service.util.OptimisticRetryExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"account.optimistic-retry.max-attempts=20", "account.optimistic-retry.max-backoff=PT0.05S"})
+@Import({AccountService.class, AccountStatusMachine.class, OptimisticRetryExecutor.class, VelocityRuleEngine.class, AccountStatusContentionTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountStatusContentionTest {
+
+    private static final int ADMINS = 6;
+    private static final int CHANGES_PER_ADMIN = 40;
+    private static final int DEPOSITS = 100;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BankBranchRepository bankBranchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @MockitoBean
+    private AccountSerialAllocator accountSerialAllocator;
+
+    @MockitoBean
+    private BranchDirectory branchDirectory;
+
+    @MockitoBean
+    private AccountDetailsCache accountDetailsCache;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        BankBranch branch = bankBranchRepository.save(BankBranch.builder().branchCode("4321").branchName("Contention").build());
+        account = accountRepository.save(Account.builder()
+                .userId(UUID.randomUUID())
+                .accountNumber("432100000017")
+                .accountType(AccountType.SAVINGS)
+                .bankBranch(branch)
+                .balance(Money.zero("USD"))
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRepository.deleteAll();
+        bankBranchRepository.deleteAll();
+    }
+
+    @Test
+    void contendedStatusChanges_loseNoUpdates() throws Exception {
+        AtomicInteger freezes = new AtomicInteger();
+        AtomicInteger unfreezes = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger exhausted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(ADMINS + 1);
+        long started = System.nanoTime();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int a = 0; a < ADMINS; a++) {
+                UUID adminId = UUID.randomUUID();
+                boolean freezer = a % 2 == 0;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    StatusUpdateRequest request = new StatusUpdateRequest(account.getId(), "contention test");
+                    for (int i = 0; i < CHANGES_PER_ADMIN; i++) {
+                        try {
+                            if (freezer) {
+                                accountService.freezeAccount(adminId, request);
+                                freezes.incrementAndGet();
+                            } else {
+                                accountService.unfreezeAccount(adminId, request);
+                                unfreezes.incrementAndGet();
+                            }
+                        } catch (InvalidAccountStatusException ex) {
+                            rejected.incrementAndGet();
+                        } catch (ConcurrentUpdateException ex) {
+                            exhausted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // balance postings take the row lock like LedgerService; a status change must not write back a stale balance
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < DEPOSITS; i++) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        Account locked = accountRepository.findAllByIdForUpdate(List.of(account.getId())).get(0);
+                        locked.setBalance(locked.getBalance().plus(Money.ofMinor(1, "USD")));
+                    });
+                }
+                return null;
+            }));
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Account result = accountRepository.findById(account.getId()).orElseThrow();
+        int applied = freezes.get() + unfreezes.get();
+        // every committed change moved the version exactly once, and the transitions strictly alternate
+        assertThat(result.getVersion()).isEqualTo(applied + DEPOSITS);
+        assertThat(freezes.get() - unfreezes.get()).isBetween(0, 1);
+        assertThat(result.getStatus()).isEqualTo(freezes.get() > unfreezes.get() ? AccountStatus.FROZEN : AccountStatus.ACTIVE);
+        assertThat(result.getBalance()).isEqualTo(Money.ofMinor(DEPOSITS, "USD"));
+        assertThat(applied + rejected.get() + exhausted.get()).isEqualTo(ADMINS * CHANGES_PER_ADMIN);
+
+        double retries = meterRegistry.find("account.optimistic.retries").counters().stream().mapToDouble(c -> c.count()).sum();
+        System.out.printf("contended status changes: %d applied, %d rejected, %d exhausted, %.0f retries, %.0f ops/s%n",
+                applied, rejected.get(), exhausted.get(), retries, (ADMINS * CHANGES_PER_ADMIN + DEPOSITS) / seconds);
+    }
+}
@@ -0,0 +1,96 @@
+package js.project.account_service.service;
+
+import js.project.account_service.exception.InvalidAccountStatusException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.event.AccountStatusChangedEvent;
+import js.project.account_service.repository.AccountRepository.AccountOwner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AccountStatusMachineTest {
+
+    private final List<Object> events = new ArrayList<>();
+
+    private final AccountStatusMachine machine = new AccountStatusMachine(events::add);
+
+    @Test
+    void table_allowsOnlyTheDocumentedMoves() {
+        assertThat(machine.targetsOf(AccountStatus.PENDING_APPROVAL)).containsExactlyInAnyOrder(AccountStatus.ACTIVE, AccountStatus.REJECTED);
+        assertThat(machine.targetsOf(AccountStatus.ACTIVE)).containsExactlyInAnyOrder(AccountStatus.FROZEN, AccountStatus.CLOSED);
+        assertThat(machine.targetsOf(AccountStatus.FROZEN)).containsExactlyInAnyOrder(AccountStatus.ACTIVE, AccountStatus.CLOSED);
+        assertThat(machine.targetsOf(AccountStatus.CLOSED)).isEmpty();
+        assertThat(machine.targetsOf(AccountStatus.REJECTED)).isEmpty();
+        assertThat(machine.sourcesOf(AccountStatus.ACTIVE)).containsExactlyInAnyOrder(AccountStatus.PENDING_APPROVAL, AccountStatus.FROZEN);
+    }
+
+    @Test
+    void transition_allowedMove_updatesAccountAndPublishesEvent() {
+        Account account = account(AccountStatus.ACTIVE, Money.zero("USD"));
+        UUID adminId = UUID.randomUUID();
+
+        machine.transition(account, AccountStatus.FROZEN, adminId, "fraud review");
+
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.FROZEN);
+        assertThat(account.getLastModifiedBy()).isEqualTo(adminId);
+        assertThat(account.getStatusUpdateComment()).isEqualTo("fraud review");
+        assertThat(events).singleElement().isInstanceOfSatisfying(AccountStatusChangedEvent.class, event -> {
+            assertThat(event.accountId()).isEqualTo(account.getId());
+            assertThat(event.previousStatus()).isEqualTo(AccountStatus.ACTIVE);
+            assertThat(event.newStatus()).isEqualTo(AccountStatus.FROZEN);
+        });
+    }
+
+    @Test
+    void transition_disallowedMove_leavesAccountUntouched() {
+        Account account = account(AccountStatus.CLOSED, Money.zero("USD"));
+
+        assertThatThrownBy(() -> machine.transition(account, AccountStatus.ACTIVE, UUID.randomUUID(), "reopen"))
+                .isInstanceOf(InvalidAccountStatusException.class);
+
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.CLOSED);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void transition_closeWithBalance_isRejectedByGuard() {
+        Account account = account(AccountStatus.FROZEN, Money.ofMinor(1, "USD"));
+
+        assertThatThrownBy(() -> machine.transition(account, AccountStatus.CLOSED, UUID.randomUUID(), "close"))
+                .isInstanceOf(InvalidAccountStatusException.class)
+                .hasMessageContaining("non-zero balance");
+        assertThat(account.getStatus()).isEqualTo(AccountStatus.FROZEN);
+    }
+
+    @Test
+    void transitioned_guardedTarget_cannotBeAppliedInBulk() {
+        assertThatThrownBy(() -> machine.transitioned(List.of(owner(UUID.randomUUID(), UUID.randomUUID())), AccountStatus.ACTIVE, AccountStatus.CLOSED,
+                UUID.randomUUID(), null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(events).isEmpty();
+    }
+
+    private static AccountOwner owner(UUID id, UUID userId) {
+        return new AccountOwner() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+        };
+    }
+
+    private static Account account(AccountStatus status, Money balance) {
+        return Account.builder().id(UUID.randomUUID()).status(status).balance(balance).build();
+    }
+}
@@ -0,0 +1,197 @@
+package js.project.account_service.service;
+
+import js.project.account_service.exception.ApprovalClaimedException;
+import js.project.account_service.model.AccountApproval;
+import js.project.account_service.model.enums.ApprovalStatus;
+import js.project.account_service.repository.AccountApprovalRepository;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+// Hibernate's H2Dialect renders SKIP LOCKED as a plain FOR UPDATE although H2 2.x supports it;
+// the dialect below emits it the way PostgreSQLDialect does in production
+@DataJpaTest(properties = "spring.jpa.database-platform=js.project.account_service.service.ApprovalClaimQueueTest$SkipLockedH2Dialect")
+@Import({AccountApprovalService.class, AccountStatusMachine.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ApprovalClaimQueueTest {
+
+    @Autowired
+    private AccountApprovalService accountApprovalService;
+
+    @Autowired
+    private AccountApprovalRepository accountApprovalRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private AccountDetailsCache accountDetailsCache;
+
+    @AfterEach
+    void tearDown() {
+        accountApprovalRepository.deleteAll();
+    }
+
+    @Test
+    void claimApprovals_passesOverRowsAnotherReviewerIsClaiming() throws Exception {
+        seedPending(10);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the first reviewer keeps its claim transaction, and so its row locks, open
+            Future<List<UUID>> held = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+                List<UUID> ids = ids(accountApprovalService.claimApprovals(first, 4));
+                claimed.countDown();
+                await(commit);
+                return ids;
+            }));
+            assertThat(claimed.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // a plain FOR UPDATE would block here until the lock timeout. Postgres hands out the next
+            // four rows; H2 applies the row limit before skipping locked rows, so it may return fewer
+            List<UUID> secondIds = assertTimeoutPreemptively(Duration.ofSeconds(1),
+                    () -> ids(accountApprovalService.claimApprovals(second, 4)));
+            commit.countDown();
+            List<UUID> firstIds = held.get(5, TimeUnit.SECONDS);
+
+            assertThat(firstIds).hasSize(4);
+            assertThat(secondIds).doesNotContainAnyElementsOf(firstIds);
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void claimApprovals_concurrentReviewersDrainTheQueueWithoutOverlap() throws Exception {
+        List<UUID> pending = seedPending(40);
+        List<UUID> claimed = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> reviewers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                UUID reviewer = UUID.randomUUID();
+                reviewers.add(executor.submit(() -> {
+                    // like a reviewer's client: keep asking for work until the queue is drained
+                    while (claimed.size() < pending.size()) {
+                        claimed.addAll(ids(accountApprovalService.claimApprovals(reviewer, 5)));
+                    }
+                }));
+            }
+            for (Future<?> reviewer : reviewers) {
+                reviewer.get(20, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(claimed).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(pending);
+        assertThat(accountApprovalService.claimApprovals(UUID.randomUUID(), 5)).isEmpty();
+    }
+
+    @Test
+    void claimApprovals_expiredLeaseReturnsToTheQueue() {
+        seedPending(2);
+        List<UUID> stale = ids(accountApprovalService.claimApprovals(UUID.randomUUID(), 2));
+        accountApprovalRepository.findAllById(stale).forEach(approval -> {
+            approval.setClaimExpiresAt(LocalDateTime.now().minusMinutes(1));
+            accountApprovalRepository.save(approval);
+        });
+
+        UUID reviewer = UUID.randomUUID();
+        List<AccountApproval> reclaimed = accountApprovalService.claimApprovals(reviewer, 5);
+
+        assertThat(ids(reclaimed)).containsExactlyInAnyOrderElementsOf(stale);
+        assertThat(reclaimed).allSatisfy(approval -> assertThat(approval.getClaimedBy()).isEqualTo(reviewer));
+    }
+
+    @Test
+    void releaseApproval_onlyTheClaimantCanRelease() {
+        seedPending(1);
+        UUID reviewer = UUID.randomUUID();
+        UUID approvalId = accountApprovalService.claimApprovals(reviewer, 1).get(0).getId();
+
+        assertThatThrownBy(() -> accountApprovalService.releaseApproval(UUID.randomUUID(), approvalId))
+                .isInstanceOf(ApprovalClaimedException.class);
+        accountApprovalService.releaseApproval(reviewer, approvalId);
+
+        assertThat(ids(accountApprovalService.claimApprovals(UUID.randomUUID(), 1))).containsExactly(approvalId);
+    }
+
+    @Test
+    void claimApprovals_sizeOutOfRange_throws() {
+        assertThatThrownBy(() -> accountApprovalService.claimApprovals(UUID.randomUUID(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accountApprovalService.claimApprovals(UUID.randomUUID(), AccountApprovalService.MAX_CLAIM + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<UUID> seedPending(int count) {
+        List<AccountApproval> approvals = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            approvals.add(AccountApproval.builder()
+                    .accountId(UUID.randomUUID())
+                    .status(ApprovalStatus.PENDING)
+                    .requestedBy(UUID.randomUUID())
+                    .build());
+        }
+        return ids(accountApprovalRepository.saveAll(approvals));
+    }
+
+    private static List<UUID> ids(List<AccountApproval> approvals) {
+        return approvals.stream().map(AccountApproval::getId).toList();
+    }
+
+    public static class SkipLockedH2Dialect extends H2Dialect {
+
+        @Override
+        public boolean supportsSkipLocked() {
+            return true;
+        }
+
+        @Override
+        public String getForUpdateSkipLockedString() {
+            return " for update skip locked";
+        }
+
+        @Override
+        public String getForUpdateSkipLockedString(String aliases) {
+            return getForUpdateSkipLockedString();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
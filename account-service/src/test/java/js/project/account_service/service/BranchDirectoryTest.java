@@ -0,0 +1,147 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.dto.BankBranchDto;
+import js.project.account_service.repository.BankBranchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BranchDirectoryTest {
+
+    @Mock
+    private BankBranchRepository bankBranchRepository;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private BranchDirectory branchDirectory;
+
+    @BeforeEach
+    void setUp() {
+        branchDirectory = new BranchDirectory(bankBranchRepository, meterRegistry, Duration.ofSeconds(30), clock::get);
+    }
+
+    @Test
+    void findByBranchCode_afterRefresh_servedFromMemory() {
+        when(bankBranchRepository.findAll()).thenReturn(List.of(branch("1234"), branch("5678")));
+        branchDirectory.refresh();
+
+        Optional<BankBranchDto> found = branchDirectory.findByBranchCode("5678");
+
+        assertThat(found).map(BankBranchDto::branchCode).contains("5678");
+        verify(bankBranchRepository, never()).findByBranchCode("5678");
+        assertThat(meterRegistry.get("account.branch.directory.hits").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("account.branch.directory.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void findByBranchCode_unknownCode_loadsOnceThenCaches() {
+        when(bankBranchRepository.findByBranchCode("4321")).thenReturn(Optional.of(branch("4321")));
+
+        assertThat(branchDirectory.findByBranchCode("4321")).isPresent();
+        assertThat(branchDirectory.findByBranchCode("4321")).isPresent();
+
+        verify(bankBranchRepository, times(1)).findByBranchCode("4321");
+        assertThat(meterRegistry.get("account.branch.directory.misses").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("account.branch.directory.hits").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findByBranchCode_missingBranch_returnsEmpty() {
+        when(bankBranchRepository.findByBranchCode("0000")).thenReturn(Optional.empty());
+
+        assertThat(branchDirectory.findByBranchCode("0000")).isEmpty();
+    }
+
+    @Test
+    void findByBranchCode_missingBranch_isRememberedUntilTheMissExpires() {
+        when(bankBranchRepository.findByBranchCode("0000")).thenReturn(Optional.empty());
+
+        assertThat(branchDirectory.findByBranchCode("0000")).isEmpty();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(branchDirectory.findByBranchCode("0000")).isEmpty();
+        verify(bankBranchRepository, times(1)).findByBranchCode("0000");
+        assertThat(meterRegistry.get("account.branch.directory.negative.hits").counter().count()).isEqualTo(1);
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertThat(branchDirectory.findByBranchCode("0000")).isEmpty();
+        verify(bankBranchRepository, times(2)).findByBranchCode("0000");
+    }
+
+    @Test
+    void invalidateAfterCommit_forgetsBranchesAndMisses() {
+        when(bankBranchRepository.findAll()).thenReturn(List.of(branch("1234")));
+        branchDirectory.refresh();
+        when(bankBranchRepository.findByBranchCode("5678"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(branch("5678")));
+        assertThat(branchDirectory.findByBranchCode("5678")).isEmpty();
+
+        // no transaction here, so the directory is dropped at once
+        branchDirectory.invalidateAfterCommit();
+
+        assertThat(branchDirectory.findByBranchCode("5678")).isPresent();
+        assertThat(meterRegistry.get("account.branch.directory.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void findByBranchCode_lookupRacingARefresh_doesNotUndoIt() throws Exception {
+        CountDownLatch lookupRead = new CountDownLatch(1);
+        CountDownLatch refreshed = new CountDownLatch(1);
+        when(bankBranchRepository.findByBranchCode("4321")).thenAnswer(invocation -> {
+            lookupRead.countDown();
+            refreshed.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        when(bankBranchRepository.findAll()).thenReturn(List.of(branch("4321")));
+
+        CompletableFuture<Optional<BankBranchDto>> lookup = CompletableFuture.supplyAsync(() -> branchDirectory.findByBranchCode("4321"));
+        assertThat(lookupRead.await(5, TimeUnit.SECONDS)).isTrue();
+        branchDirectory.refresh();
+        refreshed.countDown();
+
+        // the lookup read before the branch existed, but its miss must not hide the refreshed branch
+        assertThat(lookup.get(5, TimeUnit.SECONDS)).isEmpty();
+        assertThat(branchDirectory.findByBranchCode("4321")).isPresent();
+    }
+
+    @Test
+    void refresh_replacesSnapshot() {
+        when(bankBranchRepository.findAll())
+                .thenReturn(List.of(branch("1234")))
+                .thenReturn(List.of(branch("5678")));
+        branchDirectory.refresh();
+        branchDirectory.refresh();
+
+        when(bankBranchRepository.findByBranchCode("1234")).thenReturn(Optional.empty());
+        assertThat(branchDirectory.findByBranchCode("1234")).isEmpty();
+        assertThat(branchDirectory.findByBranchCode("5678")).isPresent();
+        assertThat(meterRegistry.get("account.branch.directory.refreshes").counter().count()).isEqualTo(2);
+    }
+
+    private BankBranch branch(String code) {
+        return BankBranch.builder().id(UUID.randomUUID()).branchCode(code).branchName("Branch " + code).build();
+    }
+}
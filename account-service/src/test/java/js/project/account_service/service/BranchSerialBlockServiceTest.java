@@ -0,0 +1,63 @@
+package js.project.account_service.service;
+
+import js.project.account_service.exception.AccountNumberExhaustedException;
+import js.project.account_service.model.BranchSerialSequence;
+import js.project.account_service.repository.BranchSerialSequenceRepository;
+import js.project.account_service.service.BranchSerialBlockService.SerialBlock;
+import js.project.account_service.util.AccountNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(BranchSerialBlockService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BranchSerialBlockServiceTest {
+
+    @Autowired
+    private BranchSerialBlockService branchSerialBlockService;
+
+    @Autowired
+    private BranchSerialSequenceRepository branchSerialSequenceRepository;
+
+    @Test
+    void reserveBlock_newBranch_startsAtOneAndAdvances() {
+        SerialBlock first = branchSerialBlockService.reserveBlock("0001", 50);
+        SerialBlock second = branchSerialBlockService.reserveBlock("0001", 50);
+
+        assertThat(first.first()).isEqualTo(1);
+        assertThat(first.size()).isEqualTo(50);
+        assertThat(second.first()).isEqualTo(51);
+        assertThat(second.remaining()).isEqualTo(AccountNumberGenerator.MAX_SERIAL - 100);
+    }
+
+    @Test
+    void reserveBlock_branchesDoNotShareSerials() {
+        branchSerialBlockService.reserveBlock("0002", 10);
+
+        assertThat(branchSerialBlockService.reserveBlock("0003", 10).first()).isEqualTo(1);
+    }
+
+    @Test
+    void reserveBlock_nearLimit_grantsRemainderThenThrows() {
+        branchSerialSequenceRepository.save(BranchSerialSequence.builder()
+                .branchCode("0004")
+                .nextValue(96)
+                .maxValue(100)
+                .build());
+
+        SerialBlock last = branchSerialBlockService.reserveBlock("0004", 50);
+
+        assertThat(last.first()).isEqualTo(96);
+        assertThat(last.size()).isEqualTo(5);
+        assertThat(last.remaining()).isZero();
+        assertThatThrownBy(() -> branchSerialBlockService.reserveBlock("0004", 50))
+                .isInstanceOf(AccountNumberExhaustedException.class);
+    }
+}
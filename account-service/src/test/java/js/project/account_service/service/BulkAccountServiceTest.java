@@ -0,0 +1,192 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.dto.BulkAccountResultDto;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.RiskDecision;
+import js.project.account_service.model.enums.TransactionType;
+import js.project.account_service.model.request.CreateAccountRequest;
+import js.project.account_service.repository.AccountApprovalRepository;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.repository.BranchSerialSequenceRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import js.project.account_service.util.AccountNumberCodec;
+import js.project.account_service.util.AccountSerialAllocator;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BulkAccountService.class, BranchDirectory.class, AccountSerialAllocator.class, BranchSerialBlockService.class,
+        VelocityRuleEngine.class, BulkAccountServiceTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkAccountServiceTest {
+
+    private static final String BRANCH_CODE = "7001";
+    private static final int ACCOUNTS = 120;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private BulkAccountService bulkAccountService;
+
+    @Autowired
+    private BankBranchRepository bankBranchRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountApprovalRepository accountApprovalRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private BranchSerialSequenceRepository branchSerialSequenceRepository;
+
+    @Autowired
+    private BranchDirectory branchDirectory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        bankBranchRepository.save(BankBranch.builder().branchCode(BRANCH_CODE).branchName("Bulk").build());
+        branchDirectory.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountApprovalRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        accountRepository.deleteAll();
+        branchSerialSequenceRepository.deleteAll();
+        bankBranchRepository.deleteAll();
+    }
+
+    @Test
+    void createAccounts_persistsAccountsAndApprovalsInBatches() {
+        List<CreateAccountRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            requests.add(request(BRANCH_CODE, "USD", "10.00"));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BulkAccountResultDto> results = bulkAccountService.createAccounts(UUID.randomUUID(), requests);
+
+        assertThat(results).hasSize(ACCOUNTS).allMatch(BulkAccountResultDto::isCreated);
+        assertThat(results).extracting(result -> result.getAccount().getAccountNumber())
+                .doesNotHaveDuplicates()
+                .allMatch(AccountNumberCodec::isValid);
+        assertThat(accountRepository.count()).isEqualTo(ACCOUNTS);
+        assertThat(accountApprovalRepository.count()).isEqualTo(ACCOUNTS);
+        assertThat(ledgerEntryRepository.count()).isEqualTo(2 * ACCOUNTS);
+        // 480 rows in batches of 50, plus the serial reservation; one statement per row would be 480+
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(20);
+    }
+
+    @Test
+    void createAccounts_invalidItems_reportedWithoutAbortingOthers() {
+        List<CreateAccountRequest> requests = List.of(
+                request(BRANCH_CODE, "USD", "1.00"),
+                request("9998", "USD", "1.00"),
+                request(BRANCH_CODE, "USD", "1.001"),
+                request(BRANCH_CODE, "EUR", "2.50"));
+
+        List<BulkAccountResultDto> results = bulkAccountService.createAccounts(UUID.randomUUID(), requests);
+
+        assertThat(results).extracting(BulkAccountResultDto::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(BulkAccountResultDto::isCreated).containsExactly(true, false, false, true);
+        assertThat(results.get(1).getError()).contains("9998");
+        assertThat(accountRepository.findAll()).extracting(Account::getCurrency).containsExactlyInAnyOrder("USD", "EUR");
+        for (Account account : accountRepository.findAll()) {
+            List<LedgerEntry> entries = ledgerEntryRepository.findAll().stream()
+                    .filter(entry -> entry.getAccountId().equals(account.getId()))
+                    .toList();
+            assertThat(entries).singleElement().satisfies(entry -> {
+                assertThat(entry.getEntryType()).isEqualTo(EntryType.CREDIT);
+                assertThat(entry.getTransactionType()).isEqualTo(TransactionType.OPENING_BALANCE);
+                assertThat(entry.getAmount()).isEqualTo(account.getBalance());
+            });
+        }
+    }
+
+    @Test
+    void createAccounts_thousandItemsUnderDefaultRules_areAssessedAsOneOpening() {
+        UUID userId = UUID.randomUUID();
+        List<CreateAccountRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            requests.add(request(BRANCH_CODE, "USD", "1.00"));
+        }
+
+        List<BulkAccountResultDto> results = bulkAccountService.createAccounts(userId, requests);
+
+        assertThat(results).hasSize(1000).allMatch(BulkAccountResultDto::isCreated);
+        assertThat(accountApprovalRepository.findAll()).hasSize(1000)
+                .allMatch(approval -> approval.getRiskDecision() == RiskDecision.ALLOW);
+
+        // bulk-opening-burst counts requests, not accounts: nine more fit in the hour, the tenth does not
+        for (int i = 0; i < 9; i++) {
+            assertThat(bulkAccountService.createAccounts(userId, List.of(request(BRANCH_CODE, "USD", "1.00"))))
+                    .allMatch(BulkAccountResultDto::isCreated);
+        }
+        assertThat(bulkAccountService.createAccounts(userId, List.of(request(BRANCH_CODE, "USD", "1.00"))))
+                .singleElement()
+                .satisfies(result -> assertThat(result.getError()).contains("limit reached"));
+    }
+
+    @Test
+    void createAccounts_branchCreatedAfterAMiss_isUsableOnceCommitted() {
+        UUID userId = UUID.randomUUID();
+        assertThat(bulkAccountService.createAccounts(userId, List.of(request("7002", "USD", "1.00"))))
+                .singleElement()
+                .satisfies(result -> assertThat(result.getError()).contains("7002"));
+
+        // the miss is remembered, but saving the branch drops the directory when the save commits
+        bankBranchRepository.save(BankBranch.builder().branchCode("7002").branchName("Late").build());
+
+        assertThat(bulkAccountService.createAccounts(userId, List.of(request("7002", "USD", "1.00"))))
+                .allMatch(BulkAccountResultDto::isCreated);
+    }
+
+    private CreateAccountRequest request(String branchCode, String currency, String balance) {
+        return CreateAccountRequest.builder()
+                .accountType(AccountType.SAVINGS)
+                .branchCode(branchCode)
+                .currency(currency)
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package js.project.account_service.service;
+
+import js.project.account_service.model.Account;
+import js.project.account_service.model.AccountApproval;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.BulkReviewResultDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.ApprovalStatus;
+import js.project.account_service.model.request.BulkApprovalRequest;
+import js.project.account_service.repository.AccountApprovalRepository;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({AccountApprovalService.class, AccountStatusMachine.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkReviewContentionTest {
+
+    private static final int APPROVALS = 60;
+    private static final int REVIEWERS = 4;
+
+    @Autowired
+    private AccountApprovalService accountApprovalService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountApprovalRepository accountApprovalRepository;
+
+    @Autowired
+    private BankBranchRepository bankBranchRepository;
+
+    @MockitoBean
+    private AccountDetailsCache accountDetailsCache;
+
+    private final List<UUID> approvalIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        BankBranch branch = bankBranchRepository.save(BankBranch.builder().branchCode("4322").branchName("Review").build());
+        for (int i = 0; i < APPROVALS; i++) {
+            Account account = accountRepository.save(Account.builder()
+                    .userId(UUID.randomUUID())
+                    .accountNumber(String.format("4322%08d", i))
+                    .accountType(AccountType.SAVINGS)
+                    .bankBranch(branch)
+                    .balance(Money.zero("USD"))
+                    .status(AccountStatus.PENDING_APPROVAL)
+                    .build());
+            approvalIds.add(accountApprovalRepository.save(AccountApproval.builder()
+                    .accountId(account.getId())
+                    .status(ApprovalStatus.PENDING)
+                    .requestedBy(account.getUserId())
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountApprovalRepository.deleteAll();
+        accountRepository.deleteAll();
+        bankBranchRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentBulkReviews_decideEachApprovalOnceAndMoveItsAccount() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(REVIEWERS);
+        List<BulkReviewResultDto> results = new ArrayList<>();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<BulkReviewResultDto>> reviews = new ArrayList<>();
+            for (int r = 0; r < REVIEWERS; r++) {
+                ApprovalStatus decision = r % 2 == 0 ? ApprovalStatus.APPROVED : ApprovalStatus.REJECTED;
+                List<UUID> ids = new ArrayList<>(approvalIds);
+                Collections.shuffle(ids);
+                reviews.add(executor.submit(() -> {
+                    start.await();
+                    return accountApprovalService.reviewApprovals(UUID.randomUUID(), BulkApprovalRequest.builder()
+                            .approvalIds(ids).status(decision).comments("contention").build());
+                }));
+            }
+            start.countDown();
+            for (Future<BulkReviewResultDto> review : reviews) {
+                results.add(review.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(results.stream().mapToInt(result -> result.getReviewed().size()).sum()).isEqualTo(APPROVALS);
+        Map<UUID, Account> accounts = accountRepository.findAll().stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()));
+        for (AccountApproval approval : accountApprovalRepository.findAll()) {
+            AccountStatus expected = approval.getStatus() == ApprovalStatus.APPROVED ? AccountStatus.ACTIVE : AccountStatus.REJECTED;
+            assertThat(approval.getStatus()).isNotEqualTo(ApprovalStatus.PENDING);
+            assertThat(accounts.get(approval.getAccountId()).getStatus()).isEqualTo(expected);
+        }
+    }
+}
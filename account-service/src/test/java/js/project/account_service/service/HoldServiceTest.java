@@ -0,0 +1,278 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.InsufficientFundsException;
+import js.project.account_service.exception.InvalidHoldStatusException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Hold;
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AvailableBalanceDto;
+import js.project.account_service.model.dto.HoldDto;
+import js.project.account_service.model.dto.TransactionDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.HoldStatus;
+import js.project.account_service.model.enums.TransactionType;
+import js.project.account_service.model.request.CaptureHoldRequest;
+import js.project.account_service.model.request.CashTransactionRequest;
+import js.project.account_service.model.request.PlaceHoldRequest;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.repository.HoldRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import js.project.account_service.util.StripedAccountLock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({HoldService.class, LedgerService.class, StripedAccountLock.class, VelocityRuleEngine.class, HoldServiceTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class HoldServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERATIONS_PER_THREAD = 150;
+    private static final long OPENING_BALANCE = 100_000;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private BankBranchRepository bankBranchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private AccountDetailsCache accountDetailsCache;
+
+    private final UUID adminId = UUID.randomUUID();
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        BankBranch branch = bankBranchRepository.save(BankBranch.builder().branchCode("5678").branchName("Holds").build());
+        account = accountRepository.save(Account.builder()
+                .userId(UUID.randomUUID())
+                .accountNumber("567800000017")
+                .accountType(AccountType.CHECKING)
+                .bankBranch(branch)
+                .balance(Money.ofMinor(OPENING_BALANCE, "USD"))
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        holdRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        accountRepository.deleteAll();
+        bankBranchRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentHoldsCapturesAndReleases_keepReservedEqualToActiveHolds() throws Exception {
+        AtomicLong captured = new AtomicLong();
+        AtomicLong withdrawn = new AtomicLong();
+        AtomicInteger rejected = new AtomicInteger();
+        Set<UUID> stillHeld = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    Deque<HoldDto> mine = new ArrayDeque<>();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        int dice = random.nextInt(10);
+                        try {
+                            if (dice < 5 || mine.isEmpty()) {
+                                // holds outgrow the balance, so some of them have to be declined
+                                mine.add(holdService.placeHold(adminId, account.getId(), place(random.nextLong(1_000, 5_001))));
+                            } else if (dice < 7) {
+                                HoldDto hold = mine.poll();
+                                long amount = random.nextLong(1, hold.amount().minorUnits() + 1);
+                                holdService.captureHold(adminId, account.getId(), hold.id(), capture(amount));
+                                captured.addAndGet(amount);
+                            } else if (dice < 9) {
+                                holdService.releaseHold(account.getId(), mine.poll().id());
+                            } else {
+                                long amount = random.nextLong(1_000, 2_001);
+                                ledgerService.withdraw(adminId, account.getId(),
+                                        new CashTransactionRequest(BigDecimal.valueOf(amount, 2), null));
+                                withdrawn.addAndGet(amount);
+                            }
+                        } catch (InsufficientFundsException ex) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    mine.forEach(hold -> stillHeld.add(hold.id()));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Hold> active = holdRepository.findByAccountIdAndStatusOrderByCreatedAt(account.getId(), HoldStatus.ACTIVE);
+        long activeMinor = active.stream().mapToLong(hold -> hold.getAmount().minorUnits()).sum();
+        assertThat(active).extracting(Hold::getId).containsExactlyInAnyOrderElementsOf(stillHeld);
+        Account result = accountRepository.findById(account.getId()).orElseThrow();
+        assertThat(result.getReservedMinor()).isEqualTo(activeMinor);
+        assertThat(result.getBalance()).isEqualTo(Money.ofMinor(OPENING_BALANCE - captured.get() - withdrawn.get(), "USD"));
+        assertThat(result.getAvailableBalance().minorUnits()).isNotNegative();
+        assertThat(rejected).hasPositiveValue();
+
+        long postedCaptures = ledgerEntryRepository.findAll().stream()
+                .filter(entry -> entry.getTransactionType() == TransactionType.HOLD_CAPTURE && entry.getEntryType() == EntryType.DEBIT)
+                .mapToLong(entry -> entry.getAmount().minorUnits())
+                .sum();
+        assertThat(postedCaptures).isEqualTo(captured.get());
+    }
+
+    @Test
+    void captureHold_partialAmount_postsItAndReleasesTheRest() {
+        HoldDto hold = holdService.placeHold(adminId, account.getId(), place(30_000));
+        assertThat(holdService.getAvailableBalance(account.getId()))
+                .isEqualTo(new AvailableBalanceDto(account.getId(), usd(OPENING_BALANCE), usd(30_000), usd(OPENING_BALANCE - 30_000)));
+
+        TransactionDto transaction = holdService.captureHold(adminId, account.getId(), hold.id(), capture(12_500));
+
+        assertThat(transaction.getTransactionType()).isEqualTo(TransactionType.HOLD_CAPTURE);
+        assertThat(holdService.getAvailableBalance(account.getId()))
+                .isEqualTo(new AvailableBalanceDto(account.getId(), usd(OPENING_BALANCE - 12_500), usd(0), usd(OPENING_BALANCE - 12_500)));
+        Hold stored = holdRepository.findById(hold.id()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(stored.getCapturedAmount()).isEqualTo(usd(12_500));
+        assertThat(stored.getTransactionId()).isEqualTo(transaction.getTransactionId());
+        assertThat(ledgerEntryRepository.findAll()).extracting(LedgerEntry::getAmount).containsOnly(usd(12_500));
+    }
+
+    @Test
+    void placeHold_moreThanAvailable_isDeclined() {
+        holdService.placeHold(adminId, account.getId(), place(OPENING_BALANCE - 100));
+
+        assertThatThrownBy(() -> holdService.placeHold(adminId, account.getId(), place(101)))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThat(holdRepository.count()).isEqualTo(1);
+        assertThat(reservedMinor()).isEqualTo(OPENING_BALANCE - 100);
+    }
+
+    @Test
+    void releasedOrExpiredHold_cannotBeResolvedAgain() {
+        HoldDto released = holdService.placeHold(adminId, account.getId(), place(1_000));
+        HoldDto overdue = holdService.placeHold(adminId, account.getId(), place(2_000));
+        Hold stored = holdRepository.findById(overdue.id()).orElseThrow();
+        stored.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        holdRepository.save(stored);
+
+        holdService.releaseHold(account.getId(), released.id());
+        holdService.expireHolds();
+
+        assertThat(holdRepository.findById(overdue.id()).orElseThrow().getStatus()).isEqualTo(HoldStatus.EXPIRED);
+        assertThat(reservedMinor()).isZero();
+        assertThatThrownBy(() -> holdService.releaseHold(account.getId(), released.id()))
+                .isInstanceOf(InvalidHoldStatusException.class);
+        assertThatThrownBy(() -> holdService.captureHold(adminId, account.getId(), overdue.id(), new CaptureHoldRequest()))
+                .isInstanceOf(InvalidHoldStatusException.class);
+    }
+
+    @Test
+    void holdPlacedByAnotherInstance_isEnforcedAndExpiredHere() {
+        // a second instance shares only the database with this one
+        HoldService otherInstance = new HoldService(holdRepository, accountRepository, ledgerService, new StripedAccountLock(16),
+                transactionTemplate, new SimpleMeterRegistry(), Duration.ofDays(7));
+        HoldDto hold = otherInstance.placeHold(adminId, account.getId(), place(OPENING_BALANCE - 1_000));
+
+        assertThatThrownBy(() -> ledgerService.withdraw(adminId, account.getId(),
+                new CashTransactionRequest(BigDecimal.valueOf(1_001, 2), null)))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        Hold stored = holdRepository.findById(hold.id()).orElseThrow();
+        stored.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        holdRepository.save(stored);
+        holdService.expireHolds();
+
+        assertThat(holdRepository.findById(hold.id()).orElseThrow().getStatus()).isEqualTo(HoldStatus.EXPIRED);
+        assertThat(reservedMinor()).isZero();
+        assertThat(otherInstance.getAvailableBalance(account.getId()).available()).isEqualTo(usd(OPENING_BALANCE));
+    }
+
+    private long reservedMinor() {
+        return accountRepository.findById(account.getId()).orElseThrow().getReservedMinor();
+    }
+
+    private static PlaceHoldRequest place(long minorUnits) {
+        return new PlaceHoldRequest(BigDecimal.valueOf(minorUnits, 2), "card authorization");
+    }
+
+    private static CaptureHoldRequest capture(long minorUnits) {
+        return new CaptureHoldRequest(BigDecimal.valueOf(minorUnits, 2), null);
+    }
+
+    private static Money usd(long minorUnits) {
+        return Money.ofMinor(minorUnits, "USD");
+    }
+}
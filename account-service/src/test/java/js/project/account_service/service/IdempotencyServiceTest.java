@@ -0,0 +1,210 @@
+package js.project.account_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.IdempotencyKeyReusedException;
+import js.project.account_service.model.IdempotencyRecord;
+import js.project.account_service.model.dto.AccountSummaryDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.IdempotencyStatus;
+import js.project.account_service.model.request.CreateAccountRequest;
+import js.project.account_service.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IdempotencyServiceTest {
+
+    private static final UUID CALLER = UUID.randomUUID();
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void execute_sameKeyInParallel_runsOnceAndReturnsOneResponse() throws Exception {
+        IdempotencyService service = newInstance();
+
+        List<AccountSummaryDto> responses = fireInParallel(16, i -> service);
+
+        assertThat(executions).hasValue(1);
+        assertThat(responses).hasSize(16).containsOnly(responses.get(0));
+        assertThat(repository.findAll()).singleElement()
+                .extracting(IdempotencyRecord::getStatus).isEqualTo(IdempotencyStatus.COMPLETED);
+    }
+
+    @Test
+    void execute_sameKeyOnSeveralInstances_runsOnceThroughTheDatabase() throws Exception {
+        // separate local caches and in-flight maps, one shared table: what several pods see
+        List<IdempotencyService> instances = List.of(newInstance(), newInstance(), newInstance(), newInstance());
+
+        List<AccountSummaryDto> responses = fireInParallel(16, i -> instances.get(i % instances.size()));
+
+        assertThat(executions).hasValue(1);
+        assertThat(responses).hasSize(16).containsOnly(responses.get(0));
+    }
+
+    @Test
+    void execute_retryAfterCompletion_replaysWithoutRunning() {
+        IdempotencyService first = newInstance();
+        AccountSummaryDto original = first.execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, this::create);
+
+        AccountSummaryDto replayed = newInstance().execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, this::create);
+
+        assertThat(replayed).isEqualTo(original);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void execute_keyReusedForDifferentRequest_isRejected() {
+        IdempotencyService service = newInstance();
+        service.execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, this::create);
+
+        CreateAccountRequest other = request();
+        other.setCurrency("EUR");
+        assertThatThrownBy(() -> service.execute("createAccount", CALLER, "key-1", other, AccountSummaryDto.class, this::create))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void execute_failedRequest_releasesKeyForTheRetry() {
+        IdempotencyService service = newInstance();
+
+        assertThatThrownBy(() -> service.execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+        AccountSummaryDto retried = service.execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, this::create);
+
+        assertThat(retried).isNotNull();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void execute_abandonedClaim_isTakenOverOnceTheLeaseExpires() {
+        LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+        repository.save(IdempotencyRecord.builder()
+                .id("createAccount:" + CALLER + ":key-1")
+                .fingerprint("left-behind-by-a-crashed-instance")
+                .status(IdempotencyStatus.IN_PROGRESS)
+                .createdAt(past)
+                .expiresAt(past)
+                .build());
+
+        newInstance().execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, this::create);
+
+        assertThat(executions).hasValue(1);
+        assertThat(repository.findAll()).singleElement()
+                .extracting(IdempotencyRecord::getStatus).isEqualTo(IdempotencyStatus.COMPLETED);
+    }
+
+    @Test
+    void execute_requestOutlivingTheLease_keepsItsKey() throws Exception {
+        Duration lease = Duration.ofMillis(300);
+        IdempotencyService slow = newInstance(lease);
+        IdempotencyService other = newInstance(lease);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<AccountSummaryDto> first = executor.submit(() ->
+                    slow.execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, () -> {
+                        sleep(1500);
+                        return create();
+                    }));
+            sleep(900);
+
+            AccountSummaryDto second = other.execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, this::create);
+
+            assertThat(second).isEqualTo(first.get(5, TimeUnit.SECONDS));
+            assertThat(executions).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+            slow.shutdown();
+            other.shutdown();
+        }
+    }
+
+    private List<AccountSummaryDto> fireInParallel(int requests, IntFunction<IdempotencyService> instance) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<AccountSummaryDto>> futures = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                IdempotencyService service = instance.apply(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return service.execute("createAccount", CALLER, "key-1", request(), AccountSummaryDto.class, () -> {
+                        sleep(200);
+                        return create();
+                    });
+                }));
+            }
+            start.countDown();
+            List<AccountSummaryDto> responses = new ArrayList<>();
+            for (Future<AccountSummaryDto> future : futures) {
+                responses.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private IdempotencyService newInstance() {
+        return newInstance(Duration.ofSeconds(30));
+    }
+
+    private IdempotencyService newInstance(Duration inProgressLease) {
+        return new IdempotencyService(repository, objectMapper, new SimpleMeterRegistry(),
+                Duration.ofHours(1), inProgressLease, Duration.ofSeconds(5), 100);
+    }
+
+    private AccountSummaryDto create() {
+        executions.incrementAndGet();
+        return new AccountSummaryDto(UUID.randomUUID(), "123400000017", AccountType.SAVINGS, "USD",
+                AccountStatus.PENDING_APPROVAL, LocalDateTime.now().withNano(0));
+    }
+
+    private static CreateAccountRequest request() {
+        return CreateAccountRequest.builder().accountType(AccountType.SAVINGS).branchCode("1234")
+                .balance(new BigDecimal("25.00")).currency("USD").build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
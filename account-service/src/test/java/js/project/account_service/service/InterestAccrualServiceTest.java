@@ -0,0 +1,208 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.AccrualPartition;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.AccrualRunDto;
+import js.project.account_service.model.dto.AccrualRunStatusDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.TransactionType;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.AccrualPartitionRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {"account.interest.partitions=8", "account.interest.workers=3", "account.interest.chunk-size=7"})
+@Import({InterestAccrualService.class, InterestAccrualServiceTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class InterestAccrualServiceTest {
+
+    private static final LocalDate RUN_DATE = LocalDate.of(2026, 10, 17);
+
+    // 36,500.00 accrues exactly 1.00 a day per percent of annual rate: 3.50 on savings, 6.50 on deposits
+    private static final long BALANCE = 3_650_000;
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private InterestAccrualService accrualService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccrualPartitionRepository partitionRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private BankBranchRepository bankBranchRepository;
+
+    @MockitoBean
+    private AccountDetailsCache accountDetailsCache;
+
+    private BankBranch branch;
+    private int serial;
+
+    @BeforeEach
+    void setUp() {
+        branch = bankBranchRepository.save(BankBranch.builder().branchCode("7890").branchName("Interest").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ledgerEntryRepository.deleteAll();
+        partitionRepository.deleteAll();
+        accountRepository.deleteAll();
+        bankBranchRepository.deleteAll();
+    }
+
+    @Test
+    void startAccrual_runsInTheBackgroundAndRejectsDaysNotYetOver() throws InterruptedException {
+        accounts(20, AccountType.SAVINGS, AccountStatus.ACTIVE, BALANCE);
+
+        assertThatThrownBy(() -> accrualService.startAccrual(LocalDate.now()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> accrualService.startAccrual(LocalDate.now().plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(partitionRepository.count()).isZero();
+
+        AccrualRunStatusDto started = accrualService.startAccrual(RUN_DATE);
+        assertThat(started.partitions()).isEqualTo(8);
+        AccrualRunStatusDto run = started;
+        for (int i = 0; i < 200 && (run.running() || run.completedPartitions() < run.partitions()); i++) {
+            Thread.sleep(50);
+            run = accrualService.getRun(RUN_DATE);
+        }
+
+        assertThat(run.running()).isFalse();
+        assertThat(run.completedPartitions()).isEqualTo(8);
+        assertThat(run.accountsAccrued()).isEqualTo(20);
+    }
+
+    @Test
+    void accrue_creditsEveryEligibleAccountOnceAndBalancesTheLedger() {
+        List<Account> savings = accounts(60, AccountType.SAVINGS, AccountStatus.ACTIVE, BALANCE);
+        List<Account> deposits = accounts(40, AccountType.FIXED_DEPOSIT, AccountStatus.ACTIVE, BALANCE);
+        List<Account> untouched = new ArrayList<>();
+        untouched.addAll(accounts(10, AccountType.CHECKING, AccountStatus.ACTIVE, BALANCE));
+        untouched.addAll(accounts(10, AccountType.SAVINGS, AccountStatus.FROZEN, BALANCE));
+        untouched.addAll(accounts(10, AccountType.SAVINGS, AccountStatus.ACTIVE, 0));
+
+        AccrualRunDto run = accrualService.accrue(RUN_DATE);
+
+        assertThat(run.complete()).isTrue();
+        assertThat(run.partitions()).isEqualTo(8);
+        assertThat(run.accountsAccrued()).isEqualTo(100);
+        Map<UUID, Account> after = reload();
+        savings.forEach(account -> assertThat(after.get(account.getId()).getBalance()).isEqualTo(Money.ofMinor(BALANCE + 350, "USD")));
+        deposits.forEach(account -> assertThat(after.get(account.getId()).getBalance()).isEqualTo(Money.ofMinor(BALANCE + 650, "USD")));
+        untouched.forEach(account -> assertThat(after.get(account.getId()).getBalance()).isEqualTo(account.getBalance()));
+
+        List<LedgerEntry> entries = ledgerEntryRepository.findAll();
+        assertThat(entries).hasSize(200).allMatch(entry -> entry.getTransactionType() == TransactionType.INTEREST);
+        long credits = entries.stream().filter(e -> e.getEntryType() == EntryType.CREDIT).mapToLong(e -> e.getAmount().minorUnits()).sum();
+        long debits = entries.stream().filter(e -> e.getEntryType() == EntryType.DEBIT).mapToLong(e -> e.getAmount().minorUnits()).sum();
+        assertThat(credits).isEqualTo(debits).isEqualTo(60 * 350 + 40 * 650);
+    }
+
+    @Test
+    void accrue_sameDateAgain_creditsNothing() {
+        accounts(30, AccountType.SAVINGS, AccountStatus.ACTIVE, BALANCE);
+        accrualService.accrue(RUN_DATE);
+
+        AccrualRunDto rerun = accrualService.accrue(RUN_DATE);
+
+        assertThat(rerun.complete()).isTrue();
+        assertThat(rerun.accountsAccrued()).isZero();
+        assertThat(ledgerEntryRepository.count()).isEqualTo(60);
+    }
+
+    @Test
+    void accrue_afterAFailedChunk_resumesFromTheCheckpointWithoutCreditingTwice() {
+        List<Account> accounts = accounts(80, AccountType.SAVINGS, AccountStatus.ACTIVE, BALANCE);
+        // crediting this one overflows, which fails its chunk the way a crash mid-chunk would
+        Account poisoned = accounts(1, AccountType.SAVINGS, AccountStatus.ACTIVE, Long.MAX_VALUE - 1).get(0);
+
+        assertThatThrownBy(() -> accrualService.accrue(RUN_DATE)).isInstanceOf(IllegalStateException.class);
+        assertThat(partitionRepository.findByRunDateOrderByPartitionNo(RUN_DATE))
+                .filteredOn(partition -> partition.getLeaseExpiresAt() != null).hasSize(1);
+
+        Account fixed = accountRepository.findById(poisoned.getId()).orElseThrow();
+        fixed.setBalance(Money.ofMinor(BALANCE, "USD"));
+        accountRepository.save(fixed);
+        expireLeases();
+        AccrualRunDto resumed = accrualService.accrue(RUN_DATE);
+
+        assertThat(resumed.complete()).isTrue();
+        Map<UUID, Account> after = reload();
+        accounts.forEach(account -> assertThat(after.get(account.getId()).getBalance()).isEqualTo(Money.ofMinor(BALANCE + 350, "USD")));
+        assertThat(after.get(poisoned.getId()).getBalance()).isEqualTo(Money.ofMinor(BALANCE + 350, "USD"));
+        Map<UUID, Long> creditsPerAccount = ledgerEntryRepository.findAll().stream()
+                .filter(entry -> entry.getEntryType() == EntryType.CREDIT)
+                .collect(Collectors.groupingBy(LedgerEntry::getAccountId, Collectors.counting()));
+        assertThat(creditsPerAccount).hasSize(81).allSatisfy((accountId, count) -> assertThat(count).isEqualTo(1));
+    }
+
+    private void expireLeases() {
+        List<AccrualPartition> partitions = partitionRepository.findByRunDateOrderByPartitionNo(RUN_DATE);
+        partitions.stream().filter(partition -> partition.getLeaseExpiresAt() != null)
+                .forEach(partition -> partition.setLeaseExpiresAt(LocalDateTime.now().minusSeconds(1)));
+        partitionRepository.saveAll(partitions);
+    }
+
+    private Map<UUID, Account> reload() {
+        return accountRepository.findAll().stream().collect(Collectors.toMap(Account::getId, Function.identity()));
+    }
+
+    private List<Account> accounts(int count, AccountType type, AccountStatus status, long balanceMinor) {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            accounts.add(Account.builder()
+                    .userId(UUID.randomUUID())
+                    .accountNumber(String.format("7890%08d", serial++))
+                    .accountType(type)
+                    .bankBranch(branch)
+                    .balance(Money.ofMinor(balanceMinor, "USD"))
+                    .status(status)
+                    .build());
+        }
+        return accountRepository.saveAll(accounts);
+    }
+}
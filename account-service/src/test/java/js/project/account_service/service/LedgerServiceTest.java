@@ -0,0 +1,244 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.config.VelocityRuleProperties;
+import js.project.account_service.exception.AccountNotFoundException;
+import js.project.account_service.exception.InsufficientFundsException;
+import js.project.account_service.exception.InvalidAccountStatusException;
+import js.project.account_service.exception.InvalidTransactionException;
+import js.project.account_service.exception.VelocityLimitExceededException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.LedgerEntryDto;
+import js.project.account_service.model.dto.TransactionDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.RiskDecision;
+import js.project.account_service.model.enums.VelocityMeasure;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.enums.VelocityScope;
+import js.project.account_service.model.request.CashTransactionRequest;
+import js.project.account_service.model.request.TransferRequest;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import js.project.account_service.util.StripedAccountLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class LedgerServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AccountDetailsCache accountDetailsCache;
+
+    private LedgerService ledgerService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ledgerService = new LedgerService(accountRepository, ledgerEntryRepository, new StripedAccountLock(16), transactionTemplate,
+                accountDetailsCache, new VelocityRuleEngine(new VelocityRuleProperties(60, List.of(
+                        new VelocityRuleProperties.Rule("transfer-burst", VelocityOperation.TRANSFER, VelocityScope.ACCOUNT,
+                                VelocityMeasure.COUNT, Duration.ofMinutes(1), 2, RiskDecision.BLOCK))), new SimpleMeterRegistry()));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(ledgerEntryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void transfer_validRequest_postsBalancedEntriesAndMovesFunds() {
+        Account from = account(userId, "100.00", "USD", AccountStatus.ACTIVE);
+        Account to = account(UUID.randomUUID(), "5.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(from, to));
+
+        TransactionDto transaction = ledgerService.transfer(userId, from.getId(),
+                new TransferRequest(to.getId(), new BigDecimal("40.00"), "rent"));
+
+        assertThat(from.getBalance()).isEqualTo(Money.ofMinor(6000, "USD"));
+        assertThat(to.getBalance()).isEqualTo(Money.ofMinor(4500, "USD"));
+
+        List<LedgerEntryDto> entries = transaction.getEntries();
+        assertThat(entries).hasSize(2);
+        assertThat(entries).extracting(LedgerEntryDto::getTransactionId).containsOnly(transaction.getTransactionId());
+        assertThat(sum(entries, EntryType.DEBIT)).isEqualTo(sum(entries, EntryType.CREDIT));
+        verify(accountDetailsCache).invalidateAfterCommit(List.of(from.getId(), to.getId()));
+    }
+
+    @Test
+    void transfer_insufficientFunds_throwsAndSavesNothing() {
+        Account from = account(userId, "10.00", "USD", AccountStatus.ACTIVE);
+        Account to = account(UUID.randomUUID(), "0.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(from, to));
+
+        assertThatThrownBy(() -> ledgerService.transfer(userId, from.getId(),
+                new TransferRequest(to.getId(), new BigDecimal("10.01"), null)))
+                .isInstanceOf(InsufficientFundsException.class);
+
+        assertThat(from.getBalance()).isEqualTo(Money.ofMinor(1000, "USD"));
+        verify(ledgerEntryRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void transfer_overVelocityLimit_throwsUnlessScheduled() {
+        Account from = account(userId, "100.00", "USD", AccountStatus.ACTIVE);
+        Account to = account(UUID.randomUUID(), "0.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(from, to));
+        TransferRequest request = new TransferRequest(to.getId(), BigDecimal.ONE, null);
+
+        ledgerService.transfer(userId, from.getId(), request);
+        ledgerService.transfer(userId, from.getId(), request);
+        assertThatThrownBy(() -> ledgerService.transfer(userId, from.getId(), request))
+                .isInstanceOf(VelocityLimitExceededException.class);
+        ledgerService.postScheduledTransfer(userId, from.getId(), request);
+
+        assertThat(from.getBalance()).isEqualTo(Money.ofMinor(9700, "USD"));
+    }
+
+    @Test
+    void transfer_frozenDestination_throwsInvalidAccountStatusException() {
+        Account from = account(userId, "10.00", "USD", AccountStatus.ACTIVE);
+        Account to = account(UUID.randomUUID(), "0.00", "USD", AccountStatus.FROZEN);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(from, to));
+
+        assertThatThrownBy(() -> ledgerService.transfer(userId, from.getId(),
+                new TransferRequest(to.getId(), BigDecimal.ONE, null)))
+                .isInstanceOf(InvalidAccountStatusException.class);
+    }
+
+    @Test
+    void transfer_currencyMismatch_throwsInvalidTransactionException() {
+        Account from = account(userId, "10.00", "USD", AccountStatus.ACTIVE);
+        Account to = account(UUID.randomUUID(), "0.00", "EUR", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(from, to));
+
+        assertThatThrownBy(() -> ledgerService.transfer(userId, from.getId(),
+                new TransferRequest(to.getId(), BigDecimal.ONE, null)))
+                .isInstanceOf(InvalidTransactionException.class);
+    }
+
+    @Test
+    void transfer_notOwner_throwsInvalidTransactionException() {
+        Account from = account(UUID.randomUUID(), "10.00", "USD", AccountStatus.ACTIVE);
+        Account to = account(userId, "0.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(from, to));
+
+        assertThatThrownBy(() -> ledgerService.transfer(userId, from.getId(),
+                new TransferRequest(to.getId(), BigDecimal.ONE, null)))
+                .isInstanceOf(InvalidTransactionException.class);
+    }
+
+    @Test
+    void transfer_amountWithTooManyDecimals_throwsInvalidTransactionException() {
+        Account from = account(userId, "10.00", "USD", AccountStatus.ACTIVE);
+        Account to = account(UUID.randomUUID(), "0.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(from, to));
+
+        assertThatThrownBy(() -> ledgerService.transfer(userId, from.getId(),
+                new TransferRequest(to.getId(), new BigDecimal("0.001"), null)))
+                .isInstanceOf(InvalidTransactionException.class);
+    }
+
+    @Test
+    void transfer_sameAccount_throwsBeforeTouchingDatabase() {
+        UUID accountId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> ledgerService.transfer(userId, accountId,
+                new TransferRequest(accountId, BigDecimal.ONE, null)))
+                .isInstanceOf(InvalidTransactionException.class);
+        verify(accountRepository, never()).findAllByIdForUpdate(anyList());
+    }
+
+    @Test
+    void transfer_missingAccount_throwsAccountNotFoundException() {
+        Account from = account(userId, "10.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(from));
+
+        assertThatThrownBy(() -> ledgerService.transfer(userId, from.getId(),
+                new TransferRequest(UUID.randomUUID(), BigDecimal.ONE, null)))
+                .isInstanceOf(AccountNotFoundException.class);
+    }
+
+    @Test
+    void deposit_creditsAccountAgainstExternalLedger() {
+        Account account = account(userId, "1.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(account));
+
+        TransactionDto transaction = ledgerService.deposit(UUID.randomUUID(), account.getId(),
+                new CashTransactionRequest(new BigDecimal("9.00"), null));
+
+        assertThat(account.getBalance()).isEqualTo(Money.ofMinor(1000, "USD"));
+        assertThat(transaction.getEntries())
+                .extracting(LedgerEntryDto::getAccountId)
+                .containsExactlyInAnyOrder(account.getId(), LedgerService.EXTERNAL_ACCOUNT_ID);
+        assertThat(sum(transaction.getEntries(), EntryType.DEBIT)).isEqualTo(sum(transaction.getEntries(), EntryType.CREDIT));
+    }
+
+    @Test
+    void withdraw_insufficientFunds_throws() {
+        Account account = account(userId, "1.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(account));
+
+        assertThatThrownBy(() -> ledgerService.withdraw(UUID.randomUUID(), account.getId(),
+                new CashTransactionRequest(new BigDecimal("2.00"), null)))
+                .isInstanceOf(InsufficientFundsException.class);
+    }
+
+    @Test
+    void withdraw_fundsReservedByHold_throws() {
+        Account account = account(userId, "10.00", "USD", AccountStatus.ACTIVE);
+        when(accountRepository.findAllByIdForUpdate(anyList())).thenReturn(List.of(account));
+        account.setReservedMinor(600);
+
+        assertThatThrownBy(() -> ledgerService.withdraw(UUID.randomUUID(), account.getId(),
+                new CashTransactionRequest(new BigDecimal("4.01"), null)))
+                .isInstanceOf(InsufficientFundsException.class);
+        assertThat(account.getBalance()).isEqualTo(Money.ofMinor(1000, "USD"));
+    }
+
+    private Account account(UUID owner, String balance, String currency, AccountStatus status) {
+        return Account.builder()
+                .id(UUID.randomUUID())
+                .userId(owner)
+                .balance(Money.of(new BigDecimal(balance), currency))
+                .status(status)
+                .build();
+    }
+
+    private long sum(List<LedgerEntryDto> entries, EntryType type) {
+        return entries.stream()
+                .filter(entry -> entry.getEntryType() == type)
+                .mapToLong(entry -> entry.getAmount().minorUnits())
+                .sum();
+    }
+}
@@ -0,0 +1,296 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.InvalidAccountStatusException;
+import js.project.account_service.model.Account;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.LedgerEntry;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.StandingOrder;
+import js.project.account_service.model.dto.StandingOrderDto;
+import js.project.account_service.model.dto.TransactionDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.model.enums.EntryType;
+import js.project.account_service.model.enums.StandingOrderFrequency;
+import js.project.account_service.model.enums.StandingOrderStatus;
+import js.project.account_service.model.request.CreateStandingOrderRequest;
+import js.project.account_service.model.request.TransferRequest;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.BankBranchRepository;
+import js.project.account_service.repository.LedgerEntryRepository;
+import js.project.account_service.repository.StandingOrderRepository;
+import js.project.account_service.util.StripedAccountLock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import({LedgerService.class, StripedAccountLock.class, VelocityRuleEngine.class, StandingOrderSchedulerTest.MetricsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StandingOrderSchedulerTest {
+
+    private static final Duration TICK = Duration.ofMillis(20);
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private StandingOrderRepository standingOrderRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private BankBranchRepository bankBranchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private AccountDetailsCache accountDetailsCache;
+
+    private final List<StandingOrderScheduler> schedulers = new ArrayList<>();
+    private final UUID userId = UUID.randomUUID();
+    private Account from;
+    private Account to;
+
+    @BeforeEach
+    void setUp() {
+        BankBranch branch = bankBranchRepository.save(BankBranch.builder().branchCode("2468").branchName("Standing").build());
+        from = account(branch, "246800000017", userId, 1_000_000);
+        to = account(branch, "246800000025", UUID.randomUUID(), 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        schedulers.forEach(StandingOrderScheduler::shutdown);
+        standingOrderRepository.deleteAll();
+        ledgerEntryRepository.deleteAll();
+        accountRepository.deleteAll();
+        bankBranchRepository.deleteAll();
+    }
+
+    @Test
+    void dueOrders_runExactlyOnceAcrossInstances() throws Exception {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        List<StandingOrder> orders = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            orders.add(order(start, StandingOrderFrequency.DAILY, 100 + i));
+        }
+        List<StandingOrderScheduler> instances = List.of(scheduler(3), scheduler(3), scheduler(3));
+
+        ExecutorService executor = Executors.newFixedThreadPool(instances.size());
+        try {
+            CountDownLatch startTicking = new CountDownLatch(1);
+            List<Future<?>> ticking = new ArrayList<>();
+            for (StandingOrderScheduler instance : instances) {
+                ticking.add(executor.submit(() -> {
+                    startTicking.await();
+                    for (int t = 0; t < 10; t++) {
+                        instance.tick();
+                        Thread.sleep(TICK.toMillis());
+                    }
+                    return null;
+                }));
+            }
+            startTicking.countDown();
+            for (Future<?> instance : ticking) {
+                instance.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<UUID, StandingOrder> after = standingOrderRepository.findAll().stream()
+                .collect(Collectors.toMap(StandingOrder::getId, Function.identity()));
+        for (StandingOrder order : orders) {
+            StandingOrder ran = after.get(order.getId());
+            assertThat(ran.getOccurrence()).isEqualTo(1);
+            assertThat(ran.getNextRunAt()).isEqualTo(start.plusDays(1));
+            assertThat(ran.getLastTransactionId()).isNotNull();
+            assertThat(ran.getClaimedBy()).isNull();
+        }
+        List<LedgerEntry> credits = ledgerEntryRepository.findAll().stream()
+                .filter(entry -> entry.getAccountId().equals(to.getId()) && entry.getEntryType() == EntryType.CREDIT)
+                .toList();
+        assertThat(credits).hasSize(orders.size());
+        long expected = orders.stream().mapToLong(order -> order.getAmount().minorUnits()).sum();
+        assertThat(accountRepository.findById(to.getId()).orElseThrow().getBalance()).isEqualTo(Money.ofMinor(expected, "USD"));
+    }
+
+    @Test
+    void failingOrder_movesOnAndIsSuspendedAfterRepeatedFailures() throws Exception {
+        // three daily runs already due: the first two fail and suspend it before the third
+        LocalDateTime start = LocalDateTime.now().minusDays(2).minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        StandingOrder order = order(start, StandingOrderFrequency.DAILY, 2_000_000);
+        StandingOrderScheduler scheduler = scheduler(2);
+
+        tick(scheduler, 8);
+
+        StandingOrder after = standingOrderRepository.findById(order.getId()).orElseThrow();
+        assertThat(after.getStatus()).isEqualTo(StandingOrderStatus.SUSPENDED);
+        assertThat(after.getFailureCount()).isEqualTo(2);
+        assertThat(after.getOccurrence()).isEqualTo(1);
+        assertThat(after.getLastFailure()).contains("Insufficient funds");
+        assertThat(ledgerEntryRepository.count()).isZero();
+    }
+
+    @Test
+    void unexpectedFailure_isRecordedAndTheRestOfTheBatchStillRuns() throws Exception {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        StandingOrder broken = order(start, StandingOrderFrequency.DAILY, 1);
+        List<StandingOrder> healthy = List.of(order(start, StandingOrderFrequency.DAILY, 2), order(start, StandingOrderFrequency.DAILY, 3));
+        LedgerService ledger = mock(LedgerService.class);
+        when(ledger.postScheduledTransfer(any(), any(), any())).thenAnswer(invocation -> {
+            if (invocation.<TransferRequest>getArgument(2).getAmount().compareTo(new BigDecimal("0.01")) == 0) {
+                throw new IllegalStateException("connection reset");
+            }
+            return TransactionDto.builder().transactionId(UUID.randomUUID()).build();
+        });
+
+        // one worker, so the broken order shares its batch with the healthy ones
+        StandingOrderScheduler scheduler = new StandingOrderScheduler(standingOrderRepository, ledger, new StripedAccountLock(16),
+                transactionTemplate, new SimpleMeterRegistry(), TICK, Duration.ofMinutes(5), Duration.ofMinutes(10), 7, 1_000, 1, 3);
+        schedulers.add(scheduler);
+        tick(scheduler, 3);
+
+        StandingOrder failed = standingOrderRepository.findById(broken.getId()).orElseThrow();
+        assertThat(failed.getFailureCount()).isEqualTo(1);
+        assertThat(failed.getLastFailure()).isEqualTo("connection reset");
+        assertThat(failed.getStatus()).isEqualTo(StandingOrderStatus.ACTIVE);
+        for (StandingOrder order : healthy) {
+            assertThat(standingOrderRepository.findById(order.getId()).orElseThrow().getLastTransactionId()).isNotNull();
+        }
+    }
+
+    @Test
+    void ordersOutsideTheWindowOrCancelled_areNotRun() throws Exception {
+        StandingOrder later = order(LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS), StandingOrderFrequency.WEEKLY, 100);
+        StandingOrder cancelled = order(LocalDateTime.now().minusMinutes(1).truncatedTo(ChronoUnit.SECONDS), StandingOrderFrequency.WEEKLY, 100);
+        transactionTemplate.executeWithoutResult(status -> standingOrderRepository.findByIdForUpdate(cancelled.getId())
+                .orElseThrow().setStatus(StandingOrderStatus.CANCELLED));
+
+        tick(scheduler(3), 3);
+
+        assertThat(standingOrderRepository.findById(later.getId()).orElseThrow().getClaimedBy()).isNull();
+        assertThat(standingOrderRepository.findById(cancelled.getId()).orElseThrow().getOccurrence()).isZero();
+        assertThat(ledgerEntryRepository.count()).isZero();
+    }
+
+    @Test
+    void createStandingOrder_normalisesBothBoundsAndRejectsInactiveDestination() {
+        StandingOrderService service = new StandingOrderService(standingOrderRepository, accountRepository);
+        LocalDateTime startAt = LocalDateTime.now().plusDays(1).withNano(700_000_000);
+        CreateStandingOrderRequest request = CreateStandingOrderRequest.builder()
+                .toAccountId(to.getId())
+                .amount(new BigDecimal("10.00"))
+                .frequency(StandingOrderFrequency.WEEKLY)
+                .startAt(startAt)
+                .endAt(startAt.plusWeeks(4).withNano(300_000_000))
+                .build();
+
+        StandingOrderDto created = service.createStandingOrder(userId, from.getId(), request);
+
+        StandingOrder stored = standingOrderRepository.findById(created.id()).orElseThrow();
+        assertThat(stored.getStartAt()).isEqualTo(startAt.truncatedTo(ChronoUnit.SECONDS));
+        assertThat(stored.getEndAt()).isEqualTo(startAt.plusWeeks(4).truncatedTo(ChronoUnit.SECONDS));
+
+        transactionTemplate.executeWithoutResult(status -> accountRepository.findById(to.getId()).orElseThrow()
+                .setStatus(AccountStatus.FROZEN));
+        assertThatThrownBy(() -> service.createStandingOrder(userId, from.getId(), request))
+                .isInstanceOf(InvalidAccountStatusException.class);
+    }
+
+    @Test
+    void monthlyOccurrences_clampToShortMonthsWithoutDrifting() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 31, 9, 0);
+
+        assertThat(StandingOrderFrequency.MONTHLY.occurrence(start, 1)).isEqualTo(LocalDateTime.of(2026, 2, 28, 9, 0));
+        assertThat(StandingOrderFrequency.MONTHLY.occurrence(start, 2)).isEqualTo(LocalDateTime.of(2026, 3, 31, 9, 0));
+        assertThat(StandingOrderFrequency.WEEKLY.occurrence(start, 2)).isEqualTo(LocalDateTime.of(2026, 2, 14, 9, 0));
+    }
+
+    private void tick(StandingOrderScheduler scheduler, int times) throws InterruptedException {
+        for (int t = 0; t < times; t++) {
+            scheduler.tick();
+            Thread.sleep(TICK.toMillis());
+        }
+    }
+
+    private StandingOrderScheduler scheduler(int maxFailures) {
+        StandingOrderScheduler scheduler = new StandingOrderScheduler(standingOrderRepository, ledgerService, new StripedAccountLock(16),
+                transactionTemplate, new SimpleMeterRegistry(), TICK, Duration.ofMinutes(5), Duration.ofMinutes(10), 7, 1_000, 2,
+                maxFailures);
+        schedulers.add(scheduler);
+        return scheduler;
+    }
+
+    private StandingOrder order(LocalDateTime start, StandingOrderFrequency frequency, long minorUnits) {
+        return standingOrderRepository.save(StandingOrder.builder()
+                .userId(userId)
+                .fromAccountId(from.getId())
+                .toAccountId(to.getId())
+                .amount(Money.ofMinor(minorUnits, "USD"))
+                .description("rent")
+                .frequency(frequency)
+                .startAt(start)
+                .nextRunAt(start)
+                .status(StandingOrderStatus.ACTIVE)
+                .build());
+    }
+
+    private Account account(BankBranch branch, String number, UUID owner, long balance) {
+        return accountRepository.save(Account.builder()
+                .userId(owner)
+                .accountNumber(number)
+                .accountType(AccountType.CHECKING)
+                .bankBranch(branch)
+                .balance(Money.ofMinor(balance, "USD"))
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+}
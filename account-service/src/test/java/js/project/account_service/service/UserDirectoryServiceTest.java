@@ -0,0 +1,156 @@
+package js.project.account_service.service;
+
+import js.project.account_service.model.Account;
+import js.project.account_service.client.UserServiceClient;
+import js.project.account_service.model.BankBranch;
+import js.project.account_service.model.Money;
+import js.project.account_service.model.dto.UserSummaryDto;
+import js.project.account_service.model.enums.AccountStatus;
+import js.project.account_service.model.enums.AccountType;
+import js.project.account_service.repository.AccountRepository;
+import js.project.account_service.repository.AccountSpecifications;
+import js.project.account_service.repository.UserDirectoryRepository;
+import js.project.model.UserProfileChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@Import(UserDirectoryService.class)
+public class UserDirectoryServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserDirectoryService userDirectoryService;
+
+    @Autowired
+    private UserDirectoryRepository userDirectoryRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private BankBranch branch;
+
+    @BeforeEach
+    void setUp() {
+        branch = entityManager.persist(BankBranch.builder().branchCode("2468").branchName("Search").build());
+    }
+
+    @Test
+    void apply_upsertsAndIgnoresStaleEvents() {
+        UUID userId = UUID.randomUUID();
+        LocalDateTime now = LocalDateTime.now();
+
+        userDirectoryService.apply(event(userId, "Ada", "Lovelace", now));
+        userDirectoryService.apply(event(userId, "Ada", "King", now.plusSeconds(1)));
+        userDirectoryService.apply(event(userId, "Stale", "Name", now.minusSeconds(1)));
+
+        assertThat(userDirectoryRepository.findById(userId).orElseThrow().getLastName()).isEqualTo("King");
+    }
+
+    @Test
+    void apply_deletedEvent_removesEntry() {
+        UUID userId = UUID.randomUUID();
+        userDirectoryService.apply(event(userId, "Grace", "Hopper", LocalDateTime.now()));
+
+        userDirectoryService.apply(UserProfileChangedEvent.builder().userId(userId).deleted(true).build());
+        userDirectoryService.apply(UserProfileChangedEvent.builder().userId(UUID.randomUUID()).deleted(true).build());
+
+        assertThat(userDirectoryRepository.findById(userId)).isEmpty();
+    }
+
+    @Test
+    void search_matchesAccountsThroughLocalDirectory() {
+        UUID ada = UUID.randomUUID();
+        UUID alan = UUID.randomUUID();
+        userDirectoryService.apply(event(ada, "Ada", "Lovelace", LocalDateTime.now()));
+        userDirectoryService.apply(event(alan, "Alan", "Turing", LocalDateTime.now()));
+        Account adaSavings = persistAccount(ada, AccountType.SAVINGS);
+        persistAccount(ada, AccountType.CHECKING);
+        persistAccount(alan, AccountType.SAVINGS);
+
+        assertThat(accountRepository.findAll(AccountSpecifications.search("ada love", null, null)))
+                .extracting(Account::getUserId).containsOnly(ada).hasSize(2);
+        assertThat(accountRepository.findAll(AccountSpecifications.search("LOVELACE", AccountType.SAVINGS, null)))
+                .extracting(Account::getId).containsExactly(adaSavings.getId());
+        assertThat(accountRepository.findAll(AccountSpecifications.search("nobody", null, null))).isEmpty();
+        assertThat(accountRepository.findAll(AccountSpecifications.search("%", null, null))).isEmpty();
+        assertThat(accountRepository.findAll(AccountSpecifications.search("a_a", null, null))).isEmpty();
+        assertThat(accountRepository.findAll(AccountSpecifications.search(null, AccountType.SAVINGS, AccountStatus.ACTIVE)))
+                .hasSize(2);
+    }
+
+    @Test
+    void backfill_makesExistingUsersSearchableWithoutOverwritingNewerEvents() {
+        UUID ada = UUID.randomUUID();
+        UUID alan = UUID.randomUUID();
+        UUID grace = UUID.randomUUID();
+        persistAccount(ada, AccountType.SAVINGS);
+        persistAccount(alan, AccountType.SAVINGS);
+        persistAccount(grace, AccountType.SAVINGS);
+        // Grace's profile changed while the load was running, so the event is newer than the page
+        userDirectoryService.apply(event(grace, "Grace", "Hopper", LocalDateTime.now().plusMinutes(1)));
+        UserServiceClient userServiceClient = mock(UserServiceClient.class);
+        when(userServiceClient.getUserDirectoryPage(null, 2)).thenReturn(List.of(
+                summary(ada, "Ada", "Lovelace"), summary(alan, "Alan", "Turing")));
+        when(userServiceClient.getUserDirectoryPage(alan, 2)).thenReturn(List.of(summary(grace, "Grace", "Murray")));
+        UserDirectoryBackfill backfill = new UserDirectoryBackfill(userServiceClient, userDirectoryService, 2, Duration.ofSeconds(1));
+
+        backfill.load();
+        backfill.load();
+
+        assertThat(accountRepository.findAll(AccountSpecifications.search("lovelace", null, null)))
+                .extracting(Account::getUserId).containsExactly(ada);
+        assertThat(accountRepository.findAll(AccountSpecifications.search("turing", null, null)))
+                .extracting(Account::getUserId).containsExactly(alan);
+        assertThat(accountRepository.findAll(AccountSpecifications.search("hopper", null, null)))
+                .extracting(Account::getUserId).containsExactly(grace);
+        assertThat(accountRepository.findAll(AccountSpecifications.search("murray", null, null))).isEmpty();
+        assertThat(userDirectoryService.syncState().getCompletedAt()).isNotNull();
+        assertThat(userDirectoryService.syncState().getUsersLoaded()).isEqualTo(3);
+        verify(userServiceClient, times(2)).getUserDirectoryPage(any(), anyInt());
+    }
+
+    private static UserSummaryDto summary(UUID userId, String firstName, String lastName) {
+        return new UserSummaryDto(userId, firstName, lastName, firstName.toLowerCase() + "@example.com");
+    }
+
+    private UserProfileChangedEvent event(UUID userId, String firstName, String lastName, LocalDateTime changedAt) {
+        return UserProfileChangedEvent.builder()
+                .userId(userId)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "@example.com")
+                .changedAt(changedAt)
+                .build();
+    }
+
+    private Account persistAccount(UUID userId, AccountType type) {
+        return entityManager.persistAndFlush(Account.builder()
+                .userId(userId)
+                .accountNumber(UUID.randomUUID().toString().substring(0, 12))
+                .accountType(type)
+                .bankBranch(branch)
+                .balance(Money.zero("USD"))
+                .status(AccountStatus.ACTIVE)
+                .build());
+    }
+}
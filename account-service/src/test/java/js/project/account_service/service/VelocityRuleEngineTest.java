@@ -0,0 +1,120 @@
+package js.project.account_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.config.VelocityRuleProperties;
+import js.project.account_service.config.VelocityRuleProperties.Rule;
+import js.project.account_service.model.enums.RiskDecision;
+import js.project.account_service.model.enums.VelocityMeasure;
+import js.project.account_service.model.enums.VelocityOperation;
+import js.project.account_service.model.enums.VelocityScope;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VelocityRuleEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void assess_strictestTrippedRuleWins() {
+        VelocityRuleEngine engine = engine(
+                new Rule("many-transfers", VelocityOperation.TRANSFER, VelocityScope.ACCOUNT, VelocityMeasure.COUNT,
+                        Duration.ofMinutes(1), 2, RiskDecision.REVIEW),
+                new Rule("large-outflow", VelocityOperation.TRANSFER, VelocityScope.ACCOUNT, VelocityMeasure.AMOUNT,
+                        Duration.ofDays(1), 1_000, RiskDecision.BLOCK));
+        UUID userId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+
+        assertThat(engine.assess(VelocityOperation.TRANSFER, userId, accountId, 400).decision()).isEqualTo(RiskDecision.ALLOW);
+        assertThat(engine.assess(VelocityOperation.TRANSFER, userId, accountId, 400).decision()).isEqualTo(RiskDecision.ALLOW);
+        VelocityRuleEngine.Assessment review = engine.assess(VelocityOperation.TRANSFER, userId, accountId, 100);
+        assertThat(review.decision()).isEqualTo(RiskDecision.REVIEW);
+        assertThat(review.flags()).isEqualTo("many-transfers");
+
+        VelocityRuleEngine.Assessment block = engine.assess(VelocityOperation.TRANSFER, userId, accountId, 500);
+        assertThat(block.blocked()).isTrue();
+        assertThat(block.rules()).containsExactly("many-transfers", "large-outflow");
+        assertThat(meterRegistry.get("account.velocity.decisions").tag("decision", "BLOCK").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void assess_blockedOperation_isNotCounted() {
+        VelocityRuleEngine engine = engine(new Rule("large-outflow", VelocityOperation.TRANSFER, VelocityScope.ACCOUNT,
+                VelocityMeasure.AMOUNT, Duration.ofDays(1), 1_000, RiskDecision.BLOCK));
+        UUID accountId = UUID.randomUUID();
+
+        assertThat(engine.assess(VelocityOperation.TRANSFER, null, accountId, 900).blocked()).isFalse();
+        assertThat(engine.assess(VelocityOperation.TRANSFER, null, accountId, 200).blocked()).isTrue();
+        // the rejected 200 was taken back out, so 100 more still fits
+        assertThat(engine.assess(VelocityOperation.TRANSFER, null, accountId, 100).blocked()).isFalse();
+    }
+
+    @Test
+    void assess_insideRolledBackTransaction_isNotCounted() {
+        VelocityRuleEngine engine = engine(new Rule("many-openings", VelocityOperation.ACCOUNT_OPEN, VelocityScope.USER,
+                VelocityMeasure.COUNT, Duration.ofDays(1), 1, RiskDecision.BLOCK));
+        UUID userId = UUID.randomUUID();
+
+        completeTransaction(() -> engine.assess(VelocityOperation.ACCOUNT_OPEN, userId, null, 0),
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+        completeTransaction(() -> engine.assess(VelocityOperation.ACCOUNT_OPEN, userId, null, 0),
+                TransactionSynchronization.STATUS_COMMITTED);
+
+        // only the committed opening counts, so the next one is the first over the limit
+        assertThat(engine.assess(VelocityOperation.ACCOUNT_OPEN, userId, null, 0).blocked()).isTrue();
+    }
+
+    @Test
+    void assess_subjectsAndOperationsAreCountedSeparately() {
+        VelocityRuleEngine engine = engine(new Rule("many-openings", VelocityOperation.ACCOUNT_OPEN, VelocityScope.USER,
+                VelocityMeasure.COUNT, Duration.ofDays(1), 1, RiskDecision.REVIEW));
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        engine.assess(VelocityOperation.ACCOUNT_OPEN, first, null, 0);
+        assertThat(engine.assess(VelocityOperation.ACCOUNT_OPEN, second, null, 0).decision()).isEqualTo(RiskDecision.ALLOW);
+        assertThat(engine.assess(VelocityOperation.TRANSFER, first, UUID.randomUUID(), 0).decision()).isEqualTo(RiskDecision.ALLOW);
+        assertThat(engine.assess(VelocityOperation.ACCOUNT_OPEN, first, null, 0).decision()).isEqualTo(RiskDecision.REVIEW);
+    }
+
+    @Test
+    void purgeIdle_keepsCountersStillInTheirWindow() {
+        VelocityRuleEngine engine = engine(new Rule("many-openings", VelocityOperation.ACCOUNT_OPEN, VelocityScope.USER,
+                VelocityMeasure.COUNT, Duration.ofDays(1), 1, RiskDecision.REVIEW));
+        UUID userId = UUID.randomUUID();
+        engine.assess(VelocityOperation.ACCOUNT_OPEN, userId, null, 0);
+
+        engine.purgeIdle();
+
+        assertThat(meterRegistry.get("account.velocity.counters").gauge().value()).isEqualTo(1);
+        assertThat(engine.assess(VelocityOperation.ACCOUNT_OPEN, userId, null, 0).decision()).isEqualTo(RiskDecision.REVIEW);
+    }
+
+    @Test
+    void constructor_ruleThatOnlyAllows_throws() {
+        assertThatThrownBy(() -> engine(new Rule("pointless", VelocityOperation.TRANSFER, VelocityScope.ACCOUNT,
+                VelocityMeasure.COUNT, Duration.ofMinutes(1), 1, RiskDecision.ALLOW)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void completeTransaction(Runnable work, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private VelocityRuleEngine engine(Rule... rules) {
+        return new VelocityRuleEngine(new VelocityRuleProperties(60, List.of(rules)), meterRegistry);
+    }
+}
@@ -0,0 +1,72 @@
+package js.project.account_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AccountNumberCodecTest {
+
+    @Test
+    void generateCheckDigit_knownValues() {
+        // 7992739871 -> 3 is the textbook Luhn example
+        assertThat(LuhnAlgorithm.generateCheckDigit("7992739871")).isEqualTo(3);
+        assertThat(LuhnAlgorithm.generateCheckDigit("7992739871".toCharArray(), 0, 10)).isEqualTo(3);
+        assertThat(LuhnAlgorithm.validate("79927398713")).isTrue();
+        assertThat(LuhnAlgorithm.validate("79927398710")).isFalse();
+    }
+
+    @Test
+    void validate_rejectsNonDigitsWithoutThrowing() {
+        assertThat(LuhnAlgorithm.validate("12a4")).isFalse();
+        assertThat(LuhnAlgorithm.validate("0")).isFalse();
+        assertThatThrownBy(() -> LuhnAlgorithm.generateCheckDigit("12a4"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encode_matchesFormattedLayout() {
+        for (long serial : new long[]{0, 1, 42, 1_234_567, AccountNumberCodec.MAX_SERIAL}) {
+            String payload = "1234" + String.format("%07d", serial);
+            String expected = payload + LuhnAlgorithm.generateCheckDigit(payload);
+
+            assertThat(AccountNumberCodec.encode("1234", serial)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void encodeInto_writesAtOffset() {
+        char[] buffer = new char[AccountNumberCodec.LENGTH + 2];
+        AccountNumberCodec.encodeInto(buffer, 2, "0001", 7);
+
+        assertThat(new String(buffer, 2, AccountNumberCodec.LENGTH)).isEqualTo(AccountNumberCodec.encode("0001", 7));
+    }
+
+    @Test
+    void decode_roundTrips() {
+        String accountNumber = AccountNumberCodec.encode("5678", 9_001);
+
+        assertThat(AccountNumberCodec.isValid(accountNumber)).isTrue();
+        assertThat(AccountNumberCodec.decode(accountNumber)).isEqualTo(new AccountNumberCodec.Parts("5678", 9_001));
+    }
+
+    @Test
+    void isValid_rejectsWrongLengthAndTypos() {
+        String accountNumber = AccountNumberCodec.encode("1234", 55);
+        char[] typo = accountNumber.toCharArray();
+        typo[6] = typo[6] == '9' ? '0' : (char) (typo[6] + 1);
+
+        assertThat(AccountNumberCodec.isValid(new String(typo))).isFalse();
+        assertThat(AccountNumberCodec.isValid(accountNumber.substring(1))).isFalse();
+        assertThat(AccountNumberCodec.isValid(null)).isFalse();
+        assertThatThrownBy(() -> AccountNumberCodec.decode(new String(typo)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encode_rejectsOutOfRangeInput() {
+        assertThatThrownBy(() -> AccountNumberCodec.encode("123", 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AccountNumberCodec.encode("1234", AccountNumberCodec.MAX_SERIAL + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
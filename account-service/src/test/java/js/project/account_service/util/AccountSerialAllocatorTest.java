@@ -0,0 +1,98 @@
+package js.project.account_service.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.AccountNumberExhaustedException;
+import js.project.account_service.service.BranchSerialBlockService;
+import js.project.account_service.service.BranchSerialBlockService.SerialBlock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountSerialAllocatorTest {
+
+    @Mock
+    private BranchSerialBlockService branchSerialBlockService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private AccountSerialAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new AccountSerialAllocator(branchSerialBlockService, meterRegistry, 10);
+    }
+
+    @Test
+    void nextSerial_branchesHaveIndependentSerialSpaces() {
+        stubBranchSequences();
+
+        assertThat(allocator.nextSerial("1111")).isEqualTo(1);
+        assertThat(allocator.nextSerial("1111")).isEqualTo(2);
+        assertThat(allocator.nextSerial("2222")).isEqualTo(1);
+
+        verify(branchSerialBlockService).reserveBlock("1111", 10);
+        verify(branchSerialBlockService).reserveBlock("2222", 10);
+    }
+
+    @Test
+    void nextSerial_exposesPerBranchMetrics() {
+        stubBranchSequences();
+        for (int i = 0; i < 13; i++) {
+            allocator.nextSerial("1111");
+        }
+
+        assertThat(meterRegistry.get("account.serial.allocated").tag("branch", "1111").functionCounter().count()).isEqualTo(13);
+        assertThat(meterRegistry.get("account.serial.refills").tag("branch", "1111").functionCounter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("account.serial.block.remaining").tag("branch", "1111").gauge().value()).isEqualTo(7);
+        assertThat(meterRegistry.get("account.serial.branch.remaining").tag("branch", "1111").gauge().value())
+                .isEqualTo(AccountNumberGenerator.MAX_SERIAL - 20);
+    }
+
+    @Test
+    void nextSerial_exhaustedBranch_throws() {
+        when(branchSerialBlockService.reserveBlock(eq("9999"), anyInt()))
+                .thenReturn(new SerialBlock(AccountNumberGenerator.MAX_SERIAL, 1, 0))
+                .thenThrow(new AccountNumberExhaustedException("Account numbers exhausted for branch: 9999"));
+
+        assertThat(allocator.nextSerial("9999")).isEqualTo(AccountNumberGenerator.MAX_SERIAL);
+        assertThatThrownBy(() -> allocator.nextSerial("9999")).isInstanceOf(AccountNumberExhaustedException.class);
+    }
+
+    @Test
+    void nextSerial_concurrentRowCreation_retriesOnce() {
+        when(branchSerialBlockService.reserveBlock("1111", 10))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(new SerialBlock(1, 10, 100));
+
+        assertThat(allocator.nextSerial("1111")).isEqualTo(1);
+        verify(branchSerialBlockService, times(2)).reserveBlock("1111", 10);
+    }
+
+    private void stubBranchSequences() {
+        when(branchSerialBlockService.reserveBlock(anyString(), anyInt())).thenAnswer(invocation -> {
+            String branch = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+            long start = counters.computeIfAbsent(branch, b -> new AtomicLong()).getAndAdd(size);
+            return new SerialBlock(start + 1, size, AccountNumberGenerator.MAX_SERIAL - start - size);
+        });
+    }
+}
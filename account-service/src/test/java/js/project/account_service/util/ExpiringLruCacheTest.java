@@ -0,0 +1,66 @@
+package js.project.account_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpiringLruCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, 100, clock::get);
+
+    @Test
+    void entriesExpireAfterTtl() {
+        cache.putIfNotInvalidatedSince("a", "1", cache.stamp());
+
+        clock.set(99);
+        assertThat(cache.get("a")).isEqualTo("1");
+        clock.set(100);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.expirations()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedWhenFull() {
+        cache.putIfNotInvalidatedSince("a", "1", cache.stamp());
+        cache.putIfNotInvalidatedSince("b", "2", cache.stamp());
+        cache.get("a");
+        cache.putIfNotInvalidatedSince("c", "3", cache.stamp());
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void loadRacingAnInvalidationIsNotStored() {
+        long stamp = cache.stamp();
+        // a writer commits and invalidates while the loader still holds the old value
+        cache.invalidate("a");
+
+        assertThat(cache.putIfNotInvalidatedSince("a", "old", stamp)).isFalse();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.putIfNotInvalidatedSince("a", "new", cache.stamp())).isTrue();
+        assertThat(cache.get("a")).isEqualTo("new");
+    }
+
+    @Test
+    void invalidationOfAnotherKeyDoesNotBlockTheLoad() {
+        long stamp = cache.stamp();
+        cache.invalidate("b");
+
+        assertThat(cache.putIfNotInvalidatedSince("a", "1", stamp)).isTrue();
+    }
+
+    @Test
+    void invalidateRemovesTheEntry() {
+        cache.putIfNotInvalidatedSince("a", "1", cache.stamp());
+        cache.invalidate("a");
+
+        assertThat(cache.get("a")).isNull();
+    }
+}
@@ -0,0 +1,66 @@
+package js.project.account_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HashedTimingWheelTest {
+
+    private static final long START = 1_000_000;
+
+    @Test
+    void advance_firesItemsOnlyOnceTheirTickHasPassed() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START);
+        wheel.schedule("b", START + 350);
+        wheel.schedule("a", START + 120);
+
+        assertThat(fired(wheel, START + 99)).isEmpty();
+        assertThat(fired(wheel, START + 199)).containsExactly("a");
+        assertThat(fired(wheel, START + 299)).isEmpty();
+        assertThat(fired(wheel, START + 300)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_beyondOneRotation_waitsForItsOwnTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, START);
+        // 4 slots of 100 ms: 0.1 s and 0.5 s share a slot
+        wheel.schedule("near", START + 100);
+        wheel.schedule("far", START + 500);
+
+        assertThat(fired(wheel, START + 100)).containsExactly("near");
+        assertThat(fired(wheel, START + 400)).isEmpty();
+        assertThat(fired(wheel, START + 500)).containsExactly("far");
+    }
+
+    @Test
+    void schedule_pastDeadline_firesOnNextAdvance() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, START);
+        fired(wheel, START + 1_000);
+
+        wheel.schedule("late", START);
+
+        assertThat(fired(wheel, START + 1_100)).containsExactly("late");
+    }
+
+    @Test
+    void advance_afterPauseLongerThanRotation_firesEverythingDue() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(10, 16, START);
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(i, START + i * 10L);
+        }
+
+        assertThat(fired(wheel, START + 495)).hasSize(50).doesNotContain(50);
+        assertThat(fired(wheel, START + 10_000)).hasSize(50);
+        assertThat(wheel.size()).isZero();
+    }
+
+    private static <T> List<T> fired(HashedTimingWheel<T> wheel, long now) {
+        List<T> fired = new ArrayList<>();
+        wheel.advance(now, fired::add);
+        return fired;
+    }
+}
@@ -0,0 +1,28 @@
+package js.project.account_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KeysetCursorTest {
+
+    @Test
+    void encode_roundTripsToMicrosecondPrecision() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]{32}");
+        assertThat(KeysetCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_malformedToken_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("AAAA")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package js.project.account_service.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import js.project.account_service.exception.ConcurrentUpdateException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OptimisticRetryExecutorTest {
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private OptimisticRetryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new OptimisticRetryExecutor(transactionTemplate, meterRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(2));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void execute_conflictThenSuccess_retriesInANewTransaction() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute("freezeAccount", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("stale");
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        verify(transactionTemplate, times(3)).execute(any());
+        assertThat(meterRegistry.get("account.optimistic.retries").tag("operation", "freezeAccount").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_conflictOnEveryAttempt_throwsConcurrentUpdateException() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("closeAccount", () -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale");
+        })).isInstanceOf(ConcurrentUpdateException.class);
+
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.get("account.optimistic.conflicts").tag("operation", "closeAccount").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_otherFailure_isNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> executor.execute("freezeAccount", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(calls).hasValue(1);
+    }
+}
@@ -0,0 +1,130 @@
+package js.project.account_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PooledSequenceAllocatorTest {
+
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 250;
+
+    @Test
+    void next_handsOutBlockInOrderAndRefillsWhenExhausted() {
+        AtomicLong sequence = new AtomicLong();
+        PooledSequenceAllocator allocator = new PooledSequenceAllocator(3, size -> block(sequence, size));
+
+        for (long expected = 1; expected <= 7; expected++) {
+            assertThat(allocator.next()).isEqualTo(expected);
+        }
+        assertThat(allocator.refillCount()).isEqualTo(3);
+        assertThat(allocator.remainingInBlock()).isEqualTo(2);
+    }
+
+    @Test
+    void nextCount_drainsCurrentBlockThenReservesRemainderDirectly() {
+        AtomicLong sequence = new AtomicLong();
+        PooledSequenceAllocator allocator = new PooledSequenceAllocator(4, size -> block(sequence, Math.min(size, 5)));
+        allocator.next();
+
+        long[] values = allocator.next(10);
+
+        assertThat(values).containsExactly(2, 3, 4, 5, 6, 7, 8, 9, 10, 11);
+        assertThat(allocator.next()).isEqualTo(12);
+        assertThat(allocator.allocatedCount()).isEqualTo(12);
+    }
+
+    @Test
+    void next_emptyBlockFromSource_throws() {
+        PooledSequenceAllocator allocator = new PooledSequenceAllocator(10, size -> new long[0]);
+        assertThatThrownBy(allocator::next).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void next_manyThreads_uniqueValuesAndFewRoundTrips() throws Exception {
+        SlowSequence source = new SlowSequence();
+        PooledSequenceAllocator allocator = new PooledSequenceAllocator(100, source::reserve);
+
+        Set<Long> values = hammer(allocator::next);
+
+        assertThat(values).hasSize(THREADS * PER_THREAD);
+        assertThat(source.roundTrips.get()).isEqualTo(THREADS * PER_THREAD / 100);
+        assertThat(allocator.allocatedCount()).isEqualTo(THREADS * PER_THREAD);
+    }
+
+    @Test
+    void next_manyThreads_outperformsRoundTripPerValue() throws Exception {
+        SlowSequence perCall = new SlowSequence();
+        long perCallNanos = timed(() -> hammer(() -> perCall.reserve(1)[0]));
+
+        SlowSequence pooled = new SlowSequence();
+        PooledSequenceAllocator allocator = new PooledSequenceAllocator(100, pooled::reserve);
+        long pooledNanos = timed(() -> hammer(allocator::next));
+
+        assertThat(perCall.roundTrips.get()).isEqualTo(THREADS * PER_THREAD);
+        assertThat(pooled.roundTrips.get()).isEqualTo(THREADS * PER_THREAD / 100);
+        assertThat(pooledNanos * 2).isLessThan(perCallNanos);
+    }
+
+    private static Set<Long> hammer(LongSupplier supplier) throws Exception {
+        Set<Long> values = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] futures = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                futures[t] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        values.add(supplier.getAsLong());
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return values;
+    }
+
+    private static long timed(Callable<?> action) throws Exception {
+        long start = System.nanoTime();
+        action.call();
+        return System.nanoTime() - start;
+    }
+
+    private static long[] block(AtomicLong sequence, int size) {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = sequence.incrementAndGet();
+        }
+        return values;
+    }
+
+    /** Stands in for nextval: one round trip of ~1ms regardless of how many values it returns. */
+    private static final class SlowSequence {
+        final AtomicLong sequence = new AtomicLong();
+        final AtomicInteger roundTrips = new AtomicInteger();
+
+        long[] reserve(int size) {
+            roundTrips.incrementAndGet();
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return block(sequence, size);
+        }
+    }
+}
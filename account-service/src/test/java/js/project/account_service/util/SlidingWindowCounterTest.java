@@ -0,0 +1,79 @@
+package js.project.account_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SlidingWindowCounterTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    void add_slidesOutOneBucketAtATime() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+
+        assertThat(counter.add(START, 5)).isEqualTo(5);
+        assertThat(counter.add(START + 450, 3)).isEqualTo(8);
+        assertThat(counter.total(START + 999)).isEqualTo(8);
+        // the bucket holding the first add has left the window, the second is still in it
+        assertThat(counter.total(START + 1_000)).isEqualTo(3);
+        assertThat(counter.add(START + 1_000, 1)).isEqualTo(4);
+        assertThat(counter.total(START + 1_450)).isEqualTo(1);
+    }
+
+    @Test
+    void add_afterIdleRotation_replacesStaleBucket() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1_000, 10);
+        counter.add(START, 7);
+
+        assertThat(counter.isIdle(START + 999)).isFalse();
+        assertThat(counter.isIdle(START + 1_000)).isTrue();
+        // same slot one rotation later: the old value must not leak into the new total
+        assertThat(counter.add(START + 1_000, 2)).isEqualTo(2);
+    }
+
+    @Test
+    void add_manyThreads_losesNoUpdates() throws Exception {
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 60);
+        int threads = 8;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        // spread over a few buckets so writers also race to create them
+                        counter.add(START + (i % 5) * 1_000, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(counter.total(START + 4_000)).isEqualTo((long) threads * perThread);
+    }
+
+    @Test
+    void constructor_windowShorterThanBuckets_throws() {
+        assertThatThrownBy(() -> new SlidingWindowCounter(5, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SlidingWindowCounter(1_000, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
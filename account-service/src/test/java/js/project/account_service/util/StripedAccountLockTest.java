@@ -0,0 +1,77 @@
+package js.project.account_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedAccountLockTest {
+
+    @Test
+    void stripeCount_isRoundedUpToPowerOfTwo() {
+        assertThat(new StripedAccountLock(1).stripeCount()).isEqualTo(1);
+        assertThat(new StripedAccountLock(3).stripeCount()).isEqualTo(4);
+        assertThat(new StripedAccountLock(256).stripeCount()).isEqualTo(256);
+    }
+
+    @Test
+    void stripeFor_isStableForSameAccount() {
+        StripedAccountLock lock = new StripedAccountLock(64);
+        UUID accountId = UUID.randomUUID();
+        assertThat(lock.stripeFor(accountId)).isEqualTo(lock.stripeFor(UUID.fromString(accountId.toString())));
+    }
+
+    @Test
+    void withLocks_opposingTransfersOnHotAccounts_noDeadlockAndTotalConserved() throws Exception {
+        StripedAccountLock lock = new StripedAccountLock(8);
+        int accounts = 6;
+        UUID[] ids = new UUID[accounts];
+        long[] balances = new long[accounts];
+        for (int i = 0; i < accounts; i++) {
+            ids[i] = UUID.randomUUID();
+            balances[i] = 1_000_000;
+        }
+
+        int threads = 8;
+        int transfersPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicLong completed = new AtomicLong();
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    start.await();
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        int from = random.nextInt(accounts);
+                        int to = (from + 1 + random.nextInt(accounts - 1)) % accounts;
+                        lock.withLocks(ids[from], ids[to], () -> {
+                            balances[from] -= 1;
+                            balances[to] += 1;
+                            return null;
+                        });
+                        completed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long total = 0;
+        for (int i = 0; i < accounts; i++) {
+            total += balances[i];
+        }
+        assertThat(completed.get()).isEqualTo((long) threads * transfersPerThread);
+        assertThat(total).isEqualTo(accounts * 1_000_000L);
+    }
+}
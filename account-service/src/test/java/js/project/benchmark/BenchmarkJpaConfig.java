@@ -0,0 +1,20 @@
+package js.project.benchmark;
+
+import js.project.account_service.model.Account;
+import js.project.account_service.repository.AccountRepository;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Minimal JPA context for the benchmarks that need a database. It lives outside
+ * {@code js.project.account_service} on purpose: inside it, the application's component scan would
+ * pick it up during {@code @SpringBootTest} and register every repository a second time.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan(basePackageClasses = Account.class)
+@EnableJpaRepositories(basePackageClasses = AccountRepository.class)
+public class BenchmarkJpaConfig {
+}
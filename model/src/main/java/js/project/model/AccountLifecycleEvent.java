@@ -0,0 +1,35 @@
+package js.project.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by account-service when an account is opened or changes status, keyed by account id so
+ * that consumers see the events of one account in order. Delivery is at least once: a consumer
+ * that must not act twice deduplicates on {@code eventId}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AccountLifecycleEvent {
+
+    public static final String ACCOUNT_CREATED = "ACCOUNT_CREATED";
+    public static final String ACCOUNT_STATUS_CHANGED = "ACCOUNT_STATUS_CHANGED";
+
+    private UUID eventId;
+    private String eventType;
+    private UUID accountId;
+    private UUID userId;
+    private String accountNumber;
+    private String previousStatus;
+    private String status;
+    private UUID changedBy;
+    private String reason;
+    private LocalDateTime occurredAt;
+}
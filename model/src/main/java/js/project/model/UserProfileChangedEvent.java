@@ -0,0 +1,27 @@
+package js.project.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published by user-service whenever a user is created, updated or deleted, keyed by user id so
+ * that consumers see the changes of one user in order. Carries only the fields other services keep
+ * local copies of.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserProfileChangedEvent {
+    private UUID userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private boolean deleted;
+    private LocalDateTime changedAt;
+}
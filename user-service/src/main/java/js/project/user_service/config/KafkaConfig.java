@@ -4,18 +4,25 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import js.project.model.UserCreatedEvent;
+import js.project.model.UserProfileChangedEvent;
 import js.project.user_service.model.ObjectTest;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -37,6 +44,14 @@ public class KafkaConfig {
         return new NewTopic(topicName, 3, (short) 1);
     }
 
+    @Value("${kafka.topic.user-profile-changed}")
+    private String profileChangedTopicName;
+
+    @Bean
+    public NewTopic createProfileChangedTopic() {
+        return new NewTopic(profileChangedTopicName, 3, (short) 1);
+    }
+
     @Bean
     public NewTopic createStringTopic() {
         return new NewTopic("string-event", 1, (short) 1);
@@ -117,4 +132,19 @@ public class KafkaConfig {
         factory.setConsumerFactory(objectEventConsumerFactory());
         return factory;
     }
-}
\ No newline at end of file
+
+    // Producer for UserProfileChangedEvent
+    @Bean
+    public ProducerFactory<String, UserProfileChangedEvent> profileChangedProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, UserProfileChangedEvent> profileChangedKafkaTemplate() {
+        return new KafkaTemplate<>(profileChangedProducerFactory());
+    }
+}
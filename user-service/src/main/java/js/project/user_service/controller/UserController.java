@@ -2,8 +2,10 @@ package js.project.user_service.controller;
 
 import jakarta.validation.Valid;
 import js.project.user_service.model.request.UpdateUserRequest;
+import js.project.user_service.model.request.UserBatchRequest;
 import js.project.user_service.model.response.GeneralResponse;
 import js.project.user_service.model.dto.UserDto;
+import js.project.user_service.model.dto.UserSummaryDto;
 import js.project.user_service.service.UserService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +16,7 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -64,6 +67,23 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    // Service-to-service lookup of owner names for account listings
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserSummaryDto>> getUsersByIds(@Valid @RequestBody UserBatchRequest request) {
+        log.info("Received request to get {} users by id", request.getUserIds().size());
+        List<UserSummaryDto> users = userService.getUserSummaries(request.getUserIds());
+        return ResponseEntity.ok(users);
+    }
+
+    // Service-to-service walk over every user, for services loading a local copy of user names
+    @GetMapping("/directory")
+    public ResponseEntity<List<UserSummaryDto>> getUserDirectoryPage(@RequestParam(required = false) UUID after,
+                                                                     @RequestParam(defaultValue = "500") int size) {
+        log.info("Received request to get {} user summaries after {}", size, after);
+        List<UserSummaryDto> users = userService.getUserSummaryPage(after, size);
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/{userId}")
     public ResponseEntity<UserDto> getUser(@PathVariable UUID userId) {
         log.info("Received request to get user with id: {}", userId);
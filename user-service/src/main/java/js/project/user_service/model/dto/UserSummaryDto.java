@@ -0,0 +1,25 @@
+package js.project.user_service.model.dto;
+
+import js.project.user_service.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummaryDto {
+    private UUID id;
+    private String firstName;
+    private String lastName;
+    private String email;
+
+    public UserSummaryDto(User user) {
+        this.id = user.getUserId();
+        this.firstName = user.getFirstName();
+        this.lastName = user.getLastName();
+        this.email = user.getEmail();
+    }
+}
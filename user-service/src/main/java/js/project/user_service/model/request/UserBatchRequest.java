@@ -0,0 +1,21 @@
+package js.project.user_service.model.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = 500, message = "At most 500 users can be fetched per request")
+    private List<@NotNull(message = "User ID cannot be null") UUID> userIds;
+}
@@ -1,10 +1,16 @@
 package js.project.user_service.repository;
 
 import js.project.user_service.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User> {
+
+    List<User> findAllByOrderByUserIdAsc(Limit limit);
+
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(UUID after, Limit limit);
 }
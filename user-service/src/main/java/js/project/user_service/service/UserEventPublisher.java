@@ -0,0 +1,71 @@
+package js.project.user_service.service;
+
+import js.project.model.UserProfileChangedEvent;
+import js.project.user_service.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes {@link UserProfileChangedEvent}s for the services that keep a local copy of user names.
+ * Events are sent after the surrounding transaction commits, so a rolled-back change is never
+ * announced.
+ */
+@Component
+@Slf4j
+public class UserEventPublisher {
+
+    private final KafkaTemplate<String, UserProfileChangedEvent> kafkaTemplate;
+    private final String topic;
+
+    public UserEventPublisher(KafkaTemplate<String, UserProfileChangedEvent> kafkaTemplate,
+                              @Value("${kafka.topic.user-profile-changed}") String topic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+    }
+
+    public void profileChanged(User user) {
+        publish(UserProfileChangedEvent.builder()
+                .userId(user.getUserId())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .changedAt(LocalDateTime.now())
+                .build());
+    }
+
+    public void profileDeleted(User user) {
+        publish(UserProfileChangedEvent.builder()
+                .userId(user.getUserId())
+                .deleted(true)
+                .changedAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void publish(UserProfileChangedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(event);
+                }
+            });
+        } else {
+            send(event);
+        }
+    }
+
+    private void send(UserProfileChangedEvent event) {
+        kafkaTemplate.send(topic, event.getUserId().toString(), event)
+                .whenComplete((result, ex) -> {
+                    if (ex != null) {
+                        log.error("Failed to publish profile change for user {}", event.getUserId(), ex);
+                    }
+                });
+    }
+}
@@ -11,10 +11,12 @@ import js.project.user_service.model.request.PatchUserRequest;
 import js.project.user_service.model.request.UpdateUserRequest;
 import js.project.user_service.model.response.GeneralResponse;
 import js.project.user_service.model.dto.UserDto;
+import js.project.user_service.model.dto.UserSummaryDto;
 import js.project.user_service.repository.UserRepository;
 import js.project.user_service.validation.RequestValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -31,8 +33,11 @@ import java.util.*;
 @RequiredArgsConstructor
 public class UserService {
 
+    public static final int MAX_SUMMARY_PAGE = 1000;
+
     private final UserRepository userRepository;
     private final RequestValidator requestValidator;
+    private final UserEventPublisher userEventPublisher;
 
     @Transactional(readOnly = true)
     public UserDto getUserById(UUID userId) {
@@ -51,6 +56,32 @@ public class UserService {
         }
     }
 
+    /**
+     * Summaries of the given users in one query. Unknown ids are left out rather than failing the
+     * whole batch.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummaryDto> getUserSummaries(List<UUID> userIds) {
+        log.info("Fetching summaries for {} users", userIds.size());
+        return userRepository.findAllById(new LinkedHashSet<>(userIds)).stream()
+                .map(UserSummaryDto::new)
+                .toList();
+    }
+
+    /**
+     * One page of user summaries in id order, starting after {@code after} (from the start when
+     * null). Services that keep a local copy of user names walk these pages to load it. The size is
+     * clamped to 1..{@value #MAX_SUMMARY_PAGE}.
+     */
+    @Transactional(readOnly = true)
+    public List<UserSummaryDto> getUserSummaryPage(UUID after, int size) {
+        Limit limit = Limit.of(Math.min(Math.max(size, 1), MAX_SUMMARY_PAGE));
+        List<User> users = after == null
+                ? userRepository.findAllByOrderByUserIdAsc(limit)
+                : userRepository.findByUserIdGreaterThanOrderByUserIdAsc(after, limit);
+        return users.stream().map(UserSummaryDto::new).toList();
+    }
+
     @Transactional
     public void createUser(UserCreatedEvent event) {
         log.info("Handling user created event: {}", event);
@@ -87,6 +118,7 @@ public class UserService {
                     .build();
 
             userRepository.save(user);
+            userEventPublisher.profileChanged(user);
             log.info("User created successfully from kafka event");
 
         } catch (Exception e) {
@@ -132,6 +164,7 @@ public class UserService {
 
             try {
                 userRepository.save(user);
+                userEventPublisher.profileChanged(user);
                 log.info("User with ID {} updated successfully.", userId);
                 return new GeneralResponse("User updated successfully");
             } catch (Exception e) {
@@ -157,6 +190,7 @@ public class UserService {
             requestValidator.validatePatchRequest(userId, request);
             updateUserFromRequest(user, request);
             userRepository.save(user);
+            userEventPublisher.profileChanged(user);
             return new GeneralResponse("User updated successfully");
         } else {
             throw new UserNotFoundException("User with id " + userId + " not found");
@@ -233,6 +267,7 @@ public class UserService {
         if (optionalUser.isPresent()) {
             try {
                 userRepository.delete(optionalUser.get());
+                userEventPublisher.profileDeleted(optionalUser.get());
                 log.info("User with ID {} deleted successfully.", userId);
                 return new GeneralResponse("User deleted successfully");
             } catch (Exception e) {